@@ -1,6 +1,6 @@
 package Attacks;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 
 public abstract class Attack {
     protected int row;
@@ -13,6 +13,41 @@ public abstract class Attack {
 
     public int getRow() { return row; }
     public int getColumn() { return column; }
-    public abstract String apply(Board targetBoard);
+
+    /**Shape of the attack around the chosen cell
+     */
+    public abstract AttackPattern getPattern();
+
+    /**Applies the attack to the target board
+     * Shoots the cells of the pattern that are inside the board, see AttackPattern.apply
+     * @param targetBoard The board to attack
+     * @return Packed AttackOutcome with the result of the chosen cell and the hit/miss counts
+     */
+    public long apply(IBoardOperations targetBoard) {
+        return apply(targetBoard, null);
+    }
+
+    /**Applies the attack and records the result of every cell it shot
+     * @param targetBoard The board to attack
+     * @param shots Vector the results are appended to, null to skip them
+     * @return Packed AttackOutcome with the result of the chosen cell and the hit/miss counts
+     */
+    public long apply(IBoardOperations targetBoard, ShotVector shots) {
+        return getPattern().apply(targetBoard, row, column, shots);
+    }
+
+    /**Builds the message shown to the user for an outcome of this attack
+     * Only called when the message is actually needed (view, logs)
+     * @param outcome Packed AttackOutcome returned by apply()
+     * @return Human readable summary
+     */
+    public abstract String describe(long outcome);
+
+    /**Whether an impact with this attack lets the attacker shoot again
+     * Only single shot attacks keep the turn, power-ups always pass it
+     */
+    public boolean isSingleShot() {
+        return false;
+    }
 
 }
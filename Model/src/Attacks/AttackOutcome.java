@@ -0,0 +1,47 @@
+package Attacks;
+
+import Model.Board.ShotResult;
+
+/**
+ * Packed summary of an applied attack, kept in a long to avoid allocations
+ * - bits 0-31: ShotResult of the chosen cell (the only cell for a basic attack)
+ * - bits 32-47: number of impacts (saturates at 65535)
+ * - bits 48-63: number of misses (saturates at 65535)
+ * Attack.describe() turns the summary into the message shown to the user
+ */
+public final class AttackOutcome {
+    private static final int COUNT_MASK = 0xFFFF;
+
+    private AttackOutcome() {
+    }
+
+    /**Packs the summary of an attack
+     * @param primaryResult ShotResult of the chosen cell
+     * @param hits Number of impacted cells
+     * @param misses Number of missed cells
+     * @return The packed outcome
+     */
+    public static long of(int primaryResult, int hits, int misses) {
+        return (primaryResult & 0xFFFFFFFFL)
+                | ((long) Math.min(hits, COUNT_MASK) << 32)
+                | ((long) Math.min(misses, COUNT_MASK) << 48);
+    }
+
+    /**Summary of an attack that only shot one cell
+     */
+    public static long single(int result) {
+        return of(result, ShotResult.isHit(result) ? 1 : 0, ShotResult.isMiss(result) ? 1 : 0);
+    }
+
+    public static int primaryResult(long outcome) {
+        return (int) outcome;
+    }
+
+    public static int hits(long outcome) {
+        return (int) (outcome >>> 32) & COUNT_MASK;
+    }
+
+    public static int misses(long outcome) {
+        return (int) (outcome >>> 48) & COUNT_MASK;
+    }
+}
@@ -0,0 +1,302 @@
+package Attacks;
+
+import Model.Board.IBoardOperations;
+import Model.Board.ShotResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shape of an attack: the cells it shoots, as offsets from the chosen cell
+ * A component of an offset can be ALL, the offset then stands for every row (or column) of the
+ * board: ROW is {0, ALL}, COLUMN is {ALL, 0}. A pattern is immutable data, a new shape is a new
+ * pattern, not a new class. For each board size it is compiled once into a Mask that keeps, for
+ * every offset, the range of chosen cells that leave it inside the board, so applying a pattern
+ * clips the edges with four comparisons per offset and allocates nothing.
+ * The cells are shot in the order of the offsets
+ */
+public final class AttackPattern {
+    public static final int ALL = Integer.MIN_VALUE;
+
+    public static final AttackPattern SINGLE = of("Single", new int[][]{{0, 0}});
+    public static final AttackPattern CROSS = of("Cross", new int[][]{
+            {0, 0},  // Center
+            {-1, 0}, // Up
+            {1, 0},  // Down
+            {0, -1}, // Left
+            {0, 1}   // Right
+    });
+    public static final AttackPattern NUKE = square("Nuke", 1);
+    public static final AttackPattern ROW = of("Row", new int[][]{{0, ALL}});
+    public static final AttackPattern COLUMN = of("Column", new int[][]{{ALL, 0}});
+
+    private final String name;
+    private final int[] rowOffsets;
+    private final int[] columnOffsets;
+    private final ConcurrentHashMap<Long, Mask> masks = new ConcurrentHashMap<>();
+    private volatile Mask last; // Mask of the last board size, a game keeps one size
+
+    private AttackPattern(String name, int[] rowOffsets, int[] columnOffsets) {
+        this.name = name;
+        this.rowOffsets = rowOffsets;
+        this.columnOffsets = columnOffsets;
+    }
+
+    /**Builds a pattern from its offsets
+     *
+     * @param name    Name of the shape
+     * @param offsets {row offset, column offset} of each cell, a component can be ALL.
+     *                Repeated offsets are kept once
+     * @return the pattern
+     */
+    public static AttackPattern of(String name, int[][] offsets) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (int[] offset : offsets) {
+            if (offset.length != 2) {
+                throw new IllegalArgumentException("An offset has a row and a column: " + name);
+            }
+            distinct.add(((long) offset[0] << 32) | (offset[1] & 0xFFFFFFFFL));
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("A pattern needs at least one cell: " + name);
+        }
+        int[] rowOffsets = new int[distinct.size()];
+        int[] columnOffsets = new int[distinct.size()];
+        int i = 0;
+        for (long offset : distinct) {
+            rowOffsets[i] = (int) (offset >> 32);
+            columnOffsets[i] = (int) offset;
+            i++;
+        }
+        return new AttackPattern(name, rowOffsets, columnOffsets);
+    }
+
+    /**Square of side 2 * radius + 1 around the chosen cell, row by row
+     */
+    public static AttackPattern square(String name, int radius) {
+        List<int[]> offsets = new ArrayList<>();
+        for (int dr = -radius; dr <= radius; dr++) {
+            for (int dc = -radius; dc <= radius; dc++) {
+                offsets.add(new int[]{dr, dc});
+            }
+        }
+        return of(name, offsets.toArray(new int[0][]));
+    }
+
+    /**Both diagonals through the chosen cell, up to radius cells away
+     */
+    public static AttackPattern diagonal(String name, int radius) {
+        List<int[]> offsets = new ArrayList<>();
+        offsets.add(new int[]{0, 0});
+        for (int d = 1; d <= radius; d++) {
+            offsets.add(new int[]{-d, -d});
+            offsets.add(new int[]{-d, d});
+            offsets.add(new int[]{d, -d});
+            offsets.add(new int[]{d, d});
+        }
+        return of(name, offsets.toArray(new int[0][]));
+    }
+
+    /**Border of the square of side 2 * radius + 1 around the chosen cell, without the cell itself
+     */
+    public static AttackPattern ring(String name, int radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("A ring needs a positive radius: " + name);
+        }
+        List<int[]> offsets = new ArrayList<>();
+        for (int dr = -radius; dr <= radius; dr++) {
+            for (int dc = -radius; dc <= radius; dc++) {
+                if (Math.abs(dr) == radius || Math.abs(dc) == radius) {
+                    offsets.add(new int[]{dr, dc});
+                }
+            }
+        }
+        return of(name, offsets.toArray(new int[0][]));
+    }
+
+    /**Line of length cells starting at the chosen cell, to the right or down
+     */
+    public static AttackPattern line(String name, int length, boolean horizontal) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("A line needs a positive length: " + name);
+        }
+        int[][] offsets = new int[length][];
+        for (int i = 0; i < length; i++) {
+            offsets[i] = horizontal ? new int[]{0, i} : new int[]{i, 0};
+        }
+        return of(name, offsets);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**Number of offsets, an ALL component counts once
+     */
+    public int size() {
+        return rowOffsets.length;
+    }
+
+    /**Gets the mask of a board size, compiling it on first use
+     *
+     * @param rows    Number of rows of the board
+     * @param columns Number of columns of the board
+     * @return the mask, shared by every caller
+     */
+    public Mask compile(int rows, int columns) {
+        Mask mask = last;
+        if (mask != null && mask.rows == rows && mask.columns == columns) {
+            return mask;
+        }
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid board size %dx%d", rows, columns));
+        }
+        long key = ((long) rows << 32) | columns;
+        mask = masks.computeIfAbsent(key, k -> new Mask(rows, columns));
+        last = mask;
+        return mask;
+    }
+
+    /**Shoots every cell of the pattern that is inside the board
+     *
+     * @param targetBoard The board to attack
+     * @param row         Row of the chosen cell
+     * @param column      Column of the chosen cell
+     * @return Packed AttackOutcome, the primary result is the one of the chosen cell
+     *         (ALREADY_SHOT if the pattern does not cover it)
+     */
+    public long apply(IBoardOperations targetBoard, int row, int column) {
+        return apply(targetBoard, row, column, null);
+    }
+
+    /**Shoots every cell of the pattern that is inside the board and records their results
+     *
+     * @param targetBoard The board to attack
+     * @param row         Row of the chosen cell
+     * @param column      Column of the chosen cell
+     * @param shots       Vector the result of each shot cell is appended to, null to skip them
+     * @return Packed AttackOutcome, see apply(targetBoard, row, column)
+     */
+    public long apply(IBoardOperations targetBoard, int row, int column, ShotVector shots) {
+        Mask mask = compile(targetBoard.getRows(), targetBoard.getColumns());
+        int hits = 0;
+        int misses = 0;
+        int centerResult = ShotResult.of(ShotResult.ALREADY_SHOT, 0);
+        for (int k = 0; k < mask.size(); k++) {
+            if (!mask.covers(k, row, column)) {
+                continue;
+            }
+            int r = row + mask.rowOffset(k);
+            int c = column + mask.columnOffset(k);
+            int cellResult = targetBoard.shootEnemyBoat(r, c);
+            if (shots != null) {
+                shots.add(r, c, cellResult);
+            }
+            if (ShotResult.isHit(cellResult)) {
+                hits++;
+            } else if (ShotResult.isMiss(cellResult)) {
+                misses++;
+            }
+            if (mask.rowOffset(k) == 0 && mask.columnOffset(k) == 0) {
+                centerResult = cellResult;
+            }
+        }
+        return AttackOutcome.of(centerResult, hits, misses);
+    }
+
+    @Override
+    public String toString() {
+        return "AttackPattern[" + name + ", " + size() + " offsets]";
+    }
+
+    /**
+     * A pattern compiled for one board size
+     * The ALL components are expanded to every offset that can reach a row (or column) of the
+     * board, and each offset keeps the range of chosen cells for which it stays inside the board
+     */
+    public final class Mask {
+        private final int rows;
+        private final int columns;
+        private final int[] rowOffsets;
+        private final int[] columnOffsets;
+        private final int[] minRow; // [offset] the shot cell is inside the board when the chosen row is in [minRow, maxRow]
+        private final int[] maxRow;
+        private final int[] minColumn;
+        private final int[] maxColumn;
+
+        private Mask(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+            int count = 0;
+            for (int k = 0; k < AttackPattern.this.rowOffsets.length; k++) {
+                count += expanded(AttackPattern.this.rowOffsets[k], rows) * expanded(AttackPattern.this.columnOffsets[k], columns);
+            }
+            this.rowOffsets = new int[count];
+            this.columnOffsets = new int[count];
+            this.minRow = new int[count];
+            this.maxRow = new int[count];
+            this.minColumn = new int[count];
+            this.maxColumn = new int[count];
+            int entry = 0;
+            for (int k = 0; k < AttackPattern.this.rowOffsets.length; k++) {
+                int dr = AttackPattern.this.rowOffsets[k];
+                int dc = AttackPattern.this.columnOffsets[k];
+                int rowFrom = dr == ALL ? 1 - rows : dr;
+                int rowTo = dr == ALL ? rows - 1 : dr;
+                int columnFrom = dc == ALL ? 1 - columns : dc;
+                int columnTo = dc == ALL ? columns - 1 : dc;
+                for (int r = rowFrom; r <= rowTo; r++) {
+                    for (int c = columnFrom; c <= columnTo; c++) {
+                        rowOffsets[entry] = r;
+                        columnOffsets[entry] = c;
+                        minRow[entry] = -r;
+                        maxRow[entry] = rows - 1 - r;
+                        minColumn[entry] = -c;
+                        maxColumn[entry] = columns - 1 - c;
+                        entry++;
+                    }
+                }
+            }
+        }
+
+        private int expanded(int offset, int size) {
+            return offset == ALL ? 2 * size - 1 : 1;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        /**Number of offsets after the expansion of ALL
+         */
+        public int size() {
+            return rowOffsets.length;
+        }
+
+        /**Whether an offset lands inside the board from a chosen cell, which may be outside of it
+         */
+        public boolean covers(int offset, int row, int column) {
+            return row >= minRow[offset] && row <= maxRow[offset]
+                    && column >= minColumn[offset] && column <= maxColumn[offset];
+        }
+
+        public int rowOffset(int offset) {
+            return rowOffsets[offset];
+        }
+
+        public int columnOffset(int offset) {
+            return columnOffsets[offset];
+        }
+
+        public AttackPattern getPattern() {
+            return AttackPattern.this;
+        }
+    }
+}
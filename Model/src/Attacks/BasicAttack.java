@@ -1,6 +1,7 @@
 package Attacks;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
+import Model.Board.ShotResult;
 
 public class BasicAttack extends Attack {
     public BasicAttack(int row, int column) {
@@ -8,7 +9,28 @@ public class BasicAttack extends Attack {
     }
 
     @Override
-    public String apply(Board targetBoard) {
-        return targetBoard.shootEnemyBoat(row, column);
+    public AttackPattern getPattern() {
+        return AttackPattern.SINGLE;
+    }
+
+    /**A single shot skips the mask, and the board still rejects a cell outside of it
+     */
+    @Override
+    public long apply(IBoardOperations targetBoard, ShotVector shots) {
+        int result = targetBoard.shootEnemyBoat(row, column);
+        if (shots != null) {
+            shots.add(row, column, result);
+        }
+        return AttackOutcome.single(result);
+    }
+
+    @Override
+    public String describe(long outcome) {
+        return ShotResult.toMessage(AttackOutcome.primaryResult(outcome));
+    }
+
+    @Override
+    public boolean isSingleShot() {
+        return true;
     }
 }
@@ -0,0 +1,31 @@
+package Attacks;
+
+/**
+ * Attack with any pattern, for the shapes that have no class of their own
+ * (diagonals, rings, lines of a given length, ...)
+ */
+public class PatternAttack extends Attack {
+    private final AttackPattern pattern;
+
+    public PatternAttack(int row, int column, AttackPattern pattern) {
+        super(row, column);
+        this.pattern = pattern;
+    }
+
+    @Override
+    public AttackPattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String describe(long outcome) {
+        return pattern.getName() + " attack on (" + row + "," + column + "): "
+                + AttackOutcome.hits(outcome) + " hits, "
+                + AttackOutcome.misses(outcome) + " misses.";
+    }
+
+    @Override
+    public String toString() {
+        return pattern.getName() + " PatternAttack at (" + row + "," + column + ")";
+    }
+}
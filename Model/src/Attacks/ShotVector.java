@@ -0,0 +1,97 @@
+package Attacks;
+
+import Model.Board.ShotResult;
+
+import java.util.Arrays;
+
+/**
+ * Result of every cell shot by an attack, in the order they were shot
+ * Filled by Attack.apply in the same loop that shoots the cells, so the attacker's tracking board
+ * can be updated from exactly these results without reading the target board again.
+ * The vector is reused between attacks (clear, then apply), it only grows for a wider pattern.
+ * Not thread-safe, used by one attack at a time
+ */
+public final class ShotVector {
+    private int[] rows;
+    private int[] columns;
+    private int[] results;
+    private int size;
+
+    public ShotVector() {
+        this(16);
+    }
+
+    /**Constructor
+     *
+     * @param capacity Cells stored before the vector grows
+     */
+    public ShotVector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.rows = new int[capacity];
+        this.columns = new int[capacity];
+        this.results = new int[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**Records the result of a shot cell
+     *
+     * @param result ShotResult of the shot
+     */
+    public void add(int row, int column, int result) {
+        if (size == rows.length) {
+            int capacity = size * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            results = Arrays.copyOf(results, capacity);
+        }
+        rows[size] = row;
+        columns[size] = column;
+        results[size] = result;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getRow(int index) {
+        checkIndex(index);
+        return rows[index];
+    }
+
+    public int getColumn(int index) {
+        checkIndex(index);
+        return columns[index];
+    }
+
+    /**ShotResult of a shot cell
+     */
+    public int getResult(int index) {
+        checkIndex(index);
+        return results[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Shot " + index + " of " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("ShotVector[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append('(').append(rows[i]).append(',').append(columns[i]).append(")=")
+                    .append(ShotResult.isHit(results[i]) ? "hit" : ShotResult.isMiss(results[i]) ? "miss" : "already shot");
+        }
+        return text.append(']').toString();
+    }
+}
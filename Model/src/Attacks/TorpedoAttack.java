@@ -1,5 +1,4 @@
 package Attacks;
-import Model.Board.Board;
 /**
  * Torpedo Attack - Attacks an entire row or column
  * The player chooses a cell, and the attack hits either:
@@ -20,48 +19,20 @@ public class TorpedoAttack extends Attack {
         this.isHorizontal = isHorizontal;
     }
     /**
-     * Applies the Torpedo attack to the target board.
-     * Attacks an entire row or column based on isHorizontal flag.
-     * Counts hits and misses, and returns a summary string.
+     * The entire row or column of the chosen cell, depending on isHorizontal
      *
-     * @param targetBoard The board to attack.
-     * @return A summary of the attack results.
+     * @return The ROW or COLUMN pattern.
     * */
     @Override
-    public String apply(Board targetBoard) {
-        int hits = 0;
-        int misses = 0;
-        StringBuilder result = new StringBuilder("Torpedo attack ");
-
-        if (isHorizontal) {
-            result.append("on row ").append(row).append(": ");
-
-            for (int c = 0; c < targetBoard.getColumns(); c++) {
-                String cellResult = targetBoard.shootEnemyBoat(row, c);
-
-                if (cellResult.contains("Hit") || cellResult.contains("Sunk")) {
-                    hits++;
-                } else if (cellResult.contains("Miss")) {
-                    misses++;
-                }
-            }
-        } else {
-            result.append("on column ").append(column).append(": ");
-
-            // Attack entire column
-            for (int r = 0; r < targetBoard.getRows(); r++) {
-                String cellResult = targetBoard.shootEnemyBoat(r, column);
-
-                if (cellResult.contains("Hit") || cellResult.contains("Sunk")) {
-                    hits++;
-                } else if (cellResult.contains("Miss")) {
-                    misses++;
-                }
-            }
-        }
+    public AttackPattern getPattern() {
+        return isHorizontal ? AttackPattern.ROW : AttackPattern.COLUMN;
+    }
 
-        result.append(hits).append(" hits, ").append(misses).append(" misses.");
-        return result.toString();
+    @Override
+    public String describe(long outcome) {
+        return "Torpedo attack " + (isHorizontal ? "on row " + row : "on column " + column) + ": "
+                + AttackOutcome.hits(outcome) + " hits, "
+                + AttackOutcome.misses(outcome) + " misses.";
     }
     /**
      * Returns a string representation of the Torpedo attack.
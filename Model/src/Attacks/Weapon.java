@@ -0,0 +1,98 @@
+package Attacks;
+
+/**
+ * A power-up weapon of the human player, as defined in the weapon definitions (see WeaponRegistry)
+ * A weapon has a number of charges and one pattern per orientation variant (a torpedo has one for
+ * rows and one for columns), every variant uses the same charges.
+ * Immutable, the patterns keep their compiled masks so a weapon costs the same as a built-in attack
+ */
+public final class Weapon {
+    private final String id;
+    private final String label;
+    private final int charges;
+    private final int color;
+    private final String[] variantLabels;
+    private final AttackPattern[] patterns;
+
+    Weapon(String id, String label, int charges, int color, String[] variantLabels, AttackPattern[] patterns) {
+        this.id = id;
+        this.label = label;
+        this.charges = charges;
+        this.color = color;
+        this.variantLabels = variantLabels;
+        this.patterns = patterns;
+    }
+
+    /**Identifier of the weapon, the key of its charges
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**Charges of the weapon at the start of a game
+     */
+    public int getCharges() {
+        return charges;
+    }
+
+    /**Color of the weapon buttons as 0xRRGGBB
+     */
+    public int getColor() {
+        return color;
+    }
+
+    public int getVariantCount() {
+        return patterns.length;
+    }
+
+    public String getVariantLabel(int variant) {
+        checkVariant(variant);
+        return variantLabels[variant];
+    }
+
+    /**Text of the button of a variant, the label of the weapon followed by the one of the variant
+     */
+    public String getButtonLabel(int variant) {
+        String variantLabel = getVariantLabel(variant);
+        return variantLabel.isEmpty() ? label : label + " " + variantLabel;
+    }
+
+    public AttackPattern getPattern(int variant) {
+        checkVariant(variant);
+        return patterns[variant];
+    }
+
+    /**Creates the attack of a variant at a chosen cell
+     *
+     * @param variant Orientation variant of the weapon
+     * @param row Chosen row
+     * @param column Chosen column
+     * @return the attack, applied through the compiled mask of the pattern
+     */
+    public Attack createAttack(int variant, int row, int column) {
+        return new PatternAttack(row, column, getPattern(variant));
+    }
+
+    /**Compiles the patterns of every variant for a board size, so the first shot does not pay for it
+     */
+    public void compile(int rows, int columns) {
+        for (AttackPattern pattern : patterns) {
+            pattern.compile(rows, columns);
+        }
+    }
+
+    private void checkVariant(int variant) {
+        if (variant < 0 || variant >= patterns.length) {
+            throw new IllegalArgumentException("Weapon " + id + " has no variant " + variant);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Weapon[" + id + ", charges=" + charges + ", variants=" + patterns.length + "]";
+    }
+}
@@ -0,0 +1,262 @@
+package Attacks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weapons of the human player, read from a definitions file
+ * One weapon per line, fields separated by ';', '#' starts a comment:
+ *   id; button label; charges; color (RRGGBB); variant [| variant ...]
+ * A variant is a shape, preceded by "label =" when the weapon has several of them:
+ * - a named shape: single, cross, nuke, row, column (the patterns of the built-in attacks)
+ * - a generated shape: square N, diagonal N, ring N, line N h|v, N at most MAX_SHAPE_SIZE
+ * - offsets from the chosen cell, "row,column" separated by spaces, '*' for a whole row or column
+ * For example: torpedo; TORPEDO; 2; 2196F3; → = row | ↓ = column
+ * The shapes are compiled into AttackPatterns when the file is read, the weapons keep them, so the
+ * masks of a board size are built once and a weapon shot costs the same as a built-in attack.
+ * Immutable, the registry of the game is shared by the controller, the power-ups and the view
+ */
+public final class WeaponRegistry {
+    public static final String DEFINITIONS_PROPERTY = "navy.weapons"; // Path of a local definitions file
+    public static final String DEFINITIONS_RESOURCE = "weapons.txt"; // Definitions bundled next to this class
+    public static final int MAX_SHAPE_SIZE = 256; // Largest size or offset of a shape, the side of the largest supported board
+
+    private static final WeaponRegistry STANDARD = parse(
+            "cross; CROSS; 2; 9C27B0; cross\n"
+                    + "nuke; NUKE; 1; F44336; nuke\n"
+                    + "torpedo; TORPEDO; 2; 2196F3; → = row | ↓ = column\n",
+            "standard weapons");
+
+    private final Map<String, Weapon> weapons;
+
+    private WeaponRegistry(Map<String, Weapon> weapons) {
+        this.weapons = Collections.unmodifiableMap(weapons);
+    }
+
+    /**The weapons of the classic game: 2 cross bombs, 1 nuke and 2 torpedoes
+     */
+    public static WeaponRegistry standard() {
+        return STANDARD;
+    }
+
+    /**The weapons of the application, read once
+     * From the file named by the navy.weapons system property, else from the bundled weapons.txt,
+     * else the standard weapons
+     *
+     * @throws IllegalArgumentException if the definitions are malformed
+     * @throws UncheckedIOException if the file can't be read
+     */
+    public static WeaponRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**Reads the weapons of a definitions file
+     *
+     * @param file Path of the file, UTF-8
+     * @return the registry
+     * @throws IOException if the file can't be read
+     * @throws IllegalArgumentException if a line is malformed, the message gives the line
+     */
+    public static WeaponRegistry load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader, file.toString());
+        }
+    }
+
+    /**Reads the weapons of definitions given as text
+     *
+     * @param definitions Lines of definitions
+     * @param source Name of the definitions in the error messages
+     */
+    public static WeaponRegistry parse(String definitions, String source) {
+        try {
+            return parse(new BufferedReader(new StringReader(definitions)), source);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static WeaponRegistry parse(BufferedReader reader, String source) throws IOException {
+        Map<String, Weapon> weapons = new LinkedHashMap<>();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                Weapon weapon = parseWeapon(line);
+                if (weapons.putIfAbsent(weapon.getId(), weapon) != null) {
+                    throw new IllegalArgumentException("Weapon " + weapon.getId() + " is defined twice");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ":" + number + ": " + e.getMessage(), e);
+            }
+        }
+        return new WeaponRegistry(weapons);
+    }
+
+    private static Weapon parseWeapon(String line) {
+        String[] fields = line.split(";", -1);
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Expected id; label; charges; color; variants");
+        }
+        String id = fields[0].strip();
+        String label = fields[1].strip();
+        if (id.isEmpty() || id.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("Invalid weapon id '" + id + "'");
+        }
+        int charges = Integer.parseInt(fields[2].strip());
+        if (charges < 0) {
+            throw new IllegalArgumentException("Charges can't be negative");
+        }
+        int color = Integer.parseInt(fields[3].strip(), 16);
+
+        String[] variants = fields[4].split("\\|");
+        String[] variantLabels = new String[variants.length];
+        AttackPattern[] patterns = new AttackPattern[variants.length];
+        for (int v = 0; v < variants.length; v++) {
+            String variant = variants[v];
+            int equals = variant.indexOf('=');
+            variantLabels[v] = equals < 0 ? "" : variant.substring(0, equals).strip();
+            if (variants.length > 1 && variantLabels[v].isEmpty()) {
+                throw new IllegalArgumentException("Every variant of " + id + " needs a label");
+            }
+            String name = variantLabels[v].isEmpty() ? label : label + " " + variantLabels[v];
+            patterns[v] = parseShape(variant.substring(equals + 1).strip(), name);
+        }
+        return new Weapon(id, label, charges, color, variantLabels, patterns);
+    }
+
+    private static AttackPattern parseShape(String shape, String name) {
+        String[] tokens = shape.split("\\s+");
+        switch (tokens[0].toLowerCase()) {
+            case "single":
+                return named(tokens, AttackPattern.SINGLE);
+            case "cross":
+                return named(tokens, AttackPattern.CROSS);
+            case "nuke":
+                return named(tokens, AttackPattern.NUKE);
+            case "row":
+                return named(tokens, AttackPattern.ROW);
+            case "column":
+                return named(tokens, AttackPattern.COLUMN);
+            case "square":
+                return AttackPattern.square(name, size(tokens, 2));
+            case "diagonal":
+                return AttackPattern.diagonal(name, size(tokens, 2));
+            case "ring":
+                return AttackPattern.ring(name, size(tokens, 2));
+            case "line":
+                int length = size(tokens, 3);
+                if (!tokens[2].equals("h") && !tokens[2].equals("v")) {
+                    throw new IllegalArgumentException("A line is horizontal (h) or vertical (v): " + shape);
+                }
+                return AttackPattern.line(name, length, tokens[2].equals("h"));
+            default:
+                int[][] offsets = new int[tokens.length][];
+                for (int i = 0; i < tokens.length; i++) {
+                    String[] components = tokens[i].split(",", -1);
+                    if (components.length != 2) {
+                        throw new IllegalArgumentException("Unknown shape or offset '" + tokens[i] + "'");
+                    }
+                    offsets[i] = new int[]{component(components[0]), component(components[1])};
+                }
+                return AttackPattern.of(name, offsets);
+        }
+    }
+
+    private static AttackPattern named(String[] tokens, AttackPattern pattern) {
+        if (tokens.length != 1) {
+            throw new IllegalArgumentException("The " + tokens[0] + " shape takes no size");
+        }
+        return pattern;
+    }
+
+    private static int size(String[] tokens, int expectedTokens) {
+        if (tokens.length != expectedTokens) {
+            throw new IllegalArgumentException("Wrong number of arguments for the " + tokens[0] + " shape");
+        }
+        int size = Integer.parseInt(tokens[1]);
+        if (size < 0 || size > MAX_SHAPE_SIZE) {
+            throw new IllegalArgumentException("The size of a " + tokens[0] + " is between 0 and " + MAX_SHAPE_SIZE);
+        }
+        return size;
+    }
+
+    private static int component(String text) {
+        if (text.equals("*")) {
+            return AttackPattern.ALL;
+        }
+        int offset = Integer.parseInt(text);
+        if (offset < -MAX_SHAPE_SIZE || offset > MAX_SHAPE_SIZE) {
+            throw new IllegalArgumentException("An offset is between -" + MAX_SHAPE_SIZE + " and " + MAX_SHAPE_SIZE);
+        }
+        return offset;
+    }
+
+    /**Weapon of an id, null if there is none
+     */
+    public Weapon get(String id) {
+        return weapons.get(id);
+    }
+
+    /**Weapons in the order of the definitions
+     */
+    public List<Weapon> getWeapons() {
+        return new ArrayList<>(weapons.values());
+    }
+
+    /**Compiles every weapon for a board size, at startup rather than on the first shot
+     */
+    public void compile(int rows, int columns) {
+        for (Weapon weapon : weapons.values()) {
+            weapon.compile(rows, columns);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WeaponRegistry" + weapons.keySet();
+    }
+
+    private static final class DefaultHolder {
+        static final WeaponRegistry INSTANCE = loadDefault();
+
+        private static WeaponRegistry loadDefault() {
+            try {
+                String file = System.getProperty(DEFINITIONS_PROPERTY);
+                if (file != null) {
+                    return load(Path.of(file));
+                }
+                InputStream resource = WeaponRegistry.class.getResourceAsStream(DEFINITIONS_RESOURCE);
+                if (resource == null) {
+                    return STANDARD;
+                }
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource, StandardCharsets.UTF_8))) {
+                    return parse(reader, DEFINITIONS_RESOURCE);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't read the weapon definitions", e);
+            }
+        }
+    }
+}
@@ -1,17 +1,38 @@
 package Controller;
 
 import Controller.Interfaces.IFleetManager;
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 import Model.Boat.*;
+import Model.Match.GameConfig;
+import Services.FleetLayoutPool;
 import Services.Interfaces.IShipPlacementService;
 
+import java.util.random.RandomGenerator;
+
 public class FleetManager implements IFleetManager {
     private final IShipPlacementService placementService;
+    private final FleetLayoutPool layoutPool; // Ready-made layouts, null to always place synchronously
+
     /**Constructor with dependency injection
      *@param placementService Service to handle ship placement logic
      */
     public FleetManager(IShipPlacementService placementService) {
+        this(placementService, null);
+    }
+
+    /**Constructor with a pool of ready-made layouts
+     *@param placementService Service placing the fleets when the pool is empty
+     *@param layoutPool Pool of layouts taken first by the unseeded deployFleet, null for none
+     */
+    public FleetManager(IShipPlacementService placementService, FleetLayoutPool layoutPool) {
         this.placementService = placementService;
+        this.layoutPool = layoutPool;
+    }
+
+    /**Pool of ready-made layouts, null if the fleets are always placed synchronously
+     */
+    public FleetLayoutPool getLayoutPool() {
+        return layoutPool;
     }
 
     /**Creates the standard game fleet
@@ -75,19 +96,55 @@ public class FleetManager implements IFleetManager {
         return fleet;
     }
 
+    /**Creates the fleet described by a game configuration
+     * @param config Configuration with the ship counts
+     * @return Array of boats with the configured composition
+     */
+    @Override
+    public Boat[] createFleet(GameConfig config) {
+        return createCustomFleet(
+                config.getAircrafters(),
+                config.getCruises(),
+                config.getDestructors(),
+                config.getSubmarines()
+        );
+    }
+
     /**Deploys a fleet on a board using the placement service
      * Delegates actual placement to the injected service (SRP)
+     * A ready-made layout of the pool is used first when there is one
      *
      * @param board The board where ships will be placed
      * @param fleet The fleet to deploy
      * @return true if all ships placed successfully, false otherwise
      */
     @Override
-    public boolean deployFleet(Board board, Boat[] fleet) {
+    public boolean deployFleet(IBoardOperations board, Boat[] fleet) {
         if (fleet == null || fleet.length == 0) {
             return false;
         }
+        if (layoutPool != null && layoutPool.deploy(board, fleet)) {
+            return true;
+        }
 
         return placementService.placeFleetAutomatically(board, fleet);
     }
+
+    /**Deploys a fleet on a board with a given generator
+     * Used for seeded games, and by parallel simulations with a generator per thread
+     * Never takes from the layout pool, so the layout only depends on the generator
+     *
+     * @param board The board where ships will be placed
+     * @param fleet The fleet to deploy
+     * @param random Generator of the positions
+     * @return true if all ships placed successfully, false otherwise
+     */
+    @Override
+    public boolean deployFleet(IBoardOperations board, Boat[] fleet, RandomGenerator random) {
+        if (fleet == null || fleet.length == 0) {
+            return false;
+        }
+
+        return placementService.placeFleetAutomatically(board, fleet, random);
+    }
 }
@@ -1,31 +1,41 @@
 package Controller;
 
 import Attacks.Attack;
-import Attacks.CrossBombAttack;
-import Attacks.NukeAttack;
-import Attacks.TorpedoAttack;
+import Attacks.Weapon;
 import Controller.Interfaces.*;
 import Model.Boat.*;
+import Model.Board.Board;
+import Model.Board.IBoardSnapshot;
+import Model.Match.EventGameEndValidator;
+import Model.Match.GameConfig;
 import Model.Match.Match;
+import Model.Match.TurnManager;
 import Model.Player.HumanPlayer;
 import Model.Player.Interfaces.IPlayerCreator;
+import Model.Player.Machine;
+import Model.Player.PowerUpsManager;
 import Services.*;
 import Model.Player.Player;
 import Services.Interfaces.IAttackExecutor;
 import Services.Interfaces.IAttackService;
 
+import java.util.SplittableRandom;
+
 public class GameController implements
         IGameLifecycle,
         IAttackController,
         IBoardController,
         ITurnController {
 
+    // The game state methods are synchronized: the machine turn runs on a background
+    // thread and a reset from the UI must not interleave with it
     private Match currentMatch;
 
     private final IPlayerCreator playerCreator;
     private final IFleetManager fleetManager;
     private final IAttackExecutor attackExecutor;
     private final IAttackService attackService;
+    private final GameConfig gameConfig;
 
     /**
      * Constructor with full dependency injection
@@ -35,17 +45,33 @@ public class GameController implements
      * @param fleetManager Manager for fleet operations
      * @param attackExecutor Executor for attack operations
      * @param attackService Service for marking attacks
+     * @param gameConfig Board size and fleet composition of every new game
      */
     public GameController(
             IPlayerCreator playerCreator,
             IFleetManager fleetManager,
             IAttackExecutor attackExecutor,
-            IAttackService attackService
+            IAttackService attackService,
+            GameConfig gameConfig
     ) {
         this.playerCreator = playerCreator;
         this.fleetManager = fleetManager;
         this.attackExecutor = attackExecutor;
         this.attackService = attackService;
+        this.gameConfig = gameConfig;
+    }
+
+    /**
+     * Constructor using the standard game configuration
+     * For backward compatibility
+     */
+    public GameController(
+            IPlayerCreator playerCreator,
+            IFleetManager fleetManager,
+            IAttackExecutor attackExecutor,
+            IAttackService attackService
+    ) {
+        this(playerCreator, fleetManager, attackExecutor, attackService, GameConfig.standard());
     }
 
     /**
@@ -57,28 +83,41 @@ public class GameController implements
      * @return true if game started successfully, false otherwise
      */
     @Override
-    public boolean startNewGame(String playerName, String password) {
+    public synchronized boolean startNewGame(String playerName, String password) {
+        stopMachinePondering();
         try {
             // Use player creator (DIP)
             Player humanPlayer = playerCreator.createHumanPlayer(playerName, password);
             Player machinePlayer = playerCreator.createMachinePlayer();
 
-            // Create match
-            currentMatch = new Match(humanPlayer, machinePlayer);
+            // Create match (game end is detected from the "last boat sunk" signal)
+            currentMatch = new Match(humanPlayer, machinePlayer, new TurnManager(), new EventGameEndValidator());
 
             // Create and deploy fleets using fleet manager (SRP)
-            Boat[] playerFleet = fleetManager.createStandardFleet();
-            Boat[] machineFleet = fleetManager.createStandardFleet();
-
-            boolean playerShipsPlaced = fleetManager.deployFleet(
-                    humanPlayer.getOwnBoard(),
-                    playerFleet
-            );
-
-            boolean machineShipsPlaced = fleetManager.deployFleet(
-                    machinePlayer.getOwnBoard(),
-                    machineFleet
-            );
+            Boat[] playerFleet = fleetManager.createFleet(gameConfig);
+            Boat[] machineFleet = fleetManager.createFleet(gameConfig);
+
+            boolean playerShipsPlaced;
+            boolean machineShipsPlaced;
+            if (gameConfig.hasSeed()) {
+                // Seeded game: both layouts and the machine's choices come from the seed
+                SplittableRandom random = new SplittableRandom(gameConfig.getSeed());
+                playerShipsPlaced = fleetManager.deployFleet(humanPlayer.getOwnBoard(), playerFleet, random.split());
+                machineShipsPlaced = fleetManager.deployFleet(machinePlayer.getOwnBoard(), machineFleet, random.split());
+                if (machinePlayer instanceof Machine) {
+                    ((Machine) machinePlayer).reseed(random.nextLong());
+                }
+            } else {
+                playerShipsPlaced = fleetManager.deployFleet(
+                        humanPlayer.getOwnBoard(),
+                        playerFleet
+                );
+
+                machineShipsPlaced = fleetManager.deployFleet(
+                        machinePlayer.getOwnBoard(),
+                        machineFleet
+                );
+            }
 
             // Validate deployment
             if (!playerShipsPlaced || !machineShipsPlaced) {
@@ -95,7 +134,8 @@ public class GameController implements
     }
 
     @Override
-    public void resetGame() {
+    public synchronized void resetGame() {
+        stopMachinePondering();
         if (currentMatch != null) {
             currentMatch.getPlayer().resetBoards();
             currentMatch.getMachine().resetBoards();
@@ -103,6 +143,14 @@ public class GameController implements
         currentMatch = null;
     }
 
+    /**Stops the background computation of the machine before its enemy board is reset or dropped
+     */
+    private void stopMachinePondering() {
+        if (currentMatch != null && currentMatch.getMachine() instanceof Machine) {
+            ((Machine) currentMatch.getMachine()).stopPondering();
+        }
+    }
+
     @Override
     public boolean isGameFinished() {
         return currentMatch != null && currentMatch.isGameFinished();
@@ -118,6 +166,11 @@ public class GameController implements
         return currentMatch;
     }
 
+    @Override
+    public GameConfig getGameConfig() {
+        return gameConfig;
+    }
+
     /**
      * Executes a basic player attack
      * Delegates to attack executor
@@ -126,7 +179,7 @@ public class GameController implements
      * @return Result message of the attack
      */
     @Override
-    public String playerAttack(int row, int column) {
+    public synchronized String playerAttack(int row, int column) {
         if (!validateGameState()) {
             return "No game in progress!";
         }
@@ -157,40 +210,12 @@ public class GameController implements
      * @param row Center row of the cross
      * @param column Center column of the cross
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the cross weapon
      */
+    @Deprecated
     @Override
-    public String playerCrossBombAttack(int row, int column) {
-        if (!validateGameState()) {
-            return "Invalid game state!";
-        }
-
-        HumanPlayer human = (HumanPlayer) currentMatch.getPlayer();
-
-        if (!human.getPowerUps().hasCrossBombs()) {
-            return "No cross bombs available!";
-        }
-
-        // Use power-up
-        human.getPowerUps().useCrossBomb();
-
-        // Create and execute attack
-        Attack attack = new CrossBombAttack(row, column);
-        AttackResult result = attackExecutor.executeAttack(
-                currentMatch,
-                attack,
-                human,
-                currentMatch.getMachine()
-        );
-
-        // Mark pattern on attack board (delegates to service)
-        attackService.markCrossAttackPattern(
-                human.getAttackBoard(),
-                currentMatch.getMachine().getOwnBoard(),
-                row,
-                column
-        );
-
-        return result.getMessage();
+    public synchronized String playerCrossBombAttack(int row, int column) {
+        return playerWeaponAttack(PowerUpsManager.CROSS_BOMB, 0, row, column);
     }
 
     /**
@@ -200,41 +225,12 @@ public class GameController implements
      * @param column Column coordinate
      * @param isHorizontal true for row attack, false for column attack
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the torpedo weapon, variant 0 for a row and 1 for a column
      */
+    @Deprecated
     @Override
-    public String playerTorpedoAttack(int row, int column, boolean isHorizontal) {
-        if (!validateGameState()) {
-            return "Invalid game state!";
-        }
-
-        HumanPlayer human = (HumanPlayer) currentMatch.getPlayer();
-
-        if (!human.getPowerUps().hasTorpedoes()) {
-            return "No torpedoes available!";
-        }
-
-        // Use power-up
-        human.getPowerUps().useTorpedo();
-
-        // Create and execute attack
-        Attack attack = new TorpedoAttack(row, column, isHorizontal);
-        AttackResult result = attackExecutor.executeAttack(
-                currentMatch,
-                attack,
-                human,
-                currentMatch.getMachine()
-        );
-
-        // Mark pattern on attack board
-        attackService.markTorpedoAttackPattern(
-                human.getAttackBoard(),
-                currentMatch.getMachine().getOwnBoard(),
-                row,
-                column,
-                isHorizontal
-        );
-
-        return result.getMessage();
+    public synchronized String playerTorpedoAttack(int row, int column, boolean isHorizontal) {
+        return playerWeaponAttack(PowerUpsManager.TORPEDO, isHorizontal ? 0 : 1, row, column);
     }
 
     /**
@@ -242,24 +238,44 @@ public class GameController implements
      * @param row Center row of the nuke
      * @param column Center column of the nuke
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the nuke weapon
      */
+    @Deprecated
     @Override
-    public String playerNukeAttack(int row, int column) {
+    public synchronized String playerNukeAttack(int row, int column) {
+        return playerWeaponAttack(PowerUpsManager.NUKE, 0, row, column);
+    }
+
+    /**
+     * Executes an attack with a weapon of the game configuration
+     * Works for every weapon of the definitions file, the classic ones included
+     *
+     * @param weaponId Id of the weapon
+     * @param variant Orientation variant of the weapon
+     * @param row Chosen row
+     * @param column Chosen column
+     * @return Result message of the attack
+     */
+    @Override
+    public synchronized String playerWeaponAttack(String weaponId, int variant, int row, int column) {
         if (!validateGameState()) {
             return "Invalid game state!";
         }
 
-        HumanPlayer human = (HumanPlayer) currentMatch.getPlayer();
-
-        if (!human.getPowerUps().hasNukes()) {
-            return "No nukes available!";
+        Weapon weapon = gameConfig.getWeapons().get(weaponId);
+        if (weapon == null || variant < 0 || variant >= weapon.getVariantCount()) {
+            return "Unknown weapon!";
         }
 
+        HumanPlayer human = (HumanPlayer) currentMatch.getPlayer();
+
         // Use power-up
-        human.getPowerUps().useNuke();
+        if (!human.getPowerUps().useCharge(weaponId)) {
+            return "No " + weapon.getLabel() + " available!";
+        }
 
         // Create and execute attack
-        Attack attack = new NukeAttack(row, column);
+        Attack attack = weapon.createAttack(variant, row, column);
         AttackResult result = attackExecutor.executeAttack(
                 currentMatch,
                 attack,
@@ -267,14 +283,6 @@ public class GameController implements
                 currentMatch.getMachine()
         );
 
-        // Mark pattern on attack board
-        attackService.markNukeAttackPattern(
-                human.getAttackBoard(),
-                currentMatch.getMachine().getOwnBoard(),
-                row,
-                column
-        );
-
         return result.getMessage();
     }
 
@@ -284,7 +292,7 @@ public class GameController implements
      * @return Result message of the attack
      */
     @Override
-    public String machineAttack() {
+    public synchronized String machineAttack() {
         if (currentMatch == null) {
             return "No game in progress!";
         }
@@ -316,10 +324,11 @@ public class GameController implements
      * @return true if placed successfully, false otherwise
      */
     @Override
-    public boolean placePlayerShip(Boat boat, int row, int column, boolean horizontal) {
+    public synchronized boolean placePlayerShip(Boat boat, int row, int column, boolean horizontal) {
         if (currentMatch == null) {
             return false;
         }
+        stopMachinePondering(); // The machine may be pondering over this board
         return currentMatch.getPlayer().getOwnBoard().placeShip(boat, row, column, horizontal);
     }
 
@@ -327,7 +336,8 @@ public class GameController implements
      * Resets the player's own board
      */
     @Override
-    public void resetPlayerBoard() {
+    public synchronized void resetPlayerBoard() {
+        stopMachinePondering();
         if (currentMatch != null) {
             currentMatch.getPlayer().getOwnBoard().initialize();
         }
@@ -339,7 +349,7 @@ public class GameController implements
     @Override
     public int[][] getPlayerOwnBoardState() {
         if (currentMatch == null) {
-            return new int[10][10];
+            return new int[gameConfig.getRows()][gameConfig.getColumns()];
         }
         return currentMatch.getPlayer().getOwnBoard().getBoardState();
     }
@@ -352,11 +362,38 @@ public class GameController implements
     @Override
     public int[][] getPlayerAttackBoardState() {
         if (currentMatch == null) {
-            return new int[10][10];
+            return new int[gameConfig.getRows()][gameConfig.getColumns()];
         }
         return currentMatch.getPlayer().getAttackBoard().getBoardState();
     }
 
+    /**Gets an immutable snapshot of the player's own board
+     * Cheaper than getPlayerOwnBoardState, the cells are only copied when the board changes
+     * @return snapshot of the current version of the board
+     */
+    @Override
+    public IBoardSnapshot getPlayerOwnBoardSnapshot() {
+        if (currentMatch == null) {
+            return emptySnapshot();
+        }
+        return currentMatch.getPlayer().getOwnBoard().snapshot();
+    }
+
+    /**Gets an immutable snapshot of the player's attack board
+     * @return snapshot of the current version of the board
+     */
+    @Override
+    public IBoardSnapshot getPlayerAttackBoardSnapshot() {
+        if (currentMatch == null) {
+            return emptySnapshot();
+        }
+        return currentMatch.getPlayer().getAttackBoard().snapshot();
+    }
+
+    private IBoardSnapshot emptySnapshot() {
+        return new Board(gameConfig.getRows(), gameConfig.getColumns()).snapshot();
+    }
+
     /**Checks if it's the player's turn
      *
      * @return true if player's turn, false otherwise
@@ -12,7 +12,9 @@ public interface IAttackController {
      * @param row Center row of the cross
      * @param column Center column of the cross
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the cross weapon
      */
+    @Deprecated
     String playerCrossBombAttack(int row, int column);
 
     /**Executes a torpedo attack (entire row or column)
@@ -20,16 +22,29 @@ public interface IAttackController {
      * @param column Column coordinate
      * @param isHorizontal true for row attack, false for column attack
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the torpedo weapon, variant 0 for a row and 1 for a column
      */
+    @Deprecated
     String playerTorpedoAttack(int row, int column, boolean isHorizontal);
 
     /**Executes a nuke attack (3x3 area)
      * @param row Center row of the nuke
      * @param column Center column of the nuke
      * @return Result message of the attack
+     * @deprecated use playerWeaponAttack with the nuke weapon
      */
+    @Deprecated
     String playerNukeAttack(int row, int column);
 
+    /**Executes an attack with a weapon of the game configuration
+     * @param weaponId Id of the weapon in the weapon definitions
+     * @param variant Orientation variant of the weapon (0 if it has only one)
+     * @param row Chosen row
+     * @param column Chosen column
+     * @return Result message of the attack
+     */
+    String playerWeaponAttack(String weaponId, int variant, int row, int column);
+
     /**Executes the machine's attack automatically
      * @return Result message of the attack
      */
@@ -1,10 +1,13 @@
 package Controller.Interfaces;
 
 import Model.Boat.Boat;
+import Model.Board.IBoardSnapshot;
 
 public interface IBoardController {
     boolean placePlayerShip(Boat boat, int row, int column, boolean horizontal);
     void resetPlayerBoard();
     int[][] getPlayerOwnBoardState();
     int[][] getPlayerAttackBoardState();
+    IBoardSnapshot getPlayerOwnBoardSnapshot();
+    IBoardSnapshot getPlayerAttackBoardSnapshot();
 }
@@ -1,7 +1,10 @@
 package Controller.Interfaces;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 import Model.Boat.Boat;
+import Model.Match.GameConfig;
+
+import java.util.random.RandomGenerator;
 
 public interface IFleetManager {
     /**Creates a standard fleet of boats
@@ -14,7 +17,15 @@ public interface IFleetManager {
      * @param fleet The fleet of boats to deploy
      * @return true if all ships were placed successfully, false otherwise
      */
-    boolean deployFleet(Board board, Boat[] fleet);
+    boolean deployFleet(IBoardOperations board, Boat[] fleet);
+
+    /**Deploys an entire fleet on a board automatically, drawing the positions from a generator
+     * @param board The board where ships will be placed
+     * @param fleet The fleet of boats to deploy
+     * @param random Generator of the positions, the same state gives the same layout
+     * @return true if all ships were placed successfully, false otherwise
+     */
+    boolean deployFleet(IBoardOperations board, Boat[] fleet, RandomGenerator random);
 
     /**Creates a custom fleet with specified boat counts
      *
@@ -25,4 +36,10 @@ public interface IFleetManager {
      * @return Array of boats representing the custom fleet
      */
     Boat[] createCustomFleet(int aircrafters, int cruises, int destructors, int submarines);
+
+    /**Creates the fleet described by a game configuration
+     * @param config Configuration with the ship counts
+     * @return Array of boats representing the configured fleet
+     */
+    Boat[] createFleet(GameConfig config);
 }
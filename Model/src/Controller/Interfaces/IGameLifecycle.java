@@ -1,5 +1,6 @@
 package Controller.Interfaces;
 
+import Model.Match.GameConfig;
 import Model.Match.Match;
 import Model.Player.Player;
 
@@ -9,4 +10,5 @@ public interface IGameLifecycle {
     boolean isGameFinished();
     Player getWinner();
     Match getCurrentMatch();
+    GameConfig getGameConfig();
 }
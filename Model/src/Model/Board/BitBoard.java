@@ -0,0 +1,604 @@
+package Model.Board;
+
+import Model.Boat.Boat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bitboard implementation of the board
+ * Every cell is one bit (index = row * columns + column) inside packed long words:
+ * - occupied: a boat was placed on the cell
+ * - shot: the cell was already attacked
+ * - hit: the attack on the cell was an impact
+ * Placements are checked against the occupancy words with one AND per word
+ * Remaining boats and boat cells are live counters updated on every shot
+ * The cell values reported by getBoardState() are the same as Board (0, 1, 2, 3)
+ */
+public final class BitBoard implements IBoardOperations {
+    private final int rows;
+    private final int columns;
+    private long[] occupied;
+    private long[] shot;
+    private long[] hit;
+    private boolean wordsShared; // The words are referenced by a snapshot and are copied before the next write
+    private long version;
+    private IBoardSnapshot lastSnapshot;
+    private final BoardChangeSupport changes = new BoardChangeSupport();
+    private final BoardHashes hashes = new BoardHashes();
+    private final UndoJournal journal = new UndoJournal(); // Old cells are saved as occupied | shot << 1 | hit << 2
+    private final int[] slotAt; // slot + 1 of the boat on each cell, 0 = no boat
+    private Boat[] slots; // Boats by slot
+    private int slotCount;
+    private final List<Boat> boatList;
+    private int remainingBoats;
+    private int remainingShipCells;
+    private final List<IFleetSunkListener> fleetSunkListeners = new ArrayList<>();
+    private final PlacementRule placementRule;
+    private final KeepOutZone keepOut; // Ships grown by their halo, only for the no-touch rule
+
+    /**Constructor of the bitboard, ships may touch
+     *
+     * @param rows is the number of rows of the board
+     * @param columns is the number of columns of the board
+     */
+    public BitBoard(int rows, int columns) {
+        this(rows, columns, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Constructor of the bitboard with a placement rule
+     *
+     * @param rows is the number of rows of the board
+     * @param columns is the number of columns of the board
+     * @param placementRule tells if the ships may touch each other
+     */
+    public BitBoard(int rows, int columns, PlacementRule placementRule) {
+        this.rows = rows;
+        this.columns = columns;
+        this.placementRule = placementRule;
+        this.keepOut = placementRule == PlacementRule.NO_TOUCH ? new KeepOutZone(rows, columns) : null;
+        int words = (rows * columns + 63) >>> 6;
+        this.occupied = new long[words];
+        this.shot = new long[words];
+        this.hit = new long[words];
+        this.slotAt = new int[rows * columns];
+        this.slots = new Boat[16];
+        this.boatList = new ArrayList<>();
+        initialize();
+    }
+
+    @Override
+    public void initialize() {
+        ensureWritable();
+        version++;
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(shot, 0L);
+        Arrays.fill(hit, 0L);
+        Arrays.fill(slotAt, 0);
+        Arrays.fill(slots, null);
+        slotCount = 0;
+        boatList.clear();
+        remainingBoats = 0;
+        remainingShipCells = 0;
+        journal.clear();
+        hashes.reset();
+        changes.fireReset(this);
+        if (keepOut != null) {
+            keepOut.clear();
+        }
+    }
+
+    @Override
+    public void markAttack(int row, int column, boolean hit) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            int index = row * columns + column;
+            int word = index >>> 6;
+            long bit = 1L << index;
+            int oldState = getCellState(index);
+            journal.push(UndoJournal.MARK, row, column, cellBits(index));
+            ensureWritable();
+            version++;
+            shot[word] |= bit;
+            if (hit) {
+                this.hit[word] |= bit;
+            } else {
+                this.hit[word] &= ~bit;
+            }
+            cellChanged(row, column, oldState, getCellState(index), slotAt[index]);
+        }
+    }
+
+    /**Places a boat following the same rules as Board.placeShip
+     * A cell blocks the placement only while it holds a boat that was not shot
+     */
+    @Override
+    public boolean placeShip(Boat boat, int row, int column, boolean horizontal) {
+        if (!canPlaceShip(boat, row, column, horizontal)) {
+            return false;
+        }
+        int length = boat.getLength();
+        int start = row * columns + column;
+        int step = horizontal ? 1 : columns;
+
+        ensureWritable();
+        version++;
+        int slot = nextSlot();
+        slots[slot] = boat;
+        for (int i = 0, index = start; i < length; i++, index += step) {
+            int oldState = getCellState(index);
+            journal.push(UndoJournal.CELL, index / columns, index % columns, cellBits(index) | (slotAt[index] << 3));
+            long bit = 1L << index;
+            occupied[index >>> 6] |= bit;
+            shot[index >>> 6] &= ~bit;
+            hit[index >>> 6] &= ~bit;
+            slotAt[index] = slot + 1;
+            cellChanged(index / columns, index % columns, oldState, 1, slot + 1);
+        }
+        journal.push(UndoJournal.PLACE, slot + 1, length, 0);
+        if (keepOut != null) {
+            keepOut.add(row, column, length, horizontal);
+        }
+
+        boat.setPositions(row, column, horizontal);
+        boat.setShipId(slot + 1);
+        boatList.add(boat);
+        if (!boat.isSunk()) {
+            remainingBoats++;
+            remainingShipCells += boat.getLife();
+        }
+        return true;
+    }
+
+    /**Checks a placement with one AND per word touched
+     * Under the no-touch rule the masks are checked against the halos of the placed boats instead
+     */
+    @Override
+    public boolean canPlaceShip(Boat boat, int row, int column, boolean horizontal) {
+        int length = boat.getLength();
+        if (!PlacementTable.isShared(rows, columns)) {
+            return canPlaceShipByCells(row, column, length, horizontal);
+        }
+        //The shared table gives the masks of the boat over the words it covers, -1 if it does not fit
+        PlacementTable table = PlacementTable.of(rows, columns, length);
+        int placement = table.indexOf(row, column, horizontal);
+        if (placement < 0) {
+            return false;
+        }
+        if (keepOut != null) {
+            return keepOut.allows(table, placement, boatList);
+        }
+        for (int entry = table.getMaskStart(placement); entry < table.getMaskStart(placement + 1); entry++) {
+            int word = table.getMaskWord(entry);
+            if ((table.getMask(entry) & occupied[word] & ~shot[word]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Same check as canPlaceShip, cell by cell, for a board too large for shared placement tables
+     */
+    private boolean canPlaceShipByCells(int row, int column, int length, boolean horizontal) {
+        if (row < 0 || column < 0 || (horizontal ? column + length > columns : row + length > rows)) {
+            return false;
+        }
+        if (keepOut != null) {
+            return keepOut.allows(row, column, length, horizontal, boatList);
+        }
+        int step = horizontal ? 1 : columns;
+        for (int i = 0, index = row * columns + column; i < length; i++, index += step) {
+            int word = index >>> 6;
+            if ((occupied[word] & ~shot[word] & (1L << index)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public PlacementRule getPlacementRule() {
+        return placementRule;
+    }
+
+    @Override
+    public boolean removeShip(Boat boat) {
+        if (!boatList.contains(boat)) {
+            return false;
+        }
+        ensureWritable();
+        version++;
+        journal.clear(); // The moves made before the removal can not be undone anymore
+        if (keepOut != null) {
+            keepOut.invalidate();
+        }
+        if (boat.isSunk()) {
+            toggleSunk(boat);
+        }
+        for (int[] pos : boat.getPositions()) {
+            int row = pos[0];
+            int col = pos[1];
+            if (row >= 0 && row < rows && col >= 0 && col < columns) {
+                int index = row * columns + col;
+                long bit = 1L << index;
+                int oldState = getCellState(index);
+                int shipId = slotAt[index];
+                occupied[index >>> 6] &= ~bit;
+                shot[index >>> 6] &= ~bit;
+                hit[index >>> 6] &= ~bit;
+                slotAt[index] = 0;
+                cellChanged(row, col, oldState, 0, shipId);
+            }
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots[slot] == boat) {
+                slots[slot] = null;
+                break;
+            }
+        }
+        boatList.remove(boat);
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        return true;
+    }
+
+    @Override
+    public int shootEnemyBoat(int row, int column) {
+        checkCell(row, column);
+        int index = row * columns + column;
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((shot[word] & bit) != 0) {
+            return ShotResult.of(ShotResult.ALREADY_SHOT, 0);
+        }
+        journal.push(UndoJournal.SHOT, row, column, cellBits(index));
+        ensureWritable();
+        version++;
+        shot[word] |= bit;
+        if ((occupied[word] & bit) != 0) {
+            hit[word] |= bit;
+            int shipId = slotAt[index];
+            Boat hitBoat = slots[shipId - 1];
+            hitBoat.impacted();
+            remainingShipCells--;
+            cellChanged(row, column, 1, 3, shipId);
+            if (hitBoat.isSunk()) {
+                toggleSunk(hitBoat);
+                onBoatSunk();
+                return ShotResult.of(ShotResult.SUNK, shipId);
+            }
+            return ShotResult.of(ShotResult.HIT, shipId);
+        }
+        cellChanged(row, column, 0, 2, 0);
+        return ShotResult.of(ShotResult.MISS, 0);
+    }
+
+    @Override
+    public boolean validShoot(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        int index = row * columns + column;
+        return (shot[index >>> 6] & (1L << index)) == 0;
+    }
+
+    @Override
+    public long mark() {
+        return journal.mark();
+    }
+
+    @Override
+    public void undoTo(long mark) {
+        int records = journal.recordsAt(mark);
+        while (journal.records() > records) {
+            undo();
+        }
+    }
+
+    /**Undoes the last shot, attack mark or placement
+     * The previous bits of the cells are restored, so the result is exact even for
+     * cells Board can not tell apart (a boat cell marked as water)
+     */
+    @Override
+    public boolean undo() {
+        if (journal.isEmpty()) {
+            return false;
+        }
+        int type = journal.topType();
+        int row = journal.topRow();
+        int column = journal.topColumn();
+        int value = journal.topValue();
+        int index = row * columns + column;
+        journal.pop();
+        switch (type) {
+            case UndoJournal.SHOT:
+                if ((value & 1) != 0) {
+                    Boat hitBoat = slots[slotAt[index] - 1];
+                    if (hitBoat.isSunk()) {
+                        toggleSunk(hitBoat);
+                        remainingBoats++;
+                    }
+                    hitBoat.undoImpact();
+                    remainingShipCells++;
+                }
+                restoreCell(index, value, slotAt[index]);
+                break;
+            case UndoJournal.MARK:
+                restoreCell(index, value, slotAt[index]);
+                break;
+            case UndoJournal.PLACE:
+                undoPlacement(row, column);
+                break;
+            default:
+                throw new IllegalStateException("Unknown undo record " + type);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean allBoatsSunk() {
+        return remainingBoats == 0;
+    }
+
+    @Override
+    public int getRemainingBoats() {
+        return remainingBoats;
+    }
+
+    @Override
+    public int getRemainingShipCells() {
+        return remainingShipCells;
+    }
+
+    @Override
+    public void addFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.add(listener);
+    }
+
+    @Override
+    public void removeFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.remove(listener);
+    }
+
+    @Override
+    public void addBoardChangeListener(IBoardChangeListener listener) {
+        changes.add(listener);
+    }
+
+    @Override
+    public void removeBoardChangeListener(IBoardChangeListener listener) {
+        changes.remove(listener);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public Boat getBoatAt(int row, int column) {
+        checkCell(row, column);
+        int slot = slotAt[row * columns + column];
+        return slot == 0 ? null : slots[slot - 1];
+    }
+
+    @Override
+    public Boat getBoatById(int shipId) {
+        return shipId > 0 && shipId <= slotCount ? slots[shipId - 1] : null;
+    }
+
+    @Override
+    public int[][] getBoardState() {
+        int[][] state = new int[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                state[i][j] = getCellState(i * columns + j);
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public int getCellState(int row, int column) {
+        checkCell(row, column);
+        return getCellState(occupied, shot, hit, row * columns + column);
+    }
+
+    @Override
+    public long getKnowledgeHash() {
+        return hashes.getKnowledgeHash();
+    }
+
+    @Override
+    public long getFullHash() {
+        return hashes.getFullHash();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**Read-only snapshot of the board
+     * The snapshot shares the packed words with the board, the board copies them
+     * on its next write so taking a snapshot never copies the cells
+     */
+    @Override
+    public IBoardSnapshot snapshot() {
+        if (lastSnapshot == null || lastSnapshot.getVersion() != version) {
+            lastSnapshot = new WordSnapshot(occupied, shot, hit, rows, columns, version);
+            wordsShared = true;
+        }
+        return lastSnapshot;
+    }
+
+    @Override
+    public List<Boat> getBoatList() {
+        return boatList;
+    }
+
+    /**Fails like Board, whose arrays throw for a cell outside of the board, instead of
+     * wrapping the cell index into another row
+     */
+    private void checkCell(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new ArrayIndexOutOfBoundsException(
+                    String.format("Cell (%d,%d) is outside of the %dx%d board", row, column, rows, columns));
+        }
+    }
+
+    private int getCellState(int index) {
+        return getCellState(occupied, shot, hit, index);
+    }
+
+    /**Cell value with the same encoding as Board
+     * 0 = empty, 1 = boat, 2 = miss, 3 = hit
+     */
+    private static int getCellState(long[] occupied, long[] shot, long[] hit, int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((shot[word] & bit) != 0) {
+            return (hit[word] & bit) != 0 ? 3 : 2;
+        }
+        return (occupied[word] & bit) != 0 ? 1 : 0;
+    }
+
+    /**Removes the last placed boat and restores the cells it covered
+     */
+    private void undoPlacement(int shipId, int length) {
+        Boat boat = slots[shipId - 1];
+        slots[shipId - 1] = null;
+        slotCount--;
+        boatList.remove(boatList.size() - 1);
+        if (keepOut != null) {
+            keepOut.invalidate();
+        }
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        for (int i = 0; i < length; i++) {
+            int index = journal.topRow() * columns + journal.topColumn();
+            int value = journal.topValue();
+            journal.pop();
+            restoreCell(index, value & 7, value >>> 3);
+        }
+        boat.setShipId(0);
+        boat.clearPositions();
+    }
+
+    private int cellBits(int index) {
+        int word = index >>> 6;
+        return (int) ((occupied[word] >>> index) & 1)
+                | (int) ((shot[word] >>> index) & 1) << 1
+                | (int) ((hit[word] >>> index) & 1) << 2;
+    }
+
+    /**Writes back the saved bits and boat slot of a cell
+     */
+    private void restoreCell(int index, int bits, int slot) {
+        int oldState = getCellState(index);
+        ensureWritable();
+        version++;
+        int word = index >>> 6;
+        long bit = 1L << index;
+        occupied[word] = (bits & 1) != 0 ? occupied[word] | bit : occupied[word] & ~bit;
+        shot[word] = (bits & 2) != 0 ? shot[word] | bit : shot[word] & ~bit;
+        hit[word] = (bits & 4) != 0 ? hit[word] | bit : hit[word] & ~bit;
+        slotAt[index] = slot;
+        cellChanged(index / columns, index % columns, oldState, getCellState(index), slot);
+    }
+
+    /**Copies the words still referenced by the last snapshot before writing them
+     */
+    private void ensureWritable() {
+        if (wordsShared) {
+            occupied = occupied.clone();
+            shot = shot.clone();
+            hit = hit.clone();
+            wordsShared = false;
+        }
+    }
+
+    /**Gets a free slot for a new boat, growing the slot array when needed
+     */
+    private int nextSlot() {
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        return slotCount++;
+    }
+
+    /**Updates the hashes and publishes the change of a cell
+     */
+    private void cellChanged(int row, int column, int oldState, int newState, int shipId) {
+        hashes.cellChanged((long) row * columns + column, oldState, newState);
+        changes.fireCellChanged(this, row, column, oldState, newState, shipId);
+    }
+
+    /**Adds or removes the "sunk" feature of every cell of a boat in the knowledge hash
+     */
+    private void toggleSunk(Boat boat) {
+        for (int[] pos : boat.getPositions()) {
+            hashes.toggleSunk((long) pos[0] * columns + pos[1]);
+        }
+    }
+
+    /**Updates the boat counter after a sinking and signals when it was the last boat
+     */
+    private void onBoatSunk() {
+        remainingBoats--;
+        if (remainingBoats == 0) {
+            for (IFleetSunkListener listener : fleetSunkListeners) {
+                listener.onFleetSunk(this);
+            }
+        }
+    }
+
+    /**Snapshot over the packed words of one version of the board
+     */
+    private static final class WordSnapshot implements IBoardSnapshot {
+        private final long[] occupied;
+        private final long[] shot;
+        private final long[] hit;
+        private final int rows;
+        private final int columns;
+        private final long version;
+
+        WordSnapshot(long[] occupied, long[] shot, long[] hit, int rows, int columns, long version) {
+            this.occupied = occupied;
+            this.shot = shot;
+            this.hit = hit;
+            this.rows = rows;
+            this.columns = columns;
+            this.version = version;
+        }
+
+        @Override
+        public int getRows() {
+            return rows;
+        }
+
+        @Override
+        public int getColumns() {
+            return columns;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public int getCellState(int row, int column) {
+            return BitBoard.getCellState(occupied, shot, hit, row * columns + column);
+        }
+    }
+}
@@ -2,8 +2,8 @@ package Model.Board;
 
 import Model.Boat.Boat;
 
-import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Board implements IBoardOperations{
@@ -12,18 +12,44 @@ public class Board implements IBoardOperations{
     private final int[][] board; // 0=vacio, 1=barco, 2=agua, 3=impacto
     private Boat[][] boatGrid; //Tracking of boat position
     private List<Boat> boatList; // All the boats that are going to be used in the game
+    private final List<Boat> boatsById; // Boat with id N is stored at N - 1 (null once removed)
+    private int remainingBoats; // Boats placed and not sunk, updated on every change
+    private int remainingShipCells; // Boat cells placed and not hit, updated on every change
+    private final List<IFleetSunkListener> fleetSunkListeners = new ArrayList<>();
+    private final boolean[] rowShared; // Rows still referenced by a snapshot, copied before the next write
+    private long version; // Incremented on every change of the cells
+    private IBoardSnapshot lastSnapshot;
+    private final BoardChangeSupport changes = new BoardChangeSupport();
+    private final BoardHashes hashes = new BoardHashes(); // Zobrist hashes of the knowledge and of the full state
+    private final UndoJournal journal = new UndoJournal(); // Shots, marks and placements that can be undone
+    private final PlacementRule placementRule;
+    private final KeepOutZone keepOut; // Ships grown by their halo, only for the no-touch rule
 
-    /**Constructor of the board
+    /**Constructor of the board, ships may touch
      *
      * @int rows is the number of rows of the board
      * @int columns is the number of columns of the board
     * */
     public Board(int rows, int columns) {
+        this(rows, columns, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Constructor of the board with a placement rule
+     *
+     * @int rows is the number of rows of the board
+     * @int columns is the number of columns of the board
+     * @PlacementRule placementRule tells if the ships may touch each other
+    * */
+    public Board(int rows, int columns, PlacementRule placementRule) {
         this.rows = rows;
         this.columns = columns;
+        this.placementRule = placementRule;
+        this.keepOut = placementRule == PlacementRule.NO_TOUCH ? new KeepOutZone(rows, columns) : null;
         this.board = new int[rows][columns];
         this.boatList = new ArrayList<>();
         this.boatGrid = new Boat[rows][columns];
+        this.boatsById = new ArrayList<>();
+        this.rowShared = new boolean[rows];
         initialize();
     }
 
@@ -37,12 +63,26 @@ public class Board implements IBoardOperations{
     * */
     public void initialize() {
         for (int i = 0; i < rows; i++) {
+            if (rowShared[i]) {
+                board[i] = new int[columns];
+                rowShared[i] = false;
+            }
             for (int j = 0; j < columns; j++) {
                 board[i][j] = 0;
                 boatGrid[i][j] = null;
             }
         }
+        version++;
+        hashes.reset();
+        changes.fireReset(this);
+        journal.clear();
         boatList.clear();
+        boatsById.clear();
+        remainingBoats = 0;
+        remainingShipCells = 0;
+        if (keepOut != null) {
+            keepOut.clear();
+        }
     }
     /**Method to mark an attack on the board
      * @int row is the row where the attack was made
@@ -51,10 +91,12 @@ public class Board implements IBoardOperations{
     * */
     public void markAttack(int row, int column, boolean hit) {
         if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            int shipId = shipIdAt(row, column);
+            journal.push(UndoJournal.MARK, row, column, board[row][column]);
             if (hit) {
-                board[row][column] = 3; // 3 = Hit
+                setCell(row, column, 3, shipId); // 3 = Hit
             } else {
-                board[row][column] = 2; // 2 = Miss
+                setCell(row, column, 2, shipId); // 2 = Miss
             }
         }
     }
@@ -75,6 +117,47 @@ public class Board implements IBoardOperations{
     *
      */
     public boolean placeShip(Boat boat, int row, int column, boolean horizontal) {
+        if (!canPlaceShip(boat, row, column, horizontal)) {
+            return false;
+        }
+        // Placement of a ship
+        boatsById.add(boat);
+        int shipId = boatsById.size();
+        boat.setShipId(shipId);
+        for (int i = 0; i < boat.getLength(); i++) {
+            //Fill of the board with the standard values (1 mean the space is occupied)
+            int r = horizontal ? row : row + i;
+            int c = horizontal ? column + i : column;
+            journal.push(UndoJournal.CELL, r, c, board[r][c] | (shipIdAt(r, c) << 2));
+            boatGrid[r][c] = boat;
+            setCell(r, c, 1, shipId);
+        }
+        journal.push(UndoJournal.PLACE, shipId, boat.getLength(), 0);
+        if (keepOut != null) {
+            keepOut.add(row, column, boat.getLength(), horizontal);
+        }
+        // Set the positions of the boat and add it to the list of boats
+        boat.setPositions(row, column, horizontal);
+        boatList.add(boat);
+        if (!boat.isSunk()) {
+            remainingBoats++;
+            remainingShipCells += boat.getLife();
+        }
+        return true;
+    }
+    /**Checks the placement of a ship without placing it
+    @Boat boat is the boat that we want to place
+    @int row is the row where we want to place the boat
+    @int column is the column where we want to place the boat
+    @boolean horizontal is true for a horizontal boat
+    Under the no-touch rule the cells of the boat are also checked against the halos of the
+    placed boats, with one AND per word
+    @return true if placeShip would place the boat
+    * */
+    public boolean canPlaceShip(Boat boat, int row, int column, boolean horizontal) {
+        if (row < 0 || column < 0) {
+            return false;
+        }
         //First we are going to verify if the selected boat is able to place horizontal
         if (horizontal && column + boat.getLength() > columns) {
             return false;
@@ -95,22 +178,14 @@ public class Board implements IBoardOperations{
                 }
             }
         }
-        // Placement of a ship
-        for (int i = 0; i < boat.getLength(); i++) {
-            //Fill of the board with the standard values (1 mean the space is occupied)
-            if (horizontal) {
-                board[row][column + i] = 1;
-                boatGrid[row][column + i] = boat;
-            } else {
-                board[row + i][column] = 1;
-                boatGrid[row + i][column] = boat;
-            }
+        if (keepOut != null) {
+            return keepOut.allows(row, column, boat.getLength(), horizontal, boatList);
         }
-        // Set the positions of the boat and add it to the list of boats
-        boat.setPositions(row, column, horizontal);
-        boatList.add(boat);
         return true;
     }
+    public PlacementRule getPlacementRule() {
+        return placementRule;
+    }
     /**Method for the removal of a ship from the board
     @Boat boat is the boat that we want to remove
     This method will return true if the boat was removed successfully, false otherwise
@@ -120,39 +195,58 @@ public class Board implements IBoardOperations{
         if (!boatList.contains(boat)) {
             return false;
         }
-        //Remove the boat from the board
+        //Remove the boat from the board, the moves made before can not be undone anymore
+        journal.clear();
+        if (keepOut != null) {
+            keepOut.invalidate();
+        }
+        if (boat.isSunk()) {
+            toggleSunk(boat);
+        }
         for (int[] pos : boat.getPositions()) {
             int row = pos[0];
             int col = pos[1];
             if (row >= 0 && row < rows && col >= 0 && col < columns) {
-                board[row][col] = 0;
                 boatGrid[row][col] = null;
+                setCell(row, col, 0, boat.getShipId());
             }
         }
 
         boatList.remove(boat);
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        if (boat.getShipId() > 0 && boat.getShipId() <= boatsById.size()) {
+            boatsById.set(boat.getShipId() - 1, null);
+        }
         return true;
     }
 
     /**Method for the shooting of the enemy boat
     * @row and
      * @column are the coordinates of the shoot, not the size of the board
-    * This method will return a String with the result of the shoot
+    * This method will return the packed ShotResult of the shoot (see ShotResult)
     * */
-    public String shootEnemyBoat(int row, int column) {
+    public int shootEnemyBoat(int row, int column) {
         if (board[row][column] == 1) {
-            board[row][column] = 3; // Mark as hit (3)
+            journal.push(UndoJournal.SHOT, row, column, 1);
             Boat hitBoat = boatGrid[row][column]; //Object of type boat is assigned to the position of the boat that was hit in the board
             hitBoat.impacted();
+            setCell(row, column, 3, hitBoat.getShipId()); // Mark as hit (3)
+            remainingShipCells--;
             if (hitBoat.isSunk()) {
-                return "Sunk";
+                toggleSunk(hitBoat);
+                onBoatSunk();
+                return ShotResult.of(ShotResult.SUNK, hitBoat.getShipId());
             }
-            return "Hit!";
+            return ShotResult.of(ShotResult.HIT, hitBoat.getShipId());
         } else if (board[row][column] == 0) {
-            board[row][column] = 2;
-            return "Miss!";
+            journal.push(UndoJournal.SHOT, row, column, 0);
+            setCell(row, column, 2, 0);
+            return ShotResult.of(ShotResult.MISS, 0);
         } else {
-            return "Already Shot";
+            return ShotResult.of(ShotResult.ALREADY_SHOT, 0);
         }
     }
 
@@ -171,41 +265,251 @@ public class Board implements IBoardOperations{
         return board[row][column] == 0 || board[row][column] == 1;
     }
     /**Method for the verification of the sinking of all the boats
+    * Uses the live counter, so it does not iterate the boats
     @return This method will return true if all the boats are sunk, false otherwise
     * */
     public boolean allBoatsSunk() {
-        for (Boat boat : boatList) { // Iterate through all boats
-            if (!boat.isSunk()) {
-                return false;
-            }
-        }
-        return true;
+        return remainingBoats == 0;
     }
     /**Method to get the number of remaining boats
     @return This method will return the number of remaining boats
     * */
     public int getRemainingBoats() {
-        int count = 0;
-        for (Boat boat : boatList) {
-            if (!boat.isSunk()) {
-                count++;
+        return remainingBoats;
+    }
+    /**Method to get the number of boat cells that were not hit yet
+    @return This method will return the number of remaining boat cells
+    * */
+    public int getRemainingShipCells() {
+        return remainingShipCells;
+    }
+
+    public void addFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.add(listener);
+    }
+
+    public void removeFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.remove(listener);
+    }
+
+    /**Updates the boat counter after a sinking and signals when it was the last boat
+    * */
+    private void onBoatSunk() {
+        remainingBoats--;
+        if (remainingBoats == 0) {
+            for (IFleetSunkListener listener : fleetSunkListeners) {
+                listener.onFleetSunk(this);
             }
         }
-        return count;
     }
 
+    /**Method to get a mark of the undo journal
+    * Every shot, attack mark and placement made after the mark can be undone with undoTo
+    @return This method will return the mark
+    * */
+    public long mark() {
+        return journal.mark();
+    }
+    /**Method to undo every change made after a mark
+    @long mark is a value returned by mark()
+    This method throws IllegalStateException if the board was reset or a ship removed after the mark
+    * */
+    public void undoTo(long mark) {
+        int records = journal.recordsAt(mark);
+        while (journal.records() > records) {
+            undo();
+        }
+    }
+    /**Method to undo the last shot, attack mark or placement
+    * Cells, boat life, sunk flags and counters are restored exactly
+    @return This method will return true if something was undone, false if there was nothing to undo
+    * */
+    public boolean undo() {
+        if (journal.isEmpty()) {
+            return false;
+        }
+        int type = journal.topType();
+        int row = journal.topRow();
+        int column = journal.topColumn();
+        int value = journal.topValue();
+        journal.pop();
+        switch (type) {
+            case UndoJournal.SHOT:
+                if (value == 1) {
+                    Boat hitBoat = boatGrid[row][column];
+                    if (hitBoat.isSunk()) {
+                        toggleSunk(hitBoat);
+                        remainingBoats++;
+                    }
+                    hitBoat.undoImpact();
+                    remainingShipCells++;
+                    setCell(row, column, 1, hitBoat.getShipId());
+                } else {
+                    setCell(row, column, 0, 0);
+                }
+                break;
+            case UndoJournal.MARK:
+                setCell(row, column, value, shipIdAt(row, column));
+                break;
+            case UndoJournal.PLACE:
+                undoPlacement(row, column);
+                break;
+            default:
+                throw new IllegalStateException("Unknown undo record " + type);
+        }
+        return true;
+    }
+    public void addBoardChangeListener(IBoardChangeListener listener) {
+        changes.add(listener);
+    }
+    public void removeBoardChangeListener(IBoardChangeListener listener) {
+        changes.remove(listener);
+    }
     public int getRows() {
         return rows;
     }
     public int getColumns() {
         return columns;
     }
+    /**Copy of the cells, the rows are shared with the snapshots so they are never handed out
+     */
     public int[][] getBoard() {
-        return board;
+        return getBoardState();
+    }
+    public int getCellState(int row, int column) {
+        return board[row][column];
+    }
+    public long getVersion() {
+        return version;
+    }
+    /**Method to get the Zobrist hash of what the attacker knows about the board
+    * Only the missed cells, hit cells and cells of sunk boats are part of it, so two
+    * boards with different fleets but the same shots and results have the same hash
+    @return This method will return the hash, updated on every shot
+    * */
+    public long getKnowledgeHash() {
+        return hashes.getKnowledgeHash();
+    }
+    /**Method to get the Zobrist hash of the state of every cell, boats included
+    @return This method will return the hash, updated on every change
+    * */
+    public long getFullHash() {
+        return hashes.getFullHash();
     }
     public List<Boat> getBoatList() {
         return boatList;
     }
     public Boat getBoatAt(int row, int column) { return boatGrid[row][column]; }
-    public int[][] getBoardState() { return board.clone(); }
+    public Boat getBoatById(int shipId) {
+        return shipId > 0 && shipId <= boatsById.size() ? boatsById.get(shipId - 1) : null;
+    }
+    /**Deep copy of the cells, prefer snapshot() for repeated reads
+    * */
+    public int[][] getBoardState() {
+        int[][] copy = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+    /**Method to get a read-only snapshot of the board
+    * The same snapshot is returned while the board does not change.
+    * Taking a new one only copies the row references, the rows themselves are
+    * copied by the board the next time they are written (copy-on-write)
+    @return This method will return the snapshot of the current version
+    * */
+    public IBoardSnapshot snapshot() {
+        if (lastSnapshot == null || lastSnapshot.getVersion() != version) {
+            lastSnapshot = new ArraySnapshot(board.clone(), rows, columns, version);
+            Arrays.fill(rowShared, true);
+        }
+        return lastSnapshot;
+    }
+    /**Removes the last placed boat and restores the cells it covered
+    * */
+    private void undoPlacement(int shipId, int length) {
+        Boat boat = boatsById.remove(shipId - 1);
+        boatList.remove(boatList.size() - 1);
+        if (keepOut != null) {
+            keepOut.invalidate();
+        }
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        for (int i = 0; i < length; i++) {
+            int row = journal.topRow();
+            int column = journal.topColumn();
+            int value = journal.topValue();
+            journal.pop();
+            int oldShipId = value >>> 2;
+            boatGrid[row][column] = oldShipId == 0 ? null : boatsById.get(oldShipId - 1);
+            setCell(row, column, value & 3, oldShipId);
+        }
+        boat.setShipId(0);
+        boat.clearPositions();
+    }
+    /**Adds or removes the "sunk" feature of every cell of a boat in the knowledge hash
+    * */
+    private void toggleSunk(Boat boat) {
+        for (int[] pos : boat.getPositions()) {
+            hashes.toggleSunk((long) pos[0] * columns + pos[1]);
+        }
+    }
+    private int shipIdAt(int row, int column) {
+        return boatGrid[row][column] == null ? 0 : boatGrid[row][column].getShipId();
+    }
+    /**Writes a cell, copying its row first if a snapshot still references it,
+    * and publishes the change to the board change listeners
+    * */
+    private void setCell(int row, int column, int value, int shipId) {
+        int oldValue = board[row][column];
+        if (oldValue == value) {
+            return;
+        }
+        if (rowShared[row]) {
+            board[row] = board[row].clone();
+            rowShared[row] = false;
+        }
+        board[row][column] = value;
+        version++;
+        hashes.cellChanged((long) row * columns + column, oldValue, value);
+        changes.fireCellChanged(this, row, column, oldValue, value, shipId);
+    }
+
+    /**Snapshot holding the rows that were shared when it was taken
+     */
+    private static final class ArraySnapshot implements IBoardSnapshot {
+        private final int[][] cells;
+        private final int rows;
+        private final int columns;
+        private final long version;
+
+        ArraySnapshot(int[][] cells, int rows, int columns, long version) {
+            this.cells = cells;
+            this.rows = rows;
+            this.columns = columns;
+            this.version = version;
+        }
+
+        @Override
+        public int getRows() {
+            return rows;
+        }
+
+        @Override
+        public int getColumns() {
+            return columns;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public int getCellState(int row, int column) {
+            return cells[row][column];
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package Model.Board;
+
+/**
+ * Listener list shared by the board implementations to publish cell changes
+ * The array is replaced on every add/remove so listeners can unregister while
+ * an event is being dispatched, and boards can skip the work with hasListeners()
+ */
+final class BoardChangeSupport {
+    private static final IBoardChangeListener[] NONE = new IBoardChangeListener[0];
+    private volatile IBoardChangeListener[] listeners = NONE;
+
+    boolean hasListeners() {
+        return listeners.length != 0;
+    }
+
+    synchronized void add(IBoardChangeListener listener) {
+        IBoardChangeListener[] updated = new IBoardChangeListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, updated, 0, listeners.length);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    synchronized void remove(IBoardChangeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                IBoardChangeListener[] updated = new IBoardChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated.length == 0 ? NONE : updated;
+                return;
+            }
+        }
+    }
+
+    /**Sends a cell change, nothing is sent when the state did not change
+     */
+    void fireCellChanged(IBoardOperations board, int row, int column, int oldState, int newState, int shipId) {
+        if (oldState == newState) {
+            return;
+        }
+        for (IBoardChangeListener listener : listeners) {
+            listener.onCellChanged(board, row, column, oldState, newState, shipId);
+        }
+    }
+
+    void fireReset(IBoardOperations board) {
+        for (IBoardChangeListener listener : listeners) {
+            listener.onBoardReset(board);
+        }
+    }
+}
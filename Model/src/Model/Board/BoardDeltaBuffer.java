@@ -0,0 +1,105 @@
+package Model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Buffer of the cell changes of one board, to be applied later in batches
+ * Every change takes one long (row and column) and one int (old state, new state
+ * and ship id), so no object is created per change. When more changes than the
+ * capacity are recorded, or the board is reset, the buffer drops its content and
+ * drain() returns false: the consumer has to reread the whole board once
+ * Recording and draining are synchronized, so the board can be written on one
+ * thread and drained on another
+ */
+public final class BoardDeltaBuffer implements IBoardChangeListener {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final IBoardOperations board;
+    private final int maxCapacity;
+    private long[] cells; // row << 32 | column
+    private int[] changes; // oldState | newState << 2 | shipId << 4
+    private int size;
+    private boolean overflowed;
+
+    /**Creates the buffer and registers it on the board
+     *
+     * @param board Board whose changes are recorded
+     * @param maxCapacity Number of changes kept before the buffer overflows
+     */
+    public BoardDeltaBuffer(IBoardOperations board, int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.board = board;
+        this.maxCapacity = maxCapacity;
+        int capacity = Math.min(INITIAL_CAPACITY, maxCapacity);
+        this.cells = new long[capacity];
+        this.changes = new int[capacity];
+        board.addBoardChangeListener(this);
+    }
+
+    @Override
+    public synchronized void onCellChanged(IBoardOperations source, int row, int column, int oldState, int newState, int shipId) {
+        if (source != board || overflowed) {
+            return;
+        }
+        if (size == cells.length) {
+            if (size == maxCapacity) {
+                overflowed = true;
+                size = 0;
+                return;
+            }
+            int capacity = Math.min(maxCapacity, size * 2);
+            cells = Arrays.copyOf(cells, capacity);
+            changes = Arrays.copyOf(changes, capacity);
+        }
+        cells[size] = ((long) row << 32) | (column & 0xFFFFFFFFL);
+        changes[size] = oldState | (newState << 2) | (shipId << 4);
+        size++;
+    }
+
+    @Override
+    public synchronized void onBoardReset(IBoardOperations source) {
+        if (source == board) {
+            overflowed = true;
+            size = 0;
+        }
+    }
+
+    /**Sends the recorded changes to the consumer in the order they happened and empties the buffer
+     * The consumer must not write the board while it is being drained
+     * @param consumer Receiver of the changes
+     * @return true if the changes are complete, false if some were lost and the board must be reread
+     */
+    public synchronized boolean drain(IBoardChangeListener consumer) {
+        if (overflowed) {
+            overflowed = false;
+            size = 0;
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            long cell = cells[i];
+            int change = changes[i];
+            consumer.onCellChanged(board, (int) (cell >> 32), (int) cell,
+                    change & 3, (change >>> 2) & 3, change >>> 4);
+        }
+        size = 0;
+        return true;
+    }
+
+    /**Number of changes waiting to be drained
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public IBoardOperations getBoard() {
+        return board;
+    }
+
+    /**Stops recording the changes of the board
+     */
+    public void close() {
+        board.removeBoardChangeListener(this);
+    }
+}
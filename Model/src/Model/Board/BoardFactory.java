@@ -0,0 +1,50 @@
+package Model.Board;
+
+public class BoardFactory implements IBoardFactory {
+    private final BoardType boardType;
+    private final PlacementRule placementRule;
+
+    /**Constructor with the selected storage layout, ships may touch
+     * @param boardType The kind of board this factory creates
+     */
+    public BoardFactory(BoardType boardType) {
+        this(boardType, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Constructor with the selected storage layout and placement rule
+     * @param boardType The kind of board this factory creates
+     * @param placementRule The placement rule of the boards
+     */
+    public BoardFactory(BoardType boardType, PlacementRule placementRule) {
+        this.boardType = boardType;
+        this.placementRule = placementRule;
+    }
+
+    /**Default constructor using the array based board
+     * For backward compatibility
+     */
+    public BoardFactory() {
+        this(BoardType.ARRAY);
+    }
+
+    @Override
+    public IBoardOperations createBoard(int rows, int columns) {
+        switch (boardType) {
+            case BITBOARD:
+                return new BitBoard(rows, columns, placementRule);
+            case SPARSE:
+                return new SparseBoard(rows, columns, placementRule);
+            case ARRAY:
+            default:
+                return new Board(rows, columns, placementRule);
+        }
+    }
+
+    public BoardType getBoardType() {
+        return boardType;
+    }
+
+    public PlacementRule getPlacementRule() {
+        return placementRule;
+    }
+}
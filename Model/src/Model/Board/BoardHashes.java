@@ -0,0 +1,74 @@
+package Model.Board;
+
+/**
+ * Incremental 64-bit Zobrist hashes of a board, shared by the board implementations
+ * - knowledge hash: what the attacker knows (missed cells, hit cells, cells of sunk boats)
+ * - full hash: the state of every cell (boats included)
+ * Each (cell, feature) pair has its own random key and the hash is the XOR of the
+ * keys of the features present, so every change is one or two XORs. The keys are
+ * computed with the SplitMix64 finalizer instead of being stored, so the hashes
+ * work for boards of any size without a key table
+ */
+final class BoardHashes {
+    static final int MISS = 1;
+    static final int HIT = 2;
+    static final int SUNK = 3;
+    private static final long KNOWLEDGE_SALT = 0x5DEECE66DL;
+    private static final long FULL_SALT = 0x2545F4914F6CDD1DL;
+
+    private long knowledge;
+    private long full;
+
+    long getKnowledgeHash() {
+        return knowledge;
+    }
+
+    long getFullHash() {
+        return full;
+    }
+
+    void reset() {
+        knowledge = 0;
+        full = 0;
+    }
+
+    /**Updates both hashes after a cell went from oldState to newState (Board encoding)
+     */
+    void cellChanged(long cell, int oldState, int newState) {
+        if (oldState == newState) {
+            return;
+        }
+        full ^= key(cell, oldState, FULL_SALT) ^ key(cell, newState, FULL_SALT);
+        knowledge ^= key(cell, knowledgeOf(oldState), KNOWLEDGE_SALT) ^ key(cell, knowledgeOf(newState), KNOWLEDGE_SALT);
+    }
+
+    /**Adds or removes the "sunk" feature of a cell, called for every cell of a boat
+     * when it sinks and again when that sinking is undone
+     */
+    void toggleSunk(long cell) {
+        knowledge ^= key(cell, SUNK, KNOWLEDGE_SALT);
+    }
+
+    private static int knowledgeOf(int state) {
+        switch (state) {
+            case 2:
+                return MISS;
+            case 3:
+                return HIT;
+            default:
+                return 0; // Empty and boat cells look the same to the attacker
+        }
+    }
+
+    /**Key of a feature of a cell, 0 for the absent feature so it can be XORed blindly
+     */
+    private static long key(long cell, int feature, long salt) {
+        if (feature == 0) {
+            return 0;
+        }
+        long z = (cell * 4 + feature) * 0x9E3779B97F4A7C15L + salt;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,13 @@
+package Model.Board;
+
+/**
+ * Available storage layouts for a board
+ * ARRAY keeps one int per cell (original implementation)
+ * BITBOARD packs occupancy, shots and hits into long words
+ * SPARSE only allocates the tiles that were written, for very large maps
+ */
+public enum BoardType {
+    ARRAY,
+    BITBOARD,
+    SPARSE
+}
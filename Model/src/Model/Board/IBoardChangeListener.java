@@ -0,0 +1,21 @@
+package Model.Board;
+
+public interface IBoardChangeListener {
+    /**Called by a board right after one of its cells changed
+     * States use the Board encoding: 0 = empty, 1 = boat, 2 = miss, 3 = hit
+     * @param board The board that changed
+     * @param row Row of the cell
+     * @param column Column of the cell
+     * @param oldState State of the cell before the change
+     * @param newState State of the cell after the change
+     * @param shipId Id of the boat on the cell, 0 if there is none
+     */
+    void onCellChanged(IBoardOperations board, int row, int column, int oldState, int newState, int shipId);
+
+    /**Called when the whole board is wiped by initialize()
+     * No cell events are sent for the wipe, consumers should reread the board
+     * @param board The board that was reset
+     */
+    default void onBoardReset(IBoardOperations board) {
+    }
+}
@@ -0,0 +1,10 @@
+package Model.Board;
+
+public interface IBoardFactory {
+    /**Creates an empty board with the given dimensions
+     * @param rows Number of rows of the board
+     * @param columns Number of columns of the board
+     * @return A new board ready for ship placement
+     */
+    IBoardOperations createBoard(int rows, int columns);
+}
@@ -4,14 +4,31 @@ import java.util.List;
 public interface IBoardOperations {
     void initialize();
     boolean placeShip(Boat boat, int row, int column, boolean horizontal);
+    boolean canPlaceShip(Boat boat, int row, int column, boolean horizontal);
+    PlacementRule getPlacementRule();
     boolean removeShip(Boat boat);
-    String shootEnemyBoat(int row, int column);
+    void markAttack(int row, int column, boolean hit);
+    int shootEnemyBoat(int row, int column);
     boolean validShoot(int row, int column);
+    long mark();
+    void undoTo(long mark);
+    boolean undo();
     boolean allBoatsSunk();
     int getRemainingBoats();
+    int getRemainingShipCells();
+    void addFleetSunkListener(IFleetSunkListener listener);
+    void removeFleetSunkListener(IFleetSunkListener listener);
+    void addBoardChangeListener(IBoardChangeListener listener);
+    void removeBoardChangeListener(IBoardChangeListener listener);
     int getRows();
     int getColumns();
     Boat getBoatAt(int row, int column);
+    Boat getBoatById(int shipId);
     int[][] getBoardState();
+    int getCellState(int row, int column);
+    long getVersion();
+    long getKnowledgeHash();
+    long getFullHash();
+    IBoardSnapshot snapshot();
     List<Boat> getBoatList();
 }
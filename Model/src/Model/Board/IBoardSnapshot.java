@@ -0,0 +1,19 @@
+package Model.Board;
+
+/**
+ * Read-only view of a board at a given version
+ * A snapshot never changes after it is created, so it can be kept by the UI,
+ * the AI or the persistence code and handed to other threads without copying it.
+ * Cell values use the Board encoding: 0 = empty, 1 = boat, 2 = miss, 3 = hit
+ */
+public interface IBoardSnapshot {
+    int getRows();
+    int getColumns();
+
+    /**Version of the board when the snapshot was taken
+     * Two snapshots of the same board with the same version have the same cells
+     */
+    long getVersion();
+
+    int getCellState(int row, int column);
+}
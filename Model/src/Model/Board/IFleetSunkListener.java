@@ -0,0 +1,8 @@
+package Model.Board;
+
+public interface IFleetSunkListener {
+    /**Called by a board right after the shot that sinks its last boat
+     * @param board The board whose fleet was sunk
+     */
+    void onFleetSunk(IBoardOperations board);
+}
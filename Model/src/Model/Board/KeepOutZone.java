@@ -0,0 +1,103 @@
+package Model.Board;
+
+import Model.Boat.Boat;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cells where no ship can be placed under the no-touch rule: the placed ships grown by one cell
+ * in the eight directions, as a row-major bitset. A placement is allowed when its mask misses
+ * the zone, one AND per word like the overlap check. Placing a ship ORs its halo in. Removing
+ * one (removeShip or an undone placement) marks the zone stale, it is rebuilt from the boats of
+ * the board on the next check, which only happens while a fleet is being laid out.
+ * Boards too large for shared placement tables set and check the cells one by one
+ */
+final class KeepOutZone {
+    private final int rows;
+    private final int columns;
+    private final long[] cells;
+    private final boolean tabled; // Whether the shared placement tables of the board size are used
+    private boolean stale;
+
+    KeepOutZone(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = new long[(rows * columns + 63) >>> 6];
+        this.tabled = PlacementTable.isShared(rows, columns);
+    }
+
+    /**Checks a placement inside the board against the zone
+     *
+     * @param boats Boats of the board, read when the zone is stale
+     */
+    boolean allows(int row, int column, int length, boolean horizontal, List<Boat> boats) {
+        if (tabled) {
+            PlacementTable table = PlacementTable.of(rows, columns, length);
+            int placement = table.indexOf(row, column, horizontal);
+            return placement >= 0 && allows(table, placement, boats);
+        }
+        if (stale) {
+            rebuild(boats);
+        }
+        int step = horizontal ? 1 : columns;
+        for (int i = 0, cell = row * columns + column; i < length; i++, cell += step) {
+            if ((cells[cell >>> 6] & (1L << cell)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Checks a placement of the shared table of the board size against the zone
+     */
+    boolean allows(PlacementTable table, int placement, List<Boat> boats) {
+        if (stale) {
+            rebuild(boats);
+        }
+        return table.fits(cells, placement);
+    }
+
+    /**Adds the halo of a ship that was just placed
+     */
+    void add(int row, int column, int length, boolean horizontal) {
+        if (stale) {
+            return;
+        }
+        if (tabled) {
+            PlacementTable table = PlacementTable.of(rows, columns, length);
+            table.addHalo(cells, table.indexOf(row, column, horizontal));
+        } else {
+            PlacementTable.addHalo(cells, rows, columns, row, column, length, horizontal);
+        }
+    }
+
+    private void addHalo(Boat boat) {
+        if (tabled) {
+            PlacementTable table = PlacementTable.of(rows, columns, boat.getLength());
+            int placement = table.indexOf(boat);
+            if (placement >= 0) {
+                table.addHalo(cells, placement);
+            }
+        } else {
+            PlacementTable.addHalo(cells, rows, columns, boat);
+        }
+    }
+
+    void invalidate() {
+        stale = true;
+    }
+
+    void clear() {
+        Arrays.fill(cells, 0L);
+        stale = false;
+    }
+
+    private void rebuild(List<Boat> boats) {
+        Arrays.fill(cells, 0L);
+        for (Boat boat : boats) {
+            addHalo(boat);
+        }
+        stale = false;
+    }
+}
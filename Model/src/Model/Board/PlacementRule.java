@@ -0,0 +1,12 @@
+package Model.Board;
+
+/**
+ * Rules for the placement of the ships of a board
+ * TOUCH_ALLOWED only forbids overlaps (original rule)
+ * NO_TOUCH also forbids ships that are orthogonally or diagonally adjacent, so every cell around
+ * a ship is water. Boards enforce it with the halo masks of PlacementTable
+ */
+public enum PlacementRule {
+    TOUCH_ALLOWED,
+    NO_TOUCH
+}
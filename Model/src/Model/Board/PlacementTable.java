@@ -0,0 +1,402 @@
+package Model.Board;
+
+import Model.Boat.Boat;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Every legal placement of a ship length on a board size, with its bit masks
+ * Placements are numbered horizontal ones first (by start cell, row-major), then vertical ones
+ * (by start cell). Each placement has the masks of the cells it covers over a row-major bitset
+ * (bit = row * columns + column), one (word, mask) entry per word it touches, so checking it
+ * against an occupancy bitset is one AND per word: one or two words for a horizontal placement.
+ * The placements covering each cell are listed too, for the strategies that update per cell.
+ * For the no-touch rule each placement also has a halo: its cells and the cells around them
+ * (orthogonally and diagonally adjacent). The halos are built on first use, since most boards
+ * never need them.
+ * Tables are immutable, built on first use and shared by every thread: one per board size and
+ * ship length in the JVM. A table takes memory in proportion to the area of the board, so only
+ * the tables of boards up to MAX_SHARED_CELLS are kept; the boards and services check the
+ * placements of larger boards cell by cell instead (see isShared)
+ */
+public final class PlacementTable {
+    public static final int MAX_SHARED_CELLS = 1 << 16; // 256x256, far above a playable board
+
+    private static final ConcurrentHashMap<Long, PlacementTable> TABLES = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int columns;
+    private final int length;
+    private final int horizontalPerRow;
+    private final int horizontalCount;
+    private final int count;
+
+    private final int[] maskStart; // [placement] first entry of its masks, maskStart[count] is the end
+    private final int[] maskWords;
+    private final long[] masks;
+    private final int[] cellStart; // [cell] first entry of the placements covering it
+    private final int[] cellPlacements;
+    private volatile Halo halo; // Built on the first no-touch use
+
+    /**Gets the table of a board size and ship length, building it on first use
+     * The table of a board larger than MAX_SHARED_CELLS is built on every call and not kept
+     *
+     * @param rows    Number of rows of the board
+     * @param columns Number of columns of the board
+     * @param length  Length of the ship
+     * @return the shared table
+     */
+    public static PlacementTable of(int rows, int columns, int length) {
+        if (rows <= 0 || columns <= 0 || length <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid placement table %dx%d for length %d", rows, columns, length));
+        }
+        if (!isShared(rows, columns)) {
+            return new PlacementTable(rows, columns, length);
+        }
+        long key = ((long) rows << 42) | ((long) columns << 21) | length;
+        return TABLES.computeIfAbsent(key, k -> new PlacementTable(rows, columns, length));
+    }
+
+    /**Checks if the tables of a board size are kept and shared
+     * For a larger board, callers that only check a few placements should not build a table
+     */
+    public static boolean isShared(int rows, int columns) {
+        return (long) rows * columns <= MAX_SHARED_CELLS;
+    }
+
+    /**Sets the halo of a placed boat in a row-major bitset without a table
+     * Same cells as addHalo(bits, placement), for boards whose tables are not shared
+     *
+     * @param bits    Bitset of the board, bit row * columns + column
+     * @param rows    Number of rows of the board
+     * @param columns Number of columns of the board
+     * @param boat    Boat placed on the board, nothing is set if it is not placed
+     */
+    public static void addHalo(long[] bits, int rows, int columns, Boat boat) {
+        List<int[]> positions = boat.getPositions();
+        if (positions.isEmpty()) {
+            return;
+        }
+        int[] first = positions.get(0);
+        boolean horizontal = positions.size() == 1 || positions.get(1)[0] == first[0];
+        addHalo(bits, rows, columns, first[0], first[1], positions.size(), horizontal);
+    }
+
+    /**Sets the halo of a placement given by its first cell in a row-major bitset without a table
+     */
+    public static void addHalo(long[] bits, int rows, int columns, int row, int column, int length, boolean horizontal) {
+        int top = Math.max(0, row - 1);
+        int bottom = Math.min(rows - 1, (horizontal ? row : row + length - 1) + 1);
+        int left = Math.max(0, column - 1);
+        int right = Math.min(columns - 1, (horizontal ? column + length - 1 : column) + 1);
+        for (int r = top; r <= bottom; r++) {
+            for (int c = left; c <= right; c++) {
+                int cell = r * columns + c;
+                bits[cell >>> 6] |= 1L << cell;
+            }
+        }
+    }
+
+    private PlacementTable(int rows, int columns, int length) {
+        this.rows = rows;
+        this.columns = columns;
+        this.length = length;
+        this.horizontalPerRow = Math.max(0, columns - length + 1);
+        this.horizontalCount = rows * horizontalPerRow;
+        this.count = horizontalCount + Math.max(0, rows - length + 1) * columns;
+
+        // Masks, one entry per word touched by each placement
+        int[] start = new int[count + 1];
+        int entries = 0;
+        for (int placement = 0; placement < count; placement++) {
+            start[placement] = entries;
+            entries += wordsTouched(placement);
+        }
+        start[count] = entries;
+        this.maskStart = start;
+        this.maskWords = new int[entries];
+        this.masks = new long[entries];
+        int entry = 0;
+        for (int placement = 0; placement < count; placement++) {
+            int previousWord = -1;
+            for (int i = 0, cell = getStartCell(placement); i < length; i++, cell += getStep(placement)) {
+                if ((cell >>> 6) != previousWord) {
+                    previousWord = cell >>> 6;
+                    maskWords[entry++] = previousWord;
+                }
+                masks[entry - 1] |= 1L << cell;
+            }
+        }
+
+        // Placements covering each cell
+        int cells = rows * columns;
+        int[] perCell = new int[cells + 1];
+        for (int placement = 0; placement < count; placement++) {
+            for (int i = 0, cell = getStartCell(placement); i < length; i++, cell += getStep(placement)) {
+                perCell[cell + 1]++;
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            perCell[cell + 1] += perCell[cell];
+        }
+        this.cellStart = perCell;
+        this.cellPlacements = new int[perCell[cells]];
+        int[] next = new int[cells];
+        for (int placement = 0; placement < count; placement++) {
+            for (int i = 0, cell = getStartCell(placement); i < length; i++, cell += getStep(placement)) {
+                cellPlacements[perCell[cell] + next[cell]++] = placement;
+            }
+        }
+    }
+
+    private int wordsTouched(int placement) {
+        int words = 0;
+        int previousWord = -1;
+        for (int i = 0, cell = getStartCell(placement); i < length; i++, cell += getStep(placement)) {
+            if ((cell >>> 6) != previousWord) {
+                previousWord = cell >>> 6;
+                words++;
+            }
+        }
+        return words;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**Number of legal placements
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**Number of horizontal placements, they are numbered before the vertical ones
+     */
+    public int getHorizontalCount() {
+        return horizontalCount;
+    }
+
+    /**Number of the placement starting at a cell, -1 if the ship does not fit there
+     */
+    public int indexOf(int row, int column, boolean horizontal) {
+        if (row < 0 || column < 0 || row >= rows || column >= columns) {
+            return -1;
+        }
+        if (horizontal) {
+            return column < horizontalPerRow ? row * horizontalPerRow + column : -1;
+        }
+        return row + length <= rows ? horizontalCount + row * columns + column : -1;
+    }
+
+    public boolean isHorizontal(int placement) {
+        return placement < horizontalCount;
+    }
+
+    public int getRow(int placement) {
+        return placement < horizontalCount ? placement / horizontalPerRow : (placement - horizontalCount) / columns;
+    }
+
+    public int getColumn(int placement) {
+        return placement < horizontalCount ? placement % horizontalPerRow : (placement - horizontalCount) % columns;
+    }
+
+    /**First cell (row * columns + column) covered by a placement
+     */
+    public int getStartCell(int placement) {
+        return getRow(placement) * columns + getColumn(placement);
+    }
+
+    /**Distance between two consecutive cells of a placement: 1 or the number of columns
+     */
+    public int getStep(int placement) {
+        return placement < horizontalCount ? 1 : columns;
+    }
+
+    /**Checks a placement against a row-major occupancy bitset
+     *
+     * @return true if none of its cells is set
+     */
+    public boolean fits(long[] occupied, int placement) {
+        for (int entry = maskStart[placement]; entry < maskStart[placement + 1]; entry++) {
+            if ((occupied[maskWords[entry]] & masks[entry]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Flips the cells of a placement in a row-major bitset, sets them if they were clear
+     */
+    public void toggle(long[] bits, int placement) {
+        for (int entry = maskStart[placement]; entry < maskStart[placement + 1]; entry++) {
+            bits[maskWords[entry]] ^= masks[entry];
+        }
+    }
+
+    /**Mask entries of a placement, from getMaskStart(p) to getMaskStart(p + 1) excluded
+     */
+    public int getMaskStart(int placement) {
+        return maskStart[placement];
+    }
+
+    public int getMaskWord(int entry) {
+        return maskWords[entry];
+    }
+
+    public long getMask(int entry) {
+        return masks[entry];
+    }
+
+    /**Placements covering a cell, from getCellStart(cell) to getCellStart(cell + 1) excluded
+     */
+    public int getCellStart(int cell) {
+        return cellStart[cell];
+    }
+
+    public int getCellPlacement(int entry) {
+        return cellPlacements[entry];
+    }
+
+    /**Number of placements covering a cell
+     */
+    public int getCoverage(int cell) {
+        return cellStart[cell + 1] - cellStart[cell];
+    }
+
+    /**Placement of a boat of this length already placed on a board, -1 if it is not placed
+     */
+    public int indexOf(Boat boat) {
+        List<int[]> positions = boat.getPositions();
+        if (boat.getLength() != length || positions.isEmpty()) {
+            return -1;
+        }
+        int[] first = positions.get(0);
+        boolean horizontal = positions.size() == 1 || positions.get(1)[0] == first[0];
+        return indexOf(first[0], first[1], horizontal);
+    }
+
+    /**Sets the halo of a placement (its cells and the cells around them) in a row-major bitset
+     * A keep-out bitset built this way from the placed ships is checked with fits(keepOut, p),
+     * so the no-touch rule costs the same ANDs as the overlap check
+     */
+    public void addHalo(long[] bits, int placement) {
+        Halo halo = halo();
+        for (int entry = halo.maskStart[placement]; entry < halo.maskStart[placement + 1]; entry++) {
+            bits[halo.maskWords[entry]] |= halo.masks[entry];
+        }
+    }
+
+    /**Cells around a placement, without its own cells, from getHaloCellStart(p) to getHaloCellStart(p + 1) excluded
+     */
+    public int getHaloCellStart(int placement) {
+        return halo().ringStart[placement];
+    }
+
+    public int getHaloCell(int entry) {
+        return halo().ringCells[entry];
+    }
+
+    private Halo halo() {
+        Halo built = halo;
+        if (built == null) {
+            built = new Halo(); // Two threads may build it at once, both results are equal
+            halo = built;
+        }
+        return built;
+    }
+
+    /**
+     * Masks of the halo of each placement and the cells around each placement
+     * Immutable once built, published through the volatile field
+     */
+    private final class Halo {
+        final int[] maskStart;
+        final int[] maskWords;
+        final long[] masks;
+        final int[] ringStart;
+        final int[] ringCells;
+
+        Halo() {
+            maskStart = new int[count + 1];
+            ringStart = new int[count + 1];
+            int entries = 0;
+            int ring = 0;
+            for (int placement = 0; placement < count; placement++) {
+                maskStart[placement] = entries;
+                ringStart[placement] = ring;
+                int[] box = box(placement);
+                int previousWord = -1;
+                for (int r = box[0]; r <= box[1]; r++) {
+                    for (int c = box[2]; c <= box[3]; c++) {
+                        int cell = r * columns + c;
+                        if ((cell >>> 6) != previousWord) {
+                            previousWord = cell >>> 6;
+                            entries++;
+                        }
+                    }
+                }
+                ring += (box[1] - box[0] + 1) * (box[3] - box[2] + 1) - length;
+            }
+            maskStart[count] = entries;
+            ringStart[count] = ring;
+            maskWords = new int[entries];
+            masks = new long[entries];
+            ringCells = new int[ring];
+
+            int entry = 0;
+            ring = 0;
+            for (int placement = 0; placement < count; placement++) {
+                int[] box = box(placement);
+                int previousWord = -1;
+                for (int r = box[0]; r <= box[1]; r++) {
+                    for (int c = box[2]; c <= box[3]; c++) {
+                        int cell = r * columns + c;
+                        if ((cell >>> 6) != previousWord) {
+                            previousWord = cell >>> 6;
+                            maskWords[entry++] = previousWord;
+                        }
+                        masks[entry - 1] |= 1L << cell;
+                        if (!covers(placement, r, c)) {
+                            ringCells[ring++] = cell;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**Rows and columns of the placement grown by one cell, clipped to the board: [top, bottom, left, right]
+         */
+        private int[] box(int placement) {
+            int row = getRow(placement);
+            int column = getColumn(placement);
+            int lastRow = isHorizontal(placement) ? row : row + length - 1;
+            int lastColumn = isHorizontal(placement) ? column + length - 1 : column;
+            return new int[]{Math.max(0, row - 1), Math.min(rows - 1, lastRow + 1),
+                    Math.max(0, column - 1), Math.min(columns - 1, lastColumn + 1)};
+        }
+
+        private boolean covers(int placement, int r, int c) {
+            int row = getRow(placement);
+            int column = getColumn(placement);
+            return isHorizontal(placement)
+                    ? r == row && c >= column && c < column + length
+                    : c == column && r >= row && r < row + length;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlacementTable[%dx%d, length=%d, placements=%d]", rows, columns, length, count);
+    }
+}
@@ -0,0 +1,72 @@
+package Model.Board;
+
+/**
+ * Packed result of a single shot on a board
+ * The result is a plain int so it can flow through the game without allocations:
+ * - bits 0-1: outcome (ALREADY_SHOT, MISS, HIT, SUNK)
+ * - bits 2-31: id of the boat that was impacted (0 when no boat was impacted)
+ * SUNK is an impact that also sank the boat, so isHit() is true for it
+ * Messages for the view are only built when toMessage() is called
+ */
+public final class ShotResult {
+    public static final int ALREADY_SHOT = 0;
+    public static final int MISS = 1;
+    public static final int HIT = 2;
+    public static final int SUNK = 3;
+
+    private static final int OUTCOME_MASK = 0b11;
+    private static final int SHIP_SHIFT = 2;
+
+    private ShotResult() {
+    }
+
+    /**Packs an outcome and the impacted boat id
+     * @param outcome One of ALREADY_SHOT, MISS, HIT or SUNK
+     * @param shipId Id of the impacted boat, 0 if none
+     * @return The packed shot result
+     */
+    public static int of(int outcome, int shipId) {
+        return (shipId << SHIP_SHIFT) | outcome;
+    }
+
+    public static int outcome(int result) {
+        return result & OUTCOME_MASK;
+    }
+
+    public static int shipId(int result) {
+        return result >>> SHIP_SHIFT;
+    }
+
+    public static boolean isHit(int result) {
+        return (result & HIT) != 0;
+    }
+
+    public static boolean isSunk(int result) {
+        return outcome(result) == SUNK;
+    }
+
+    public static boolean isMiss(int result) {
+        return outcome(result) == MISS;
+    }
+
+    public static boolean isAlreadyShot(int result) {
+        return outcome(result) == ALREADY_SHOT;
+    }
+
+    /**Builds the human readable message of a shot
+     * @param result The packed shot result
+     * @return "Hit!", "Sunk", "Miss!" or "Already Shot"
+     */
+    public static String toMessage(int result) {
+        switch (outcome(result)) {
+            case SUNK:
+                return "Sunk";
+            case HIT:
+                return "Hit!";
+            case MISS:
+                return "Miss!";
+            default:
+                return "Already Shot";
+        }
+    }
+}
@@ -0,0 +1,724 @@
+package Model.Board;
+
+import Model.Boat.Boat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse implementation of the board for very large maps
+ * The board is split in 8x8 tiles that are only allocated the first time one of their
+ * cells is written (boat placed or cell attacked), so memory grows with boats + shots
+ * instead of rows * columns. Inside a tile every cell is one bit of three long masks
+ * (occupied, shot, hit) and tiles holding boats keep the boat slot of each cell,
+ * which is the spatial index used by getBoatAt and shootEnemyBoat
+ * All the single cell operations are a hash lookup plus bit operations
+ */
+public final class SparseBoard implements IBoardOperations {
+    private static final int TILE_SHIFT = 3; // 8x8 cells per tile
+    private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+    private final int rows;
+    private final int columns;
+    private final long tileColumns;
+    private final TileMap tiles;
+    private Boat[] slots; // Boats by slot (boat id = slot + 1)
+    private int slotCount;
+    private final List<Boat> boatList;
+    private int remainingBoats;
+    private int remainingShipCells;
+    private final List<IFleetSunkListener> fleetSunkListeners = new ArrayList<>();
+    private int generation; // Tiles of an older generation are shared with a snapshot
+    private long version;
+    private IBoardSnapshot lastSnapshot;
+    private final BoardChangeSupport changes = new BoardChangeSupport();
+    private final BoardHashes hashes = new BoardHashes();
+    private final UndoJournal journal = new UndoJournal(); // Old cells are saved as occupied | shot << 1 | hit << 2
+    private final PlacementRule placementRule;
+
+    /**Constructor of the sparse board, ships may touch
+     *
+     * @param rows is the number of rows of the board
+     * @param columns is the number of columns of the board
+     */
+    public SparseBoard(int rows, int columns) {
+        this(rows, columns, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Constructor of the sparse board with a placement rule
+     *
+     * @param rows is the number of rows of the board
+     * @param columns is the number of columns of the board
+     * @param placementRule tells if the ships may touch each other
+     */
+    public SparseBoard(int rows, int columns, PlacementRule placementRule) {
+        this.rows = rows;
+        this.columns = columns;
+        this.placementRule = placementRule;
+        this.tileColumns = ((long) columns + TILE_MASK) >>> TILE_SHIFT;
+        this.tiles = new TileMap();
+        this.slots = new Boat[16];
+        this.boatList = new ArrayList<>();
+        initialize();
+    }
+
+    @Override
+    public void initialize() {
+        version++;
+        tiles.clear();
+        Arrays.fill(slots, null);
+        slotCount = 0;
+        boatList.clear();
+        remainingBoats = 0;
+        remainingShipCells = 0;
+        journal.clear();
+        hashes.reset();
+        changes.fireReset(this);
+    }
+
+    @Override
+    public void markAttack(int row, int column, boolean hit) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns) {
+            Tile tile = getOrCreateTile(row, column);
+            long bit = bit(row, column);
+            int oldState = tile.getCellState(bit);
+            journal.push(UndoJournal.MARK, row, column, tile.getCellBits(bit));
+            version++;
+            tile.shot |= bit;
+            if (hit) {
+                tile.hit |= bit;
+            } else {
+                tile.hit &= ~bit;
+            }
+            int shipId = tile.slotAt == null ? 0 : tile.slotAt[cellInTile(row, column)];
+            cellChanged(row, column, oldState, tile.getCellState(bit), shipId);
+        }
+    }
+
+    /**Places a boat following the same rules as Board.placeShip
+     * A cell blocks the placement only while it holds a boat that was not shot
+     */
+    @Override
+    public boolean placeShip(Boat boat, int row, int column, boolean horizontal) {
+        if (!canPlaceShip(boat, row, column, horizontal)) {
+            return false;
+        }
+        int length = boat.getLength();
+
+        version++;
+        int slot = nextSlot();
+        slots[slot] = boat;
+        for (int i = 0; i < length; i++) {
+            int r = horizontal ? row : row + i;
+            int c = horizontal ? column + i : column;
+            Tile tile = getOrCreateTile(r, c);
+            long bit = bit(r, c);
+            int oldState = tile.getCellState(bit);
+            journal.push(UndoJournal.CELL, r, c, tile.getCellBits(bit) | (slotAt(tile, r, c) << 3));
+            tile.occupied |= bit;
+            tile.shot &= ~bit;
+            tile.hit &= ~bit;
+            if (tile.slotAt == null) {
+                tile.slotAt = new int[1 << (TILE_SHIFT * 2)];
+            }
+            tile.slotAt[cellInTile(r, c)] = slot + 1;
+            cellChanged(r, c, oldState, 1, slot + 1);
+        }
+        journal.push(UndoJournal.PLACE, slot + 1, length, 0);
+
+        boat.setPositions(row, column, horizontal);
+        boat.setShipId(slot + 1);
+        boatList.add(boat);
+        if (!boat.isSunk()) {
+            remainingBoats++;
+            remainingShipCells += boat.getLife();
+        }
+        return true;
+    }
+
+    /**Checks a placement without placing the boat
+     * Under the no-touch rule the box around the boat is checked too. A sparse board has no
+     * PlacementTable (the per-cell tables of a huge map would not fit), so the box is read from
+     * the tiles, a few cells per row
+     */
+    @Override
+    public boolean canPlaceShip(Boat boat, int row, int column, boolean horizontal) {
+        int length = boat.getLength();
+        if (row < 0 || column < 0 || row >= rows || column >= columns) {
+            return false;
+        }
+        if (horizontal && column + length > columns) {
+            return false;
+        }
+        if (!horizontal && row + length > rows) {
+            return false;
+        }
+        int lastRow = horizontal ? row : row + length - 1;
+        int lastColumn = horizontal ? column + length - 1 : column;
+        if (placementRule == PlacementRule.NO_TOUCH) {
+            //Every cell of a placed boat blocks its box, hit or not, like the halos of Board and BitBoard
+            for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, lastRow + 1); r++) {
+                for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, lastColumn + 1); c++) {
+                    Tile tile = getTile(r, c);
+                    if (tile != null && (tile.occupied & bit(r, c)) != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        //Overlapping verify, cells of tiles that were never written are empty
+        for (int r = row; r <= lastRow; r++) {
+            for (int c = column; c <= lastColumn; c++) {
+                Tile tile = getTile(r, c);
+                if (tile != null && (tile.occupied & ~tile.shot & bit(r, c)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public PlacementRule getPlacementRule() {
+        return placementRule;
+    }
+
+    @Override
+    public boolean removeShip(Boat boat) {
+        if (!boatList.contains(boat)) {
+            return false;
+        }
+        version++;
+        journal.clear(); // The moves made before the removal can not be undone anymore
+        if (boat.isSunk()) {
+            toggleSunk(boat);
+        }
+        for (int[] pos : boat.getPositions()) {
+            int row = pos[0];
+            int col = pos[1];
+            Tile tile = (row >= 0 && row < rows && col >= 0 && col < columns) ? getWritableTile(row, col) : null;
+            if (tile != null) {
+                long bit = bit(row, col);
+                int oldState = tile.getCellState(bit);
+                int shipId = 0;
+                tile.occupied &= ~bit;
+                tile.shot &= ~bit;
+                tile.hit &= ~bit;
+                if (tile.slotAt != null) {
+                    shipId = tile.slotAt[cellInTile(row, col)];
+                    tile.slotAt[cellInTile(row, col)] = 0;
+                }
+                cellChanged(row, col, oldState, 0, shipId);
+            }
+        }
+        int shipId = boat.getShipId();
+        if (shipId > 0 && shipId <= slotCount && slots[shipId - 1] == boat) {
+            slots[shipId - 1] = null;
+        }
+        boatList.remove(boat);
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        return true;
+    }
+
+    @Override
+    public int shootEnemyBoat(int row, int column) {
+        checkCell(row, column);
+        long bit = bit(row, column);
+        Tile current = getTile(row, column);
+        if (current != null && (current.shot & bit) != 0) {
+            return ShotResult.of(ShotResult.ALREADY_SHOT, 0);
+        }
+        Tile tile = getOrCreateTile(row, column);
+        journal.push(UndoJournal.SHOT, row, column, tile.getCellBits(bit));
+        version++;
+        tile.shot |= bit;
+        if ((tile.occupied & bit) != 0) {
+            tile.hit |= bit;
+            int shipId = tile.slotAt[cellInTile(row, column)];
+            Boat hitBoat = slots[shipId - 1];
+            hitBoat.impacted();
+            remainingShipCells--;
+            cellChanged(row, column, 1, 3, shipId);
+            if (hitBoat.isSunk()) {
+                toggleSunk(hitBoat);
+                onBoatSunk();
+                return ShotResult.of(ShotResult.SUNK, shipId);
+            }
+            return ShotResult.of(ShotResult.HIT, shipId);
+        }
+        cellChanged(row, column, 0, 2, 0);
+        return ShotResult.of(ShotResult.MISS, 0);
+    }
+
+    @Override
+    public boolean validShoot(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return false;
+        }
+        Tile tile = getTile(row, column);
+        return tile == null || (tile.shot & bit(row, column)) == 0;
+    }
+
+    @Override
+    public long mark() {
+        return journal.mark();
+    }
+
+    @Override
+    public void undoTo(long mark) {
+        int records = journal.recordsAt(mark);
+        while (journal.records() > records) {
+            undo();
+        }
+    }
+
+    /**Undoes the last shot, attack mark or placement by writing back the saved bits
+     * Tiles created by the undone moves are kept, they only hold empty cells
+     */
+    @Override
+    public boolean undo() {
+        if (journal.isEmpty()) {
+            return false;
+        }
+        int type = journal.topType();
+        int row = journal.topRow();
+        int column = journal.topColumn();
+        int value = journal.topValue();
+        journal.pop();
+        switch (type) {
+            case UndoJournal.SHOT:
+                if ((value & 1) != 0) {
+                    Boat hitBoat = slots[slotAt(getTile(row, column), row, column) - 1];
+                    if (hitBoat.isSunk()) {
+                        toggleSunk(hitBoat);
+                        remainingBoats++;
+                    }
+                    hitBoat.undoImpact();
+                    remainingShipCells++;
+                }
+                restoreCell(row, column, value, slotAt(getTile(row, column), row, column));
+                break;
+            case UndoJournal.MARK:
+                restoreCell(row, column, value, slotAt(getTile(row, column), row, column));
+                break;
+            case UndoJournal.PLACE:
+                undoPlacement(row, column);
+                break;
+            default:
+                throw new IllegalStateException("Unknown undo record " + type);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean allBoatsSunk() {
+        return remainingBoats == 0;
+    }
+
+    @Override
+    public int getRemainingBoats() {
+        return remainingBoats;
+    }
+
+    @Override
+    public int getRemainingShipCells() {
+        return remainingShipCells;
+    }
+
+    @Override
+    public void addFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.add(listener);
+    }
+
+    @Override
+    public void removeFleetSunkListener(IFleetSunkListener listener) {
+        fleetSunkListeners.remove(listener);
+    }
+
+    @Override
+    public void addBoardChangeListener(IBoardChangeListener listener) {
+        changes.add(listener);
+    }
+
+    @Override
+    public void removeBoardChangeListener(IBoardChangeListener listener) {
+        changes.remove(listener);
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public Boat getBoatAt(int row, int column) {
+        Tile tile = getTile(row, column);
+        if (tile == null || tile.slotAt == null) {
+            return null;
+        }
+        int slot = tile.slotAt[cellInTile(row, column)];
+        return slot == 0 ? null : slots[slot - 1];
+    }
+
+    @Override
+    public Boat getBoatById(int shipId) {
+        return shipId > 0 && shipId <= slotCount ? slots[shipId - 1] : null;
+    }
+
+    @Override
+    public int getCellState(int row, int column) {
+        Tile tile = getTile(row, column);
+        return tile == null ? 0 : tile.getCellState(bit(row, column));
+    }
+
+    @Override
+    public long getKnowledgeHash() {
+        return hashes.getKnowledgeHash();
+    }
+
+    @Override
+    public long getFullHash() {
+        return hashes.getFullHash();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**Read-only snapshot of the board
+     * Only the tile index is copied, the tiles are shared and the board copies a
+     * tile the first time it writes it after the snapshot (copy-on-write per tile)
+     */
+    @Override
+    public IBoardSnapshot snapshot() {
+        if (lastSnapshot == null || lastSnapshot.getVersion() != version) {
+            lastSnapshot = new TileSnapshot(tiles.copy(), this, version);
+            generation++;
+        }
+        return lastSnapshot;
+    }
+
+    /**Materializes the whole board with the same encoding as Board
+     * This allocates rows * columns ints, so it should not be used on huge maps
+     */
+    @Override
+    public int[][] getBoardState() {
+        int[][] state = new int[rows][columns];
+        for (int t = 0; t < tiles.keys.length; t++) {
+            Tile tile = tiles.values[t];
+            if (tile == null) {
+                continue;
+            }
+            long key = tiles.keys[t] - 1;
+            int baseRow = (int) (key / tileColumns) << TILE_SHIFT;
+            int baseColumn = (int) (key % tileColumns) << TILE_SHIFT;
+            for (int cell = 0; cell < (1 << (TILE_SHIFT * 2)); cell++) {
+                int r = baseRow + (cell >>> TILE_SHIFT);
+                int c = baseColumn + (cell & TILE_MASK);
+                if (r < rows && c < columns) {
+                    state[r][c] = tile.getCellState(1L << cell);
+                }
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public List<Boat> getBoatList() {
+        return boatList;
+    }
+
+    /**Number of tiles currently allocated, useful to check the memory footprint
+     */
+    public int getAllocatedTiles() {
+        return tiles.size;
+    }
+
+    private long tileKey(int row, int column) {
+        return (row >>> TILE_SHIFT) * tileColumns + (column >>> TILE_SHIFT);
+    }
+
+    private static int cellInTile(int row, int column) {
+        return ((row & TILE_MASK) << TILE_SHIFT) | (column & TILE_MASK);
+    }
+
+    private static long bit(int row, int column) {
+        return 1L << cellInTile(row, column);
+    }
+
+    /**Fails like Board, whose arrays throw for a cell outside of the board, instead of
+     * wrapping the cell index into another row
+     */
+    private void checkCell(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new ArrayIndexOutOfBoundsException(
+                    String.format("Cell (%d,%d) is outside of the %dx%d board", row, column, rows, columns));
+        }
+    }
+
+    private Tile getTile(int row, int column) {
+        return tiles.get(tileKey(row, column));
+    }
+
+    /**Gets the tile of a cell ready to be written, creating it or copying it
+     * when it still belongs to a snapshot
+     */
+    private Tile getOrCreateTile(int row, int column) {
+        long key = tileKey(row, column);
+        Tile tile = tiles.get(key);
+        if (tile == null) {
+            tile = new Tile(generation);
+            tiles.put(key, tile);
+        } else if (tile.generation != generation) {
+            tile = tile.copy(generation);
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**Same as getOrCreateTile but without allocating tiles that do not exist
+     */
+    private Tile getWritableTile(int row, int column) {
+        Tile tile = getTile(row, column);
+        return tile == null ? null : getOrCreateTile(row, column);
+    }
+
+    /**Removes the last placed boat and restores the cells it covered
+     */
+    private void undoPlacement(int shipId, int length) {
+        Boat boat = slots[shipId - 1];
+        slots[shipId - 1] = null;
+        slotCount--;
+        boatList.remove(boatList.size() - 1);
+        if (!boat.isSunk()) {
+            remainingBoats--;
+            remainingShipCells -= boat.getLife();
+        }
+        for (int i = 0; i < length; i++) {
+            int row = journal.topRow();
+            int column = journal.topColumn();
+            int value = journal.topValue();
+            journal.pop();
+            restoreCell(row, column, value & 7, value >>> 3);
+        }
+        boat.setShipId(0);
+        boat.clearPositions();
+    }
+
+    private static int slotAt(Tile tile, int row, int column) {
+        return tile == null || tile.slotAt == null ? 0 : tile.slotAt[cellInTile(row, column)];
+    }
+
+    /**Writes back the saved bits and boat slot of a cell
+     */
+    private void restoreCell(int row, int column, int bits, int slot) {
+        Tile tile = getOrCreateTile(row, column);
+        long bit = bit(row, column);
+        int oldState = tile.getCellState(bit);
+        version++;
+        tile.occupied = (bits & 1) != 0 ? tile.occupied | bit : tile.occupied & ~bit;
+        tile.shot = (bits & 2) != 0 ? tile.shot | bit : tile.shot & ~bit;
+        tile.hit = (bits & 4) != 0 ? tile.hit | bit : tile.hit & ~bit;
+        if (tile.slotAt != null) {
+            tile.slotAt[cellInTile(row, column)] = slot;
+        } else if (slot != 0) {
+            tile.slotAt = new int[1 << (TILE_SHIFT * 2)];
+            tile.slotAt[cellInTile(row, column)] = slot;
+        }
+        cellChanged(row, column, oldState, tile.getCellState(bit), slot);
+    }
+
+    /**Gets a free slot for a new boat, growing the slot array when needed
+     */
+    private int nextSlot() {
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        return slotCount++;
+    }
+
+    /**Updates the hashes and publishes the change of a cell
+     */
+    private void cellChanged(int row, int column, int oldState, int newState, int shipId) {
+        hashes.cellChanged((long) row * columns + column, oldState, newState);
+        changes.fireCellChanged(this, row, column, oldState, newState, shipId);
+    }
+
+    /**Adds or removes the "sunk" feature of every cell of a boat in the knowledge hash
+     */
+    private void toggleSunk(Boat boat) {
+        for (int[] pos : boat.getPositions()) {
+            hashes.toggleSunk((long) pos[0] * columns + pos[1]);
+        }
+    }
+
+    /**Updates the boat counter after a sinking and signals when it was the last boat
+     */
+    private void onBoatSunk() {
+        remainingBoats--;
+        if (remainingBoats == 0) {
+            for (IFleetSunkListener listener : fleetSunkListeners) {
+                listener.onFleetSunk(this);
+            }
+        }
+    }
+
+    /**8x8 block of cells, one bit per cell
+     */
+    private static final class Tile {
+        final int generation;
+        long occupied;
+        long shot;
+        long hit;
+        int[] slotAt; // slot + 1 of the boat on each cell, only allocated for tiles with boats
+
+        Tile(int generation) {
+            this.generation = generation;
+        }
+
+        Tile copy(int generation) {
+            Tile tile = new Tile(generation);
+            tile.occupied = occupied;
+            tile.shot = shot;
+            tile.hit = hit;
+            tile.slotAt = slotAt == null ? null : slotAt.clone();
+            return tile;
+        }
+
+        int getCellState(long bit) {
+            if ((shot & bit) != 0) {
+                return (hit & bit) != 0 ? 3 : 2;
+            }
+            return (occupied & bit) != 0 ? 1 : 0;
+        }
+
+        int getCellBits(long bit) {
+            return ((occupied & bit) != 0 ? 1 : 0)
+                    | ((shot & bit) != 0 ? 2 : 0)
+                    | ((hit & bit) != 0 ? 4 : 0);
+        }
+    }
+
+    /**Open addressing hash map from tile key to tile, without boxing the keys
+     * Keys are stored as key + 1 so 0 marks an empty bucket
+     */
+    private static final class TileMap {
+        private long[] keys;
+        private Tile[] values;
+        private int size;
+
+        TileMap() {
+            clear();
+        }
+
+        TileMap copy() {
+            TileMap map = new TileMap();
+            map.keys = keys.clone();
+            map.values = values.clone();
+            map.size = size;
+            return map;
+        }
+
+        void clear() {
+            keys = new long[64];
+            values = new Tile[64];
+            size = 0;
+        }
+
+        Tile get(long key) {
+            long stored = key + 1;
+            int mask = keys.length - 1;
+            for (int i = hash(stored) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == stored) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long key, Tile tile) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            long stored = key + 1;
+            int mask = keys.length - 1;
+            int i = hash(stored) & mask;
+            while (keys[i] != 0 && keys[i] != stored) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                size++;
+            }
+            keys[i] = stored;
+            values[i] = tile;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Tile[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Tile[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i] - 1, oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**Snapshot over the tile index of one version of the board
+     */
+    private static final class TileSnapshot implements IBoardSnapshot {
+        private final TileMap tiles;
+        private final long tileColumns;
+        private final int rows;
+        private final int columns;
+        private final long version;
+
+        TileSnapshot(TileMap tiles, SparseBoard board, long version) {
+            this.tiles = tiles;
+            this.tileColumns = board.tileColumns;
+            this.rows = board.rows;
+            this.columns = board.columns;
+            this.version = version;
+        }
+
+        @Override
+        public int getRows() {
+            return rows;
+        }
+
+        @Override
+        public int getColumns() {
+            return columns;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public int getCellState(int row, int column) {
+            Tile tile = tiles.get((row >>> TILE_SHIFT) * tileColumns + (column >>> TILE_SHIFT));
+            return tile == null ? 0 : tile.getCellState(bit(row, column));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package Model.Board;
+
+import java.util.Arrays;
+
+/**
+ * Undo records of a board, stored as fixed-size int records in one growing array
+ * Each record is (type, row, column, value), the meaning of value depends on the
+ * board implementation (old cell state, old ship id...). A placement pushes one
+ * CELL record per cell followed by one PLACE record, every other operation pushes
+ * a single record, so undoing an operation always starts from the top record
+ * Marks carry the number of times the journal was cleared, so a mark taken
+ * before initialize() or removeShip() is rejected instead of undoing the wrong moves
+ */
+final class UndoJournal {
+    static final int SHOT = 1; // value = old cell
+    static final int MARK = 2; // value = old cell
+    static final int CELL = 3; // value = old cell, one per cell of a placement
+    static final int PLACE = 4; // row = ship id, column = boat length
+    private static final int RECORD_SIZE = 4;
+
+    private int[] records = new int[RECORD_SIZE * 64];
+    private int size; // Number of ints in use
+    private int epoch; // Incremented every time the journal is cleared
+
+    void push(int type, int row, int column, int value) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+        records[size] = type;
+        records[size + 1] = row;
+        records[size + 2] = column;
+        records[size + 3] = value;
+        size += RECORD_SIZE;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int topType() {
+        return records[size - RECORD_SIZE];
+    }
+
+    int topRow() {
+        return records[size - RECORD_SIZE + 1];
+    }
+
+    int topColumn() {
+        return records[size - RECORD_SIZE + 2];
+    }
+
+    int topValue() {
+        return records[size - RECORD_SIZE + 3];
+    }
+
+    void pop() {
+        size -= RECORD_SIZE;
+    }
+
+    void clear() {
+        size = 0;
+        epoch++;
+    }
+
+    long mark() {
+        return ((long) epoch << 32) | (size / RECORD_SIZE);
+    }
+
+    /**Number of records to keep to go back to a mark
+     * @throws IllegalStateException if the journal was cleared after the mark was taken
+     */
+    int recordsAt(long mark) {
+        int records = (int) mark;
+        if ((int) (mark >>> 32) != epoch || records < 0 || records * RECORD_SIZE > size) {
+            throw new IllegalStateException("The board was reset after this mark was taken");
+        }
+        return records;
+    }
+
+    int records() {
+        return size / RECORD_SIZE;
+    }
+}
@@ -0,0 +1,399 @@
+package Model.Board;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Uniform sampling and exact counting of the layouts of a fleet on a board
+ * A layout gives every ship a placement inside the board, off the blocked cells, without overlaps.
+ * Sampling draws an independent uniform placement for each ship, longest first, and starts the
+ * whole layout over at the first overlap: every layout has the same chance of being completed,
+ * so the accepted ones are exactly uniform. Ship-by-ship placement with retries is not: the small
+ * ships end up in the gaps left by the big ones. An attempt costs one AND per word touched per
+ * ship, the classic fleet on a 10x10 board is accepted about once every 110 attempts.
+ * Under the no-touch rule a placed ship blocks its halo instead of its cells.
+ * A fleet that fills most of its board is almost never accepted, so sample measures how far its
+ * first attempts get and gives up early when no layout is expected within its attempts.
+ * Counting runs a dynamic program over the cells in row-major order. Its state is what is still
+ * to cover of the ships crossing the scan line (per column, and in the current row) and the ships
+ * left of each length. Ships of the same length are interchangeable, so a count is a number of
+ * distinct boards. The states grow quickly with the board width and the fleet, the count gives up
+ * after a budget of states; estimateLayouts gives the order of magnitude beyond it. The state
+ * does not know the cells next to the scan line, so no-touch layouts are only estimated.
+ * Immutable, one sampler can be shared by several threads
+ */
+public final class UniformLayoutSampler {
+    public static final long DEFAULT_MAX_ATTEMPTS = 1_000_000;
+    public static final int DEFAULT_MAX_STATES = 1_000_000;
+    public static final int PILOT_ATTEMPTS = 4_096; // Attempts measured before sample may give up
+
+    private final int rows;
+    private final int columns;
+    private final int[] lengths;
+    private final boolean noTouch;
+    private final PlacementTable[] tables; // Placements of each ship
+    private final int[] order; // Ship indices, longest first
+    private final int words;
+
+    /**Constructor for ships that may touch
+     *
+     * @param rows    Number of rows of the board
+     * @param columns Number of columns of the board
+     * @param lengths Length of each ship, the layouts are given in this order
+     */
+    public UniformLayoutSampler(int rows, int columns, int[] lengths) {
+        this(rows, columns, lengths, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Constructor
+     *
+     * @param rows          Number of rows of the board
+     * @param columns       Number of columns of the board
+     * @param lengths       Length of each ship, the layouts are given in this order
+     * @param placementRule Rule the layouts follow
+     */
+    public UniformLayoutSampler(int rows, int columns, int[] lengths, PlacementRule placementRule) {
+        this(tablesOf(rows, columns, lengths), placementRule);
+    }
+
+    /**Constructor over placement tables the caller already has
+     * A table of a board above PlacementTable.MAX_SHARED_CELLS is built on every PlacementTable.of
+     * call, a caller sampling such a board on every turn keeps its tables and passes them here
+     *
+     * @param tables        Table of each ship, all of the same board size; ships of one length may share one
+     * @param placementRule Rule the layouts follow
+     */
+    public UniformLayoutSampler(PlacementTable[] tables, PlacementRule placementRule) {
+        if (tables.length == 0) {
+            throw new IllegalArgumentException("A layout needs at least one ship");
+        }
+        this.rows = tables[0].getRows();
+        this.columns = tables[0].getColumns();
+        this.lengths = new int[tables.length];
+        for (int ship = 0; ship < tables.length; ship++) {
+            if (tables[ship].getRows() != rows || tables[ship].getColumns() != columns) {
+                throw new IllegalArgumentException("The placement tables are not of the same board size");
+            }
+            lengths[ship] = tables[ship].getLength();
+        }
+        this.noTouch = placementRule == PlacementRule.NO_TOUCH;
+        this.tables = tables.clone();
+        this.order = new int[lengths.length];
+        Integer[] sorted = new Integer[lengths.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> lengths[b] - lengths[a]);
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i];
+        }
+        this.words = (rows * columns + 63) >>> 6;
+    }
+
+    /**One table per ship, built once per distinct length
+     */
+    private static PlacementTable[] tablesOf(int rows, int columns, int[] lengths) {
+        PlacementTable[] tables = new PlacementTable[lengths.length];
+        Map<Integer, PlacementTable> byLength = new HashMap<>();
+        for (int ship = 0; ship < lengths.length; ship++) {
+            tables[ship] = byLength.computeIfAbsent(lengths[ship], length -> PlacementTable.of(rows, columns, length));
+        }
+        return tables;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getShips() {
+        return lengths.length;
+    }
+
+    /**Placements of a ship, the sampled placements are numbers of this table
+     */
+    public PlacementTable getTable(int ship) {
+        return tables[ship];
+    }
+
+    /**Makes one attempt at a layout
+     *
+     * @param blocked    Cells no ship may cover (bit row * columns + column), null for none
+     * @param random     Generator of the placements
+     * @param occupied   Scratch bitset of the board size, overwritten
+     * @param placements Filled with the placement of each ship when the attempt succeeds
+     * @return true if the ships fit, the accepted layouts are uniform
+     */
+    public boolean tryLayout(long[] blocked, RandomGenerator random, long[] occupied, int[] placements) {
+        return place(blocked, random, occupied, placements) == lengths.length;
+    }
+
+    /**Makes one attempt at a layout
+     *
+     * @return the number of ships placed before the first overlap, every ship if it succeeded
+     */
+    private int place(long[] blocked, RandomGenerator random, long[] occupied, int[] placements) {
+        if (blocked == null) {
+            Arrays.fill(occupied, 0, words, 0L);
+        } else {
+            System.arraycopy(blocked, 0, occupied, 0, words);
+        }
+        for (int placed = 0; placed < order.length; placed++) {
+            int ship = order[placed];
+            PlacementTable table = tables[ship];
+            if (table.getCount() == 0) {
+                return placed;
+            }
+            int placement = random.nextInt(table.getCount());
+            if (!table.fits(occupied, placement)) {
+                return placed;
+            }
+            if (noTouch) {
+                table.addHalo(occupied, placement);
+            } else {
+                table.toggle(occupied, placement);
+            }
+            placements[ship] = placement;
+        }
+        return order.length;
+    }
+
+    /**Draws a uniform layout
+     * After PILOT_ATTEMPTS failed attempts it gives up if the pass rates of the ships predict
+     * no accepted layout in the attempts left, see expectedLayouts
+     *
+     * @param blocked     Cells no ship may cover, null for none
+     * @param random      Generator of the placements
+     * @param maxAttempts Attempts before giving up
+     * @return the placement of each ship, or null if no attempt succeeded
+     */
+    public int[] sample(long[] blocked, RandomGenerator random, long maxAttempts) {
+        long[] occupied = new long[words];
+        int[] placements = new int[lengths.length];
+        long[] stopped = new long[lengths.length]; // [k] failed attempts that placed k ships
+        for (long attempt = 0; attempt < maxAttempts; attempt++) {
+            int placed = place(blocked, random, occupied, placements);
+            if (placed == lengths.length) {
+                return placements;
+            }
+            stopped[placed]++;
+            if (attempt + 1 == PILOT_ATTEMPTS && expectedLayouts(stopped, attempt + 1, maxAttempts - attempt - 1) < 1) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**Estimates how many layouts sampling would accept in a time, without keeping any layout
+     * A pilot measures the acceptance rate ship by ship, like the early stop of sample, and the
+     * cost of an attempt. A fleet that is almost never accepted gets a small estimate rather than 0
+     *
+     * @param blocked     Cells no ship may cover, null for none
+     * @param random      Generator of the placements
+     * @param maxAttempts Attempts of the pilot
+     * @param pilotNanos  Time after which the pilot stops, even before maxAttempts
+     * @param nanos       Time the estimate is for
+     * @return the expected number of accepted layouts in that time
+     */
+    public double estimateLayoutsIn(long[] blocked, RandomGenerator random, long maxAttempts, long pilotNanos, long nanos) {
+        long[] occupied = new long[words];
+        int[] placements = new int[lengths.length];
+        long[] stopped = new long[lengths.length];
+        long start = System.nanoTime();
+        long elapsed = 0;
+        long attempts = 0;
+        while (attempts < maxAttempts && elapsed < pilotNanos) {
+            int placed = place(blocked, random, occupied, placements);
+            if (placed < lengths.length) {
+                stopped[placed]++;
+            }
+            attempts++;
+            elapsed = System.nanoTime() - start;
+        }
+        return expectedLayouts(stopped, attempts, (long) (attempts * ((double) nanos / Math.max(1, elapsed))));
+    }
+
+    /**Expected number of accepted layouts in the attempts left
+     * The acceptance rate is the product, ship by ship in placement order, of the fraction of
+     * the attempts reaching a ship that placed it. Each fraction is smoothed as
+     * (passed + 1) / (reached + 2), so a ship no attempt reached counts as one half
+     *
+     * @param stopped   [k] failed attempts that placed k ships
+     * @param attempts  Attempts made, the accepted ones pass every ship
+     * @param remaining Attempts left
+     */
+    private static double expectedLayouts(long[] stopped, long attempts, long remaining) {
+        double rate = 1;
+        long reached = attempts;
+        for (long stoppedHere : stopped) {
+            long passed = reached - stoppedHere;
+            rate *= (passed + 1.0) / (reached + 2.0);
+            reached = passed;
+        }
+        return rate * remaining;
+    }
+
+    /**Draws a uniform layout on an empty board with the default number of attempts
+     */
+    public int[] sample(RandomGenerator random) {
+        return sample(null, random, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**Counts the layouts on an empty board with the default budget of states
+     */
+    public long countLayouts() {
+        return countLayouts(null, DEFAULT_MAX_STATES);
+    }
+
+    /**Counts the distinct boards the fleet can make
+     *
+     * @param blocked   Cells no ship may cover, null for none
+     * @param maxStates States kept for one cell before giving up
+     * @return the exact count, or -1 if it needs more states, does not fit in a long or the ships may not touch
+     */
+    public long countLayouts(long[] blocked, int maxStates) {
+        if (noTouch) {
+            return -1;
+        }
+        // Lengths and counts of the ships, and the fields of a state:
+        // [remaining cells of the vertical ship of each column][remaining cells of the horizontal ship][ships left per length]
+        int[] distinct = Arrays.stream(lengths).distinct().sorted().toArray();
+        int[] shipsOfLength = new int[distinct.length];
+        for (int length : lengths) {
+            shipsOfLength[Arrays.binarySearch(distinct, length)]++;
+        }
+        int maxLength = distinct[distinct.length - 1];
+        int cellBits = Math.max(1, bitsFor(maxLength - 1));
+        int countShift = (columns + 1) * cellBits;
+        int[] countOffset = new int[distinct.length];
+        int bits = countShift;
+        for (int i = 0; i < distinct.length; i++) {
+            countOffset[i] = bits;
+            bits += Math.max(1, bitsFor(shipsOfLength[i]));
+        }
+        if (bits > 63) {
+            return -1;
+        }
+        long cellMask = (1L << cellBits) - 1;
+        int horizontalShift = columns * cellBits;
+
+        long start = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            start |= (long) shipsOfLength[i] << countOffset[i];
+        }
+        Map<Long, Long> current = new HashMap<>();
+        current.put(start, 1L);
+        try {
+            for (int cell = 0; cell < rows * columns; cell++) {
+                int row = cell / columns;
+                int column = cell % columns;
+                boolean isBlocked = blocked != null && (blocked[cell >>> 6] & (1L << cell)) != 0;
+                int cellsLeft = rows * columns - cell - 1;
+                Map<Long, Long> next = new HashMap<>();
+                for (Map.Entry<Long, Long> entry : current.entrySet()) {
+                    long state = entry.getKey();
+                    long ways = entry.getValue();
+                    int vertical = (int) ((state >>> (column * cellBits)) & cellMask);
+                    int horizontal = (int) ((state >>> horizontalShift) & cellMask);
+                    if (vertical > 0 || horizontal > 0) {
+                        // The cell continues a ship, covering it twice or covering a blocked cell is not a layout
+                        if (vertical > 0 && horizontal > 0 || isBlocked) {
+                            continue;
+                        }
+                        long shift = vertical > 0 ? column * cellBits : horizontalShift;
+                        add(next, state - (1L << shift), ways);
+                        continue;
+                    }
+                    add(next, state, ways); // Water
+                    if (isBlocked) {
+                        continue;
+                    }
+                    for (int i = 0; i < distinct.length; i++) {
+                        if (((state >>> countOffset[i]) & ((1L << bitsFor(shipsOfLength[i])) - 1)) == 0) {
+                            continue;
+                        }
+                        int length = distinct[i];
+                        long started = state - (1L << countOffset[i]);
+                        if (length == 1) {
+                            add(next, started, ways);
+                            continue;
+                        }
+                        if (column + length <= columns) {
+                            add(next, started | ((long) (length - 1) << horizontalShift), ways);
+                        }
+                        if (row + length <= rows) {
+                            add(next, started | ((long) (length - 1) << (column * cellBits)), ways);
+                        }
+                    }
+                }
+                // States that need more cells than the board has left can't complete a layout
+                next.keySet().removeIf(state -> cellsNeeded(state, distinct, countOffset, cellBits, shipsOfLength) > cellsLeft);
+                if (next.size() > maxStates) {
+                    return -1;
+                }
+                current = next;
+            }
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+        return current.getOrDefault(0L, 0L);
+    }
+
+    /**Estimates the number of distinct boards from the acceptance rate of the sampling
+     * The attempts are independent placements of every ship, so the layouts are the accepted
+     * fraction of all the combinations of placements, divided by the orders of equal ships
+     *
+     * @param attempts Attempts to make, the relative error is about 1 / sqrt(accepted attempts)
+     * @param random   Generator of the placements
+     * @return the estimate, 0 if no attempt was accepted
+     */
+    public double estimateLayouts(long attempts, RandomGenerator random) {
+        long[] occupied = new long[words];
+        int[] placements = new int[lengths.length];
+        long accepted = 0;
+        for (long attempt = 0; attempt < attempts; attempt++) {
+            if (tryLayout(null, random, occupied, placements)) {
+                accepted++;
+            }
+        }
+        double combinations = 1;
+        Map<Integer, Integer> sameLength = new HashMap<>();
+        for (int ship = 0; ship < lengths.length; ship++) {
+            // A length-1 ship has each cell twice in its table, once per orientation
+            combinations *= lengths[ship] == 1 ? tables[ship].getCount() / 2.0 : tables[ship].getCount();
+            int equal = sameLength.merge(lengths[ship], 1, Integer::sum);
+            combinations /= equal;
+        }
+        return combinations * accepted / attempts;
+    }
+
+    private int cellsNeeded(long state, int[] distinct, int[] countOffset, int cellBits, int[] shipsOfLength) {
+        long cellMask = (1L << cellBits) - 1;
+        int needed = 0;
+        for (int column = 0; column <= columns; column++) {
+            needed += (int) ((state >>> (column * cellBits)) & cellMask);
+        }
+        for (int i = 0; i < distinct.length; i++) {
+            needed += distinct[i] * (int) ((state >>> countOffset[i]) & ((1L << bitsFor(shipsOfLength[i])) - 1));
+        }
+        return needed;
+    }
+
+    private static void add(Map<Long, Long> states, long state, long ways) {
+        states.merge(state, ways, Math::addExact);
+    }
+
+    private static int bitsFor(int value) {
+        return 32 - Integer.numberOfLeadingZeros(value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UniformLayoutSampler[%dx%d, ships=%s]", rows, columns, Arrays.toString(lengths));
+    }
+}
@@ -11,6 +11,7 @@ public class Boat {
     private int length;
     private int life;
     private boolean isSunk;
+    private int shipId; // Id given by the board where the boat is placed (0 = not placed)
     private List<int[]> positions;
 //Creation of standard constructor for the creation of a Boat
     public Boat(String type, int length) {
@@ -62,6 +63,15 @@ public class Boat {
             }
         }
     }
+    /*Reverts one impact, used by the board when a shot is undone
+    * The boat is afloat again if that impact had sunk it
+    * */
+    public void undoImpact() {
+        if (life < length) {
+            life++;
+            isSunk = false;
+        }
+    }
     /**Method to get the color associated with the boat type
      * @return Color object representing the boat's color
     * */
@@ -88,6 +98,14 @@ public class Boat {
         isSunk = sunk;
     }
 
+    public int getShipId() {
+        return shipId;
+    }
+
+    public void setShipId(int shipId) {
+        this.shipId = shipId;
+    }
+
     public String getType() {
         return type;
     }
@@ -111,6 +129,10 @@ public class Boat {
     public void setLife(int life) {
         this.life = life;
     }
+    // Forgetting the positions, used when a placement is undone
+    public void clearPositions() {
+        positions.clear();
+    }
     // Obtaining all the positions of the boat
     public List<int[]> getPositions() {
         return new ArrayList<>(positions);
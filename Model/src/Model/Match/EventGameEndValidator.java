@@ -0,0 +1,72 @@
+package Model.Match;
+
+import Model.Board.IBoardOperations;
+import Model.Board.IFleetSunkListener;
+
+/**
+ * Game end validator driven by the "last boat sunk" signal of the boards
+ * Instead of asking the boards after every attack, it subscribes to both boards
+ * when the match starts and only reads two flags (and the remaining boat counters) in checkGameEnd
+ */
+public class EventGameEndValidator implements IGameEndValidator, IFleetSunkListener {
+    private IBoardOperations playerBoard;
+    private IBoardOperations machineBoard;
+    private volatile boolean playerFleetSunk;
+    private volatile boolean machineFleetSunk;
+
+    @Override
+    public void bind(IBoardOperations playerBoard, IBoardOperations machineBoard) {
+        //Stop listening to the boards of a previous match
+        if (this.playerBoard != null) {
+            this.playerBoard.removeFleetSunkListener(this);
+        }
+        if (this.machineBoard != null) {
+            this.machineBoard.removeFleetSunkListener(this);
+        }
+        this.playerBoard = playerBoard;
+        this.machineBoard = machineBoard;
+        this.playerFleetSunk = false;
+        this.machineFleetSunk = false;
+        playerBoard.addFleetSunkListener(this);
+        machineBoard.addFleetSunkListener(this);
+    }
+
+    /**Receives the signal of a board whose last boat was sunk
+     * @param board The board that lost its fleet
+     */
+    @Override
+    public void onFleetSunk(IBoardOperations board) {
+        if (board == playerBoard) {
+            playerFleetSunk = true;
+        } else if (board == machineBoard) {
+            machineFleetSunk = true;
+        }
+    }
+
+    @Override
+    public GameEndResult checkGameEnd(IBoardOperations playerBoard, IBoardOperations machineBoard) {
+        if (hasLost(playerBoard)) {
+            return GameEndResult.machineWon();
+        }
+        if (hasLost(machineBoard)) {
+            return GameEndResult.playerWon();
+        }
+        return GameEndResult.gameOngoing();
+    }
+
+    /**Uses the received signal for the bound boards
+     * The signal is confirmed with the counter of the board, an undoTo past the sinking shot
+     * revives the fleet without a new signal
+     * Boards that were never bound fall back to their own counter
+     */
+    @Override
+    public boolean hasLost(IBoardOperations board) {
+        if (board == playerBoard) {
+            return playerFleetSunk && board.getRemainingBoats() == 0;
+        }
+        if (board == machineBoard) {
+            return machineFleetSunk && board.getRemainingBoats() == 0;
+        }
+        return board.allBoatsSunk();
+    }
+}
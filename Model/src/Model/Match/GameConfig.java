@@ -0,0 +1,184 @@
+package Model.Match;
+
+import Attacks.WeaponRegistry;
+import Model.Board.BoardType;
+import Model.Board.PlacementRule;
+
+/**
+ * Configuration of a game: board size, fleet composition, board implementation, placement rule,
+ * weapons of the human player and optional seed
+ * With a seed, the fleet layouts and the choices of the machine are drawn from it, so every game
+ * played with the configuration is the same game
+ * It is created once and passed to the player creator, the fleet manager, the AI and the view,
+ * so none of them needs to assume the classic 10x10 board
+ */
+public class GameConfig {
+    public static final int STANDARD_SIZE = 10;
+
+    private final int rows;
+    private final int columns;
+    private final int aircrafters;
+    private final int cruises;
+    private final int destructors;
+    private final int submarines;
+    private final BoardType boardType;
+    private final PlacementRule placementRule;
+    private final WeaponRegistry weapons;
+    private final boolean seeded;
+    private final long seed;
+
+    /**Constructor with every setting of the game
+     *
+     * @param rows Number of rows of each board
+     * @param columns Number of columns of each board
+     * @param aircrafters Number of aircraft carriers (length 6) in each fleet
+     * @param cruises Number of cruises (length 4) in each fleet
+     * @param destructors Number of destructors (length 3) in each fleet
+     * @param submarines Number of submarines (length 2) in each fleet
+     * @param boardType Board implementation used for both players
+     * @throws IllegalArgumentException if the board is empty or a ship count is negative
+     */
+    public GameConfig(int rows, int columns, int aircrafters, int cruises,
+                      int destructors, int submarines, BoardType boardType) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid board size %dx%d", rows, columns)
+            );
+        }
+        if (aircrafters < 0 || cruises < 0 || destructors < 0 || submarines < 0) {
+            throw new IllegalArgumentException("Ship counts can't be negative");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.aircrafters = aircrafters;
+        this.cruises = cruises;
+        this.destructors = destructors;
+        this.submarines = submarines;
+        this.boardType = boardType;
+        this.placementRule = PlacementRule.TOUCH_ALLOWED;
+        this.weapons = WeaponRegistry.standard();
+        this.seeded = false;
+        this.seed = 0;
+    }
+
+    /**Copy of a configuration with another placement rule, weapons and seed
+     */
+    private GameConfig(GameConfig config, PlacementRule placementRule, WeaponRegistry weapons,
+                       boolean seeded, long seed) {
+        this.rows = config.rows;
+        this.columns = config.columns;
+        this.aircrafters = config.aircrafters;
+        this.cruises = config.cruises;
+        this.destructors = config.destructors;
+        this.submarines = config.submarines;
+        this.boardType = config.boardType;
+        this.placementRule = placementRule;
+        this.weapons = weapons;
+        this.seeded = seeded;
+        this.seed = seed;
+    }
+
+    /**Same configuration with a seed that determines every random choice of the game
+     *
+     * @param seed Seed of the game
+     * @return a new configuration, this one is not modified
+     */
+    public GameConfig withSeed(long seed) {
+        return new GameConfig(this, placementRule, weapons, true, seed);
+    }
+
+    /**Same configuration with another placement rule
+     * With NO_TOUCH the ships of both fleets can't be adjacent, not even diagonally
+     *
+     * @param placementRule Rule of the boards of the game
+     * @return a new configuration, this one is not modified
+     */
+    public GameConfig withPlacementRule(PlacementRule placementRule) {
+        return new GameConfig(this, placementRule, weapons, seeded, seed);
+    }
+
+    /**Same configuration with other power-up weapons for the human player
+     *
+     * @param weapons Weapons and their charges, for example WeaponRegistry.getDefault()
+     * @return a new configuration, this one is not modified
+     */
+    public GameConfig withWeapons(WeaponRegistry weapons) {
+        if (weapons == null) {
+            throw new IllegalArgumentException("The weapons can't be null");
+        }
+        return new GameConfig(this, placementRule, weapons, seeded, seed);
+    }
+
+    /**Factory method for the classic game
+     * 10x10 boards, 2 aircraft carriers, 2 cruises, 3 destructors and 3 submarines
+     */
+    public static GameConfig standard() {
+        return new GameConfig(STANDARD_SIZE, STANDARD_SIZE, 2, 2, 3, 3, BoardType.ARRAY);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getAircrafters() {
+        return aircrafters;
+    }
+
+    public int getCruises() {
+        return cruises;
+    }
+
+    public int getDestructors() {
+        return destructors;
+    }
+
+    public int getSubmarines() {
+        return submarines;
+    }
+
+    public BoardType getBoardType() {
+        return boardType;
+    }
+
+    public PlacementRule getPlacementRule() {
+        return placementRule;
+    }
+
+    public WeaponRegistry getWeapons() {
+        return weapons;
+    }
+
+    /**Checks if the configuration has a seed
+     * Without a seed every game draws its own random choices
+     */
+    public boolean hasSeed() {
+        return seeded;
+    }
+
+    /**Seed of the games
+     * @throws IllegalStateException if the configuration has no seed
+     */
+    public long getSeed() {
+        if (!seeded) {
+            throw new IllegalStateException("The configuration has no seed");
+        }
+        return seed;
+    }
+
+    /**Number of ships in each fleet
+     */
+    public int getTotalShips() {
+        return aircrafters + cruises + destructors + submarines;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameConfig[%dx%d, ships=%d, board=%s%s%s]",
+                rows, columns, getTotalShips(), boardType,
+                placementRule == PlacementRule.NO_TOUCH ? ", no touch" : "", seeded ? ", seed=" + seed : "");
+    }
+}
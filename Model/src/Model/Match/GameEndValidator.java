@@ -1,6 +1,6 @@
 package Model.Match;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 
 public class GameEndValidator implements IGameEndValidator {
     /**Method to check if the game has ended by verifying if either player has lost
@@ -9,7 +9,7 @@ public class GameEndValidator implements IGameEndValidator {
      * @return GameEndResult indicating if the game is ongoing, player won, or machine
      * */
     @Override
-    public GameEndResult checkGameEnd(Board playerBoard, Board machineBoard) {
+    public GameEndResult checkGameEnd(IBoardOperations playerBoard, IBoardOperations machineBoard) {
         //Check if player lost (all ships sunk)
         if (hasLost(playerBoard)) {
             return GameEndResult.machineWon();
@@ -30,7 +30,7 @@ public class GameEndValidator implements IGameEndValidator {
      * @return true if all ships are sunk, false otherwise
      */
     @Override
-    public boolean hasLost(Board board) {
+    public boolean hasLost(IBoardOperations board) {
         return board.allBoatsSunk();
     }
 }
@@ -1,6 +1,6 @@
 package Model.Match;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 
 public interface IGameEndValidator {
         /**Checks if the game has ended and determines the winner
@@ -9,11 +9,19 @@ public interface IGameEndValidator {
          * @param machineBoard The machine's board
          * @return GameEndResult containing end status and winner
          */
-        GameEndResult checkGameEnd(Board playerBoard, Board machineBoard);
+        GameEndResult checkGameEnd(IBoardOperations playerBoard, IBoardOperations machineBoard);
 
         /**Checks if a specific player has lost
          * @param board The player's board
          * @return true if all ships are sunk, false otherwise
          */
-        boolean hasLost(Board board);
+        boolean hasLost(IBoardOperations board);
+
+        /**Gives the validator the boards of a new match before the first attack
+         * Polling validators do not need them, event driven ones subscribe here
+         * @param playerBoard The player's board
+         * @param machineBoard The machine's board
+         */
+        default void bind(IBoardOperations playerBoard, IBoardOperations machineBoard) {
+        }
 }
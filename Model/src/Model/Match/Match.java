@@ -1,7 +1,10 @@
 package Model.Match;
 
 import Attacks.Attack;
-import Model.Board.Board;
+import Attacks.AttackOutcome;
+import Attacks.ShotVector;
+import Model.Board.IBoardOperations;
+import Model.Board.ShotResult;
 import Model.Player.Player;
 
 public class Match {
@@ -26,6 +29,7 @@ public class Match {
         this.gameEndValidator = gameEndValidator;
         this.gameFinished = false;
         this.winner = null;
+        gameEndValidator.bind(player.getOwnBoard(), machine.getOwnBoard());
     }
 
     /**Simplified constructor with default implementations
@@ -39,30 +43,42 @@ public class Match {
      * Process:
      * 1. Apply attack to target board
      * 2. Check if game has ended
-     * 3. Switch turns if attack missed
+     * 3. Switch turns unless a single shot impacted a boat
      *
      * @param attack   The attack to execute
      * @param attacker The attacking player
      * @param target   The target player
-     * @return Result message of the attack
+     * @return Packed AttackOutcome of the attack (see Attack.describe for the message)
      */
-    public String executeAttack(Attack attack, Player attacker, Player target) {
+    public long executeAttack(Attack attack, Player attacker, Player target) {
+        return executeAttack(attack, attacker, target, null);
+    }
+
+    /**Executes an attack and records the result of every cell it shot
+     *
+     * @param attack   The attack to execute
+     * @param attacker The attacking player
+     * @param target   The target player
+     * @param shots    Vector the cell results are appended to, null to skip them
+     * @return Packed AttackOutcome of the attack
+     */
+    public long executeAttack(Attack attack, Player attacker, Player target, ShotVector shots) {
         //Apply attack to target's board
-        Board targetBoard = target.getOwnBoard();
-        String result = attack.apply(targetBoard);
+        IBoardOperations targetBoard = target.getOwnBoard();
+        long outcome = attack.apply(targetBoard, shots);
 
         //Check if game has ended (delegates to validator)
         checkGameEnd();
 
         //If attack missed and game not finished, switch turns
-        boolean isHit = result.contains("Hit");
-        boolean isSunk = result.contains("Sunk");
+        boolean keepsTurn = attack.isSingleShot()
+                && ShotResult.isHit(AttackOutcome.primaryResult(outcome));
 
-        if (!isHit && !isSunk && !gameFinished) {
+        if (!keepsTurn && !gameFinished) {
             turnManager.switchTurn();
         }
 
-        return result;
+        return outcome;
     }
 
     /**Checks if the game has ended
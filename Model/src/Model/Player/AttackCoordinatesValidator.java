@@ -1,11 +1,11 @@
 package Model.Player;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 import Model.Player.Interfaces.IAttackCoordinatesValidator;
 
 public class AttackCoordinatesValidator implements IAttackCoordinatesValidator {
     @Override
-    public void validateAttackCoordinates(int row, int column, Board board) {
+    public void validateAttackCoordinates(int row, int column, IBoardOperations board) {
         //The first verification is to ensure that the coordinates have been set.
         if (row == -1 || column == -1) {
             throw new IllegalStateException(
@@ -44,7 +44,7 @@ public class AttackCoordinatesValidator implements IAttackCoordinatesValidator {
      * @param board The board to check against
      * @return true if coordinates are valid, false otherwise
      */
-    private boolean isWithinBounds(int row, int column, Board board) {
+    private boolean isWithinBounds(int row, int column, IBoardOperations board) {
         return row >= 0 && row < board.getRows()
                 && column >= 0 && column < board.getColumns();
     }
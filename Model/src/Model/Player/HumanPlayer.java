@@ -2,7 +2,8 @@ package Model.Player;
 
 import Attacks.Attack;
 import Attacks.BasicAttack;
-import Model.Board.Board;
+import Model.Board.IBoardFactory;
+import Model.Board.IBoardOperations;
 import Model.Player.Interfaces.IAttackCoordinatesValidator;
 
 public class HumanPlayer extends Player{
@@ -20,6 +21,24 @@ public class HumanPlayer extends Player{
         this.powerUps = new PowerUpsManager();
         this.coordinatesValidator = validator;
     }
+    /**Constructor with the board implementation and size selected by the caller
+     * @param boardFactory Factory used to create the boards of the player
+     * @param rows Number of rows of the boards
+     * @param columns Number of columns of the boards
+     */
+    public HumanPlayer(String username, String password, IAttackCoordinatesValidator validator,
+                       IBoardFactory boardFactory, int rows, int columns) {
+        this(username, password, validator, boardFactory, rows, columns, new PowerUpsManager());
+    }
+    /**Constructor with the power-ups of the game
+     * @param powerUps Charges of the weapons of the player
+     */
+    public HumanPlayer(String username, String password, IAttackCoordinatesValidator validator,
+                       IBoardFactory boardFactory, int rows, int columns, PowerUpsManager powerUps) {
+        super(username, password, boardFactory, rows, columns);
+        this.powerUps = powerUps;
+        this.coordinatesValidator = validator;
+    }
     /**Overloaded constructor for backward compatibility
      *Uses default validator implementation
      */
@@ -33,7 +52,7 @@ public class HumanPlayer extends Player{
      * @throws IllegalArgumentException if the attack coordinates are out of bounds or already attacked
     * */
     @Override
-    public Attack makeAttack(Board enemyBoard) {
+    public Attack makeAttack(IBoardOperations enemyBoard) {
         //Delegate validation to injected validator
         coordinatesValidator.validateAttackCoordinates(
                 nextAttackRow,
@@ -1,7 +1,7 @@
 package Model.Player.Interfaces;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 
 public interface IAttackCoordinatesValidator {
-    void validateAttackCoordinates (int row, int column, Board board);
+    void validateAttackCoordinates (int row, int column, IBoardOperations board);
 }
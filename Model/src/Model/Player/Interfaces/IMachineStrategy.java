@@ -1,6 +1,7 @@
 package Model.Player.Interfaces;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
+import Model.Player.TargetQueue;
 
 import java.util.List;
 
@@ -15,9 +16,54 @@ public interface IMachineStrategy {
      * @return Array with [row, column] coordinates to attack
      */
     int[] chooseAttackCoordinates(
-            Board enemyBoard,
+            IBoardOperations enemyBoard,
             boolean isTargetMode,
             List<int[]> targetStack,
             List<int[]> hitHistory
     );
+
+    /**
+     * Chooses attack coordinates from the primitive target structures kept by Machine
+     * The default converts the queues to lists for strategies written against the list version,
+     * then keeps in the target queue the targets the strategy left in the list.
+     * Strategies override it to avoid the conversion
+     *
+     * @param enemyBoard The enemy's board
+     * @param isTargetMode Whether AI is in target mode (focusing on a ship)
+     * @param targets Queue of priority targets to attack, consumed by the strategy
+     * @param hitHistory Cells of the successful hits, oldest first
+     * @return Array with [row, column] coordinates to attack
+     */
+    default int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            TargetQueue targets,
+            TargetQueue hitHistory
+    ) {
+        List<int[]> targetList = targets.toList();
+        int[] coordinates = chooseAttackCoordinates(enemyBoard, isTargetMode, targetList, hitHistory.toList());
+        targets.setAll(targetList);
+        return coordinates;
+    }
+
+    /**
+     * Receives the result of the last shot chosen by this strategy
+     * Strategies that keep their own knowledge of the enemy board can override it
+     *
+     * @param row Row that was attacked
+     * @param column Column that was attacked
+     * @param shotResult Packed ShotResult of the attack
+     */
+    default void notifyShotResult(int row, int column, int shotResult) {
+    }
+
+    /**
+     * Restarts the random choices of the strategy from a seed
+     * With the same seed, the same board and the same shot results, a strategy makes the same choices.
+     * Strategies without random choices can ignore it
+     *
+     * @param seed Seed of the random choices
+     */
+    default void reseed(long seed) {
+    }
 }
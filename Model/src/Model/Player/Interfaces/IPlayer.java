@@ -1,12 +1,12 @@
 package Model.Player.Interfaces;
 import Attacks.Attack;
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 public interface IPlayer {
     String getUsername();
     int getWins();
     void addWins();
-    Board getOwnBoard();
-    Board getAttackBoard();
+    IBoardOperations getOwnBoard();
+    IBoardOperations getAttackBoard();
     void resetBoards();
-    Attack makeAttack(Board enemyBoard);
+    Attack makeAttack(IBoardOperations enemyBoard);
 }
@@ -10,5 +10,8 @@ public interface IPowerUps {
     int getCrossBombs();
     int getNukes();
     int getTorpedoes();
+    boolean hasCharges(String weaponId);
+    boolean useCharge(String weaponId);
+    int getCharges(String weaponId);
     void reset();
 }
@@ -2,19 +2,40 @@ package Model.Player;
 
 import Attacks.Attack;
 import Attacks.BasicAttack;
-import Model.Board.Board;
+import Model.Board.IBoardFactory;
+import Model.Board.IBoardOperations;
+import Model.Board.ShotResult;
 import Model.Player.Interfaces.IMachineStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Machine extends Player {
+    // Pondering threads are daemons, a pending computation never keeps the application alive
+    private static final ExecutorService PONDER_EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "machine-ponder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final IMachineStrategy attackStrategy;
+    private final Object strategyLock = new Object(); // Held while the strategy or the target lists are used
 
     private boolean targetMode;
-    private List<int[]> targetStack;
-    private List<int[]> hitHistory;
+    private TargetQueue targetStack; // Created with the first enemy board, sized by it
+    private TargetQueue hitHistory;
+
+    // Decision computed in advance during the opponent's turn, valid for one board state
+    private Future<int[]> ponderResult;
+    private IBoardOperations ponderBoard;
+    private long ponderVersion;
+    private long ponderHash;
+    private long ponderHits;
+    private long ponderGeneration; // Changed under strategyLock when pondering stops, a task of an older one does nothing
 
     /**
      * Constructor with dependency injection
@@ -25,8 +46,33 @@ public class Machine extends Player {
         super("Machine", "none");
         this.attackStrategy = attackStrategy;
         this.targetMode = false;
-        this.targetStack = new ArrayList<>();
-        this.hitHistory = new ArrayList<>();
+    }
+
+    /**
+     * Constructor with the board implementation and size selected by the caller
+     *
+     * @param attackStrategy The strategy to use for choosing attack coordinates
+     * @param boardFactory   Factory used to create the boards of the machine
+     * @param rows           Number of rows of the boards
+     * @param columns        Number of columns of the boards
+     */
+    public Machine(IMachineStrategy attackStrategy, IBoardFactory boardFactory, int rows, int columns) {
+        this("Machine", attackStrategy, boardFactory, rows, columns);
+    }
+
+    /**
+     * Constructor for a named machine, used when two machines play each other
+     *
+     * @param name           Name of the machine
+     * @param attackStrategy The strategy to use for choosing attack coordinates
+     * @param boardFactory   Factory used to create the boards of the machine
+     * @param rows           Number of rows of the boards
+     * @param columns        Number of columns of the boards
+     */
+    public Machine(String name, IMachineStrategy attackStrategy, IBoardFactory boardFactory, int rows, int columns) {
+        super(name, "none", boardFactory, rows, columns);
+        this.attackStrategy = attackStrategy;
+        this.targetMode = false;
     }
 
     /**
@@ -45,18 +91,134 @@ public class Machine extends Player {
      * @return Attack object with chosen coordinates
      */
     @Override
-    public Attack makeAttack(Board enemyBoard) {
-        // Delegate to strategy
-        int[] coordinates = attackStrategy.chooseAttackCoordinates(
-                enemyBoard,
-                targetMode,
-                targetStack,
-                hitHistory
-        );
+    public Attack makeAttack(IBoardOperations enemyBoard) {
+        // Use the decision pondered during the opponent's turn if the board did not change since
+        int[] coordinates = takePonderedCoordinates(enemyBoard);
+        if (coordinates == null) {
+            coordinates = chooseCoordinates(enemyBoard);
+        }
 
         return new BasicAttack(coordinates[0], coordinates[1]);
     }
 
+    /**
+     * Starts computing the next attack in the background
+     * Meant for the opponent's turn: the opponent's shots land on the machine's own board, so they do
+     * not change what the machine knows of the enemy board and the decision stays valid.
+     * The enemy board must not be modified until the next makeAttack or stopPondering
+     *
+     * @param enemyBoard The board the next attack will target
+     */
+    public void ponder(IBoardOperations enemyBoard) {
+        stopPondering();
+        ponderBoard = enemyBoard;
+        ponderVersion = enemyBoard.getVersion();
+        ponderHash = enemyBoard.getKnowledgeHash();
+        long generation;
+        synchronized (strategyLock) {
+            generation = ponderGeneration;
+        }
+        ponderResult = PONDER_EXECUTOR.submit(() -> ponderCoordinates(enemyBoard, generation));
+    }
+
+    /**
+     * Cancels the background computation, if any
+     * Returns once the computation no longer uses the strategy or the enemy board
+     */
+    public void stopPondering() {
+        if (ponderResult == null) {
+            return;
+        }
+        ponderResult.cancel(true);
+        ponderResult = null;
+        // cancel does not stop a task that already started, the new generation makes it return
+        // without using the strategy once it gets the lock
+        synchronized (strategyLock) {
+            ponderGeneration++;
+            ponderBoard = null;
+        }
+    }
+
+    /**
+     * Gets the pondered decision if it was computed for the current state of the board
+     * Waits for the computation if it is still running
+     *
+     * @param enemyBoard The board to attack
+     * @return the pondered coordinates, or null if they must be computed again
+     */
+    private int[] takePonderedCoordinates(IBoardOperations enemyBoard) {
+        if (ponderResult == null) {
+            return null;
+        }
+        Future<int[]> pending = ponderResult;
+        boolean valid = ponderBoard == enemyBoard
+                && ponderVersion == enemyBoard.getVersion()
+                && ponderHash == enemyBoard.getKnowledgeHash();
+        if (!valid) {
+            stopPondering();
+            return null;
+        }
+        ponderResult = null;
+        ponderBoard = null;
+        try {
+            int[] coordinates = pending.get();
+            if (coordinates == null) {
+                return null;
+            }
+            ponderHits++;
+            return coordinates;
+        } catch (ExecutionException e) {
+            return null; // Computed again on demand, which reports the error
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.cancel(true);
+            return null;
+        }
+    }
+
+    /**
+     * Asks the strategy for the next coordinates
+     * Runs on the caller's thread or on a pondering thread, never on both at once
+     */
+    private int[] chooseCoordinates(IBoardOperations enemyBoard) {
+        synchronized (strategyLock) {
+            ensureTargetQueues(enemyBoard);
+            return attackStrategy.chooseAttackCoordinates(
+                    enemyBoard,
+                    targetMode,
+                    targetStack,
+                    hitHistory
+            );
+        }
+    }
+
+    /**
+     * Body of a pondering task
+     *
+     * @param generation Generation of pondering the task was submitted in
+     * @return the coordinates, or null if pondering stopped before the task got the strategy
+     */
+    private int[] ponderCoordinates(IBoardOperations enemyBoard, long generation) {
+        synchronized (strategyLock) {
+            if (generation != ponderGeneration) {
+                return null;
+            }
+            return chooseCoordinates(enemyBoard);
+        }
+    }
+
+    /**
+     * Restarts the random choices of the strategy from a seed, for a reproducible game
+     *
+     * @param seed Seed of the machine's choices
+     */
+    public void reseed(long seed) {
+        stopPondering();
+        synchronized (strategyLock) {
+            attackStrategy.reseed(seed);
+        }
+    }
+
     /**
      * Notifies the machine of an attack result
      * Updates internal state for future attacks
@@ -64,15 +226,25 @@ public class Machine extends Player {
      *
      * @param row        Row that was attacked
      * @param column     Column that was attacked
-     * @param result     Result of the attack ("Hit", "Miss", "Sunk")
+     * @param result     Packed ShotResult of the attack
      * @param enemyBoard The enemy board (for validation)
      */
-    public void notifyAttackResult(int row, int column, String result, Board enemyBoard) {
-        if (result.contains("Hit") || result.contains("Sunk")) {
+    public void notifyAttackResult(int row, int column, int result, IBoardOperations enemyBoard) {
+        stopPondering();
+        synchronized (strategyLock) {
+            updateTargets(row, column, result, enemyBoard);
+        }
+    }
+
+    private void updateTargets(int row, int column, int result, IBoardOperations enemyBoard) {
+        attackStrategy.notifyShotResult(row, column, result);
+        ensureTargetQueues(enemyBoard);
+
+        if (ShotResult.isHit(result)) {
             // Record the hit
-            hitHistory.add(new int[]{row, column});
+            hitHistory.addLast(row, column);
 
-            if (result.contains("Sunk")) {
+            if (ShotResult.isSunk(result)) {
                 // Ship sunk - return to hunt mode
                 targetMode = false;
                 targetStack.clear();
@@ -92,7 +264,7 @@ public class Machine extends Player {
      * @param column     Column of the hit
      * @param enemyBoard The enemy board for validation
      */
-    private void addAdjacentTargets(int row, int column, Board enemyBoard) {
+    private void addAdjacentTargets(int row, int column, IBoardOperations enemyBoard) {
         // Cardinal directions: up, down, left, right
         int[][] directions = {
                 {-1, 0},  // Up
@@ -105,12 +277,11 @@ public class Machine extends Player {
             int newRow = row + dir[0];
             int newCol = column + dir[1];
 
-            // Check if position is valid and not already targeted
-            if (isValidCoordinate(newRow, newCol) &&
-                    enemyBoard.validShoot(newRow, newCol) &&
-                    !containsTarget(newRow, newCol)) {
+            // Check if position is valid, the queue ignores a cell already targeted
+            if (isValidCoordinate(newRow, newCol, enemyBoard) &&
+                    enemyBoard.validShoot(newRow, newCol)) {
 
-                targetStack.add(new int[]{newRow, newCol});
+                targetStack.addLast(newRow, newCol);
             }
         }
     }
@@ -120,22 +291,26 @@ public class Machine extends Player {
      *
      * @param row Row to check
      * @param col Column to check
+     * @param enemyBoard The board that gives the bounds
      * @return true if valid, false otherwise
      */
-    private boolean isValidCoordinate(int row, int col) {
-        return row >= 0 && row < 10 && col >= 0 && col < 10;
+    private boolean isValidCoordinate(int row, int col, IBoardOperations enemyBoard) {
+        return row >= 0 && row < enemyBoard.getRows() && col >= 0 && col < enemyBoard.getColumns();
     }
 
     /**
-     * Checks if a target is already in the target stack
+     * Creates the target queues for the size of the enemy board
+     * They are reused for every turn, and recreated only if the board size changes
      *
-     * @param row Row to check
-     * @param col Column to check
-     * @return true if target exists in stack, false otherwise
+     * @param enemyBoard The board being attacked
      */
-    private boolean containsTarget(int row, int col) {
-        return targetStack.stream()
-                .anyMatch(target -> target[0] == row && target[1] == col);
+    private void ensureTargetQueues(IBoardOperations enemyBoard) {
+        if (targetStack == null
+                || targetStack.getRows() != enemyBoard.getRows()
+                || targetStack.getColumns() != enemyBoard.getColumns()) {
+            targetStack = new TargetQueue(enemyBoard.getRows(), enemyBoard.getColumns());
+            hitHistory = new TargetQueue(enemyBoard.getRows(), enemyBoard.getColumns());
+        }
     }
 
     /**
@@ -143,9 +318,12 @@ public class Machine extends Player {
      * Useful for starting a new game
      */
     public void resetAIState() {
+        stopPondering();
         targetMode = false;
-        targetStack.clear();
-        hitHistory.clear();
+        if (targetStack != null) {
+            targetStack.clear();
+            hitHistory.clear();
+        }
     }
 
     // Getters for testing and debugging
@@ -154,26 +332,32 @@ public class Machine extends Player {
     }
 
     public int getTargetStackSize() {
-        return targetStack.size();
+        return targetStack != null ? targetStack.size() : 0;
     }
 
     public int getHitHistorySize() {
-        return hitHistory.size();
+        return hitHistory != null ? hitHistory.size() : 0;
+    }
+
+    /**Number of attacks that used a pondered decision
+     */
+    public long getPonderHits() {
+        return ponderHits;
     }
 
     public List<int[]> getTargetStack() {
-        return new ArrayList<>(targetStack);
+        return targetStack != null ? targetStack.toList() : new ArrayList<>();
     }
 
     public List<int[]> getHitHistory() {
-        return new ArrayList<>(hitHistory);
+        return hitHistory != null ? hitHistory.toList() : new ArrayList<>();
     }
 
     @Override
     public String toString() {
         return "Machine Player (" +
                 (targetMode ? "Target Mode" : "Hunt Mode") +
-                ", Targets: " + targetStack.size() +
-                ", Hits: " + hitHistory.size() + ")";
+                ", Targets: " + getTargetStackSize() +
+                ", Hits: " + getHitHistorySize() + ")";
     }
 }
\ No newline at end of file
@@ -0,0 +1,498 @@
+package Model.Player;
+
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Board.UniformLayoutSampler;
+import Model.Boat.Boat;
+import Model.Player.Interfaces.IMachineStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Strategy that samples fleet layouts consistent with what is known of the enemy board
+ * and fires at the unknown cell occupied in most of the samples
+ * A layout places every ship still afloat (the enemy fleet minus the sunk boats) off the missed
+ * cells and the cells of sunk boats, without overlaps, covering every unresolved hit.
+ * Under the no-touch rule the cells around the sunk boats are blocked too, and the ships of a layout don't touch.
+ * Sampling runs on one task per thread of the pool, each with its own SplittableRandom and its
+ * own counters, until a wall-clock deadline, and the number of samples grows with the number of cores.
+ * The work after the deadline (merging the counts, choosing the cell, the fallback) is measured on
+ * each decision and reserved on the next one, so a decision returns close to the budget; reading
+ * the board at the start is not bounded, on a very large board it alone can exceed the budget
+ * Without unresolved hits the layouts come from UniformLayoutSampler and are exactly uniform, except under the no-touch rule
+ * and for fleets it would almost never accept in the budget (a pilot measures its acceptance rate first).
+ * With hits, the ships through them are placed first, so the layouts are close to, not exactly, uniform
+ * If no layout could be sampled in time, the decision falls back to ProbabilityDensityStrategy
+ */
+public class MonteCarloStrategy implements IMachineStrategy {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    private static final int PLACEMENT_TRIES = 32; // Random tries to place one ship before the sample is dropped
+    private static final int MIN_UNIFORM_SAMPLES = 64; // Uniform layouts expected in the budget, below it the ships are placed one by one
+    private static final int PILOT_SHARE = 16; // The pilot of the uniform sampler takes at most 1/16 of the budget
+
+    private static final byte UNKNOWN = 0;
+    private static final byte BLOCKED = 1; // Miss, cell of a sunk boat or, under the no-touch rule, cell around one
+    private static final byte HIT = 2; // Hit of a boat still afloat
+
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private SplittableRandom random;
+    private final ProbabilityDensityStrategy fallback;
+    // Placement tables by ship length, kept between decisions: the tables of a board above
+    // PlacementTable.MAX_SHARED_CELLS are not kept by PlacementTable
+    private final Map<Integer, PlacementTable> tables = new HashMap<>();
+    private int tableRows;
+    private int tableColumns;
+
+    private long finishNanos; // Time the last decision took after its sampling deadline
+
+    private volatile long lastSamples;
+    private volatile double lastSamplesPerSecond;
+
+    /**Constructor using the common pool and the default time budget
+     */
+    public MonteCarloStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**Constructor using the common pool
+     *
+     * @param budgetMillis Wall-clock time allowed for each decision
+     */
+    public MonteCarloStrategy(long budgetMillis) {
+        this(ForkJoinPool.commonPool(), budgetMillis);
+    }
+
+    /**Constructor with dependency injection
+     *
+     * @param pool Pool running the sampling tasks, one task per thread of the pool
+     * @param budgetMillis Wall-clock time allowed for each decision
+     */
+    public MonteCarloStrategy(ForkJoinPool pool, long budgetMillis) {
+        this(pool, budgetMillis, new SplittableRandom());
+    }
+
+    /**Constructor with the generator of the samples
+     * The samplers get generators split from it. The number of samples depends on the time budget,
+     * so a seed gives the same samples but not always the same decision
+     *
+     * @param pool Pool running the sampling tasks, one task per thread of the pool
+     * @param budgetMillis Wall-clock time allowed for each decision
+     * @param random Generator the samplers are split from
+     */
+    public MonteCarloStrategy(ForkJoinPool pool, long budgetMillis, SplittableRandom random) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("The time budget must be positive");
+        }
+        this.pool = pool;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.finishNanos = budgetNanos / 10;
+        this.random = random;
+        this.fallback = new ProbabilityDensityStrategy(random.split(), null);
+    }
+
+    /**
+     * Chooses the cell occupied in most sampled layouts
+     * @param enemyBoard is the opponent's board
+     * @return an array with the chosen attack coordinates [row, column]
+     */
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            List<int[]> targetStack,
+            List<int[]> hitHistory
+    ) {
+        long start = System.nanoTime();
+        Knowledge knowledge = new Knowledge(enemyBoard, tablesFor(enemyBoard));
+        if (knowledge.ships.length == 0) {
+            return fallback.chooseAttackCoordinates(enemyBoard, isTargetMode, targetStack, hitHistory);
+        }
+
+        long deadline = start + budgetNanos - Math.min(finishNanos, budgetNanos / 2);
+        boolean uniform = knowledge.hits.length == 0 && knowledge.uniform != null && uniformPaysOff(knowledge, deadline);
+        List<Callable<Sampler>> tasks = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            Sampler sampler = new Sampler(knowledge, random.split(), uniform);
+            tasks.add(() -> sampler.run(deadline));
+        }
+
+        long[] counts = new long[knowledge.cells.length];
+        long samples = 0;
+        try {
+            for (Future<Sampler> future : pool.invokeAll(tasks)) {
+                Sampler sampler = future.get();
+                samples += sampler.accepted;
+                for (int cell = 0; cell < counts.length; cell++) {
+                    counts[cell] += sampler.counts[cell];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Layout sampling failed", e.getCause());
+        }
+
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        lastSamples = samples;
+        lastSamplesPerSecond = samples * 1e9 / elapsed;
+
+        int[] coordinates;
+        if (samples == 0) {
+            coordinates = fallback.chooseAttackCoordinates(enemyBoard, isTargetMode, targetStack, hitHistory);
+        } else {
+            int cell = pickBest(knowledge, counts);
+            coordinates = new int[]{cell / knowledge.columns, cell % knowledge.columns};
+        }
+        finishNanos = Math.max(0, System.nanoTime() - deadline);
+        return coordinates;
+    }
+
+    /**
+     * Queue version used by Machine, the queues are not needed either
+     */
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            TargetQueue targetStack,
+            TargetQueue hitHistory
+    ) {
+        return chooseAttackCoordinates(enemyBoard, isTargetMode, List.of(), List.of());
+    }
+
+    @Override
+    public void notifyShotResult(int row, int column, int shotResult) {
+        fallback.notifyShotResult(row, column, shotResult);
+    }
+
+    @Override
+    public void reseed(long seed) {
+        random = new SplittableRandom(seed);
+        fallback.reseed(random.nextLong());
+    }
+
+    /**Number of layouts sampled for the last decision
+     */
+    public long getLastSamples() {
+        return lastSamples;
+    }
+
+    /**Layouts sampled per second during the last decision, all workers together
+     */
+    public double getLastSamplesPerSecond() {
+        return lastSamplesPerSecond;
+    }
+
+    /**Checks that whole uniform layouts are expected often enough before the deadline
+     * A pilot of at most UniformLayoutSampler.PILOT_ATTEMPTS attempts, and PILOT_SHARE of the budget,
+     * measures the acceptance rate. A large fleet is almost never accepted whole, its ships are then
+     * placed one by one, which is not exactly uniform but gives samples
+     */
+    private boolean uniformPaysOff(Knowledge knowledge, long deadline) {
+        long left = deadline - System.nanoTime();
+        if (left <= 0) {
+            return false;
+        }
+        double expected = knowledge.uniform.estimateLayoutsIn(knowledge.blocked, random,
+                UniformLayoutSampler.PILOT_ATTEMPTS, budgetNanos / PILOT_SHARE, left);
+        return expected * pool.getParallelism() >= MIN_UNIFORM_SAMPLES;
+    }
+
+    /**Placement tables of the board size, emptied when the size changes
+     */
+    private Map<Integer, PlacementTable> tablesFor(IBoardOperations enemyBoard) {
+        if (enemyBoard.getRows() != tableRows || enemyBoard.getColumns() != tableColumns) {
+            tables.clear();
+            tableRows = enemyBoard.getRows();
+            tableColumns = enemyBoard.getColumns();
+        }
+        return tables;
+    }
+
+    private int pickBest(Knowledge knowledge, long[] counts) {
+        long best = -1;
+        int chosen = -1;
+        int ties = 0;
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (knowledge.cells[cell] != UNKNOWN) {
+                continue;
+            }
+            if (counts[cell] > best) {
+                best = counts[cell];
+                chosen = cell;
+                ties = 1;
+            } else if (counts[cell] == best && random.nextInt(++ties) == 0) {
+                chosen = cell; // Reservoir choice among equal cells
+            }
+        }
+        if (chosen < 0) {
+            throw new IllegalStateException("No valid attacks available!");
+        }
+        return chosen;
+    }
+
+    /**
+     * Read-only view of the enemy board shared by the samplers
+     */
+    private static final class Knowledge {
+        final int rows;
+        final int columns;
+        final boolean noTouch;
+        final byte[] cells;
+        final int[] ships; // Lengths of the boats still afloat, longest first
+        final PlacementTable[] tables; // Placements of each ship
+        final int[] hits; // Unresolved hit cells
+        final long[] blocked; // BLOCKED cells as a row-major bitset
+        final UniformLayoutSampler uniform; // Samples the layouts when there is no unresolved hit, null without ships or under the no-touch rule
+        private final Map<Integer, PlacementTable> tablesByLength;
+
+        Knowledge(IBoardOperations board, Map<Integer, PlacementTable> tablesByLength) {
+            this.tablesByLength = tablesByLength;
+            rows = board.getRows();
+            columns = board.getColumns();
+            noTouch = board.getPlacementRule() == PlacementRule.NO_TOUCH;
+            cells = new byte[rows * columns];
+            List<Integer> hitList = new ArrayList<>();
+            for (int cell = 0; cell < cells.length; cell++) {
+                int state = board.getCellState(cell / columns, cell % columns);
+                if (state == 2) {
+                    cells[cell] = BLOCKED;
+                } else if (state == 3) {
+                    cells[cell] = HIT;
+                }
+            }
+            List<Integer> afloat = new ArrayList<>();
+            for (Boat boat : board.getBoatList()) {
+                if (boat.isSunk()) {
+                    for (int[] pos : boat.getPositions()) {
+                        cells[pos[0] * columns + pos[1]] = BLOCKED;
+                    }
+                    if (noTouch) {
+                        blockHalo(boat);
+                    }
+                } else if (boat.getLength() > 0) {
+                    afloat.add(boat.getLength());
+                }
+            }
+            for (int cell = 0; cell < cells.length; cell++) {
+                if (cells[cell] == HIT) {
+                    hitList.add(cell);
+                }
+            }
+            ships = afloat.stream().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+            hits = hitList.stream().mapToInt(Integer::intValue).toArray();
+            tables = new PlacementTable[ships.length];
+            for (int ship = 0; ship < ships.length; ship++) {
+                tables[ship] = tableOf(ships[ship]);
+            }
+            blocked = new long[(cells.length + 63) >>> 6];
+            for (int cell = 0; cell < cells.length; cell++) {
+                if (cells[cell] == BLOCKED) {
+                    blocked[cell >>> 6] |= 1L << cell;
+                }
+            }
+            // Whole no-touch layouts are almost never accepted, the ships are then placed one by one
+            uniform = ships.length == 0 || noTouch ? null : new UniformLayoutSampler(tables, PlacementRule.TOUCH_ALLOWED);
+        }
+
+        /**Blocks the cells around a sunk boat, no ship can touch it
+         */
+        private void blockHalo(Boat boat) {
+            PlacementTable table = tableOf(boat.getLength());
+            int placement = table.indexOf(boat);
+            if (placement < 0) {
+                return;
+            }
+            for (int entry = table.getHaloCellStart(placement); entry < table.getHaloCellStart(placement + 1); entry++) {
+                cells[table.getHaloCell(entry)] = BLOCKED;
+            }
+        }
+
+        private PlacementTable tableOf(int length) {
+            return tablesByLength.computeIfAbsent(length, l -> PlacementTable.of(rows, columns, l));
+        }
+    }
+
+    /**
+     * Sampling task of one worker, with its own random generator and counters
+     */
+    private static final class Sampler {
+        private final Knowledge knowledge;
+        private final SplittableRandom random;
+        private final boolean uniform; // Whole layouts from the uniform sampler while there is no unresolved hit
+        final long[] counts;
+        long accepted;
+
+        // Occupancy of the current sample: a cell is taken when its stamp equals the sample number
+        private final int[] stamp;
+        private final int[] haloStamp; // Same for the cells around the ships, under the no-touch rule
+        private int sample;
+        private final boolean[] placed;
+        private final int[] shipCells;
+        private int shipCellCount;
+        private final long[] occupied; // Scratch of the uniform sampler
+        private final int[] placements;
+
+        Sampler(Knowledge knowledge, SplittableRandom random, boolean uniform) {
+            this.knowledge = knowledge;
+            this.random = random;
+            this.uniform = uniform;
+            this.counts = new long[knowledge.cells.length];
+            this.stamp = new int[knowledge.cells.length];
+            this.haloStamp = new int[knowledge.cells.length];
+            this.placed = new boolean[knowledge.ships.length];
+            int totalCells = 0;
+            for (int length : knowledge.ships) {
+                totalCells += length;
+            }
+            this.shipCells = new int[totalCells];
+            this.occupied = new long[knowledge.blocked.length];
+            this.placements = new int[knowledge.ships.length];
+        }
+
+        Sampler run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                if (sampleLayout()) {
+                    accepted++;
+                    for (int i = 0; i < shipCellCount; i++) {
+                        counts[shipCells[i]]++;
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**Builds one random layout, covering the unresolved hits first
+         * @return true if every ship could be placed and every hit is covered
+         */
+        private boolean sampleLayout() {
+            sample++;
+            shipCellCount = 0;
+            if (uniform) {
+                return sampleUniformLayout();
+            }
+            Arrays.fill(placed, false);
+            int[] ships = knowledge.ships;
+
+            for (int hit : knowledge.hits) {
+                if (stamp[hit] == sample) {
+                    continue; // Already covered by a ship placed for another hit
+                }
+                if (haloStamp[hit] == sample) {
+                    return false; // Next to a ship placed for another hit, no ship can cover it
+                }
+                int ship = randomUnplacedShip();
+                if (ship < 0 || !placeThrough(ship, hit)) {
+                    return false;
+                }
+            }
+            for (int ship = 0; ship < ships.length; ship++) {
+                if (!placed[ship] && !placeAnywhere(ship)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**Makes one attempt at a uniform layout off the blocked cells, no cell of it has been shot
+         */
+        private boolean sampleUniformLayout() {
+            if (!knowledge.uniform.tryLayout(knowledge.blocked, random, occupied, placements)) {
+                return false;
+            }
+            for (int ship = 0; ship < placements.length; ship++) {
+                PlacementTable table = knowledge.tables[ship];
+                int placement = placements[ship];
+                for (int i = 0, cell = table.getStartCell(placement); i < knowledge.ships[ship]; i++, cell += table.getStep(placement)) {
+                    shipCells[shipCellCount++] = cell;
+                }
+            }
+            return true;
+        }
+
+        private int randomUnplacedShip() {
+            int chosen = -1;
+            int seen = 0;
+            for (int ship = 0; ship < placed.length; ship++) {
+                if (!placed[ship] && random.nextInt(++seen) == 0) {
+                    chosen = ship;
+                }
+            }
+            return chosen;
+        }
+
+        private boolean placeThrough(int ship, int cell) {
+            int length = knowledge.ships[ship];
+            int row = cell / knowledge.columns;
+            int column = cell % knowledge.columns;
+            for (int attempt = 0; attempt < PLACEMENT_TRIES; attempt++) {
+                boolean horizontal = random.nextBoolean();
+                int offset = random.nextInt(length);
+                if (tryPlace(ship, horizontal ? row : row - offset, horizontal ? column - offset : column, horizontal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**Tries random placements of the ship among the ones inside the board
+         */
+        private boolean placeAnywhere(int ship) {
+            PlacementTable table = knowledge.tables[ship];
+            if (table.getCount() == 0) {
+                return false;
+            }
+            for (int attempt = 0; attempt < PLACEMENT_TRIES; attempt++) {
+                int placement = random.nextInt(table.getCount());
+                if (tryPlace(ship, table.getRow(placement), table.getColumn(placement), table.isHorizontal(placement))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean tryPlace(int ship, int row, int column, boolean horizontal) {
+            int length = knowledge.ships[ship];
+            int columns = knowledge.columns;
+            if (row < 0 || column < 0) {
+                return false;
+            }
+            if (horizontal ? column + length > columns : row + length > knowledge.rows) {
+                return false;
+            }
+            int start = row * columns + column;
+            int step = horizontal ? 1 : columns;
+            for (int i = 0, cell = start; i < length; i++, cell += step) {
+                if (knowledge.cells[cell] == BLOCKED || stamp[cell] == sample || haloStamp[cell] == sample) {
+                    return false;
+                }
+            }
+            for (int i = 0, cell = start; i < length; i++, cell += step) {
+                stamp[cell] = sample;
+                if (knowledge.cells[cell] == UNKNOWN) {
+                    shipCells[shipCellCount++] = cell;
+                }
+            }
+            if (knowledge.noTouch) {
+                PlacementTable table = knowledge.tables[ship];
+                int placement = table.indexOf(row, column, horizontal);
+                for (int entry = table.getHaloCellStart(placement); entry < table.getHaloCellStart(placement + 1); entry++) {
+                    haloStamp[table.getHaloCell(entry)] = sample;
+                }
+            }
+            placed[ship] = true;
+            return true;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package Model.Player;
 
 import Attacks.Attack;
-import Model.Board.Board;
+import Model.Board.BoardFactory;
+import Model.Board.IBoardFactory;
+import Model.Board.IBoardOperations;
+import Model.Match.GameConfig;
 import Model.Player.Interfaces.IPlayer;
 
 public abstract class Player implements IPlayer {
@@ -9,19 +12,28 @@ public abstract class Player implements IPlayer {
     private int wins;
     private String password;
 
-    protected Board ownBoard;
-    protected Board attackBoard;
+    protected IBoardOperations ownBoard;
+    protected IBoardOperations attackBoard;
     /*Constructor for a player, creating instances of the boards and initializing the wins to 0
     * @param username The username of the player
     * @param password The password of the player
+    * @param boardFactory Factory that selects the board implementation
+    * @param rows Number of rows of both boards
+    * @param columns Number of columns of both boards
     * @return A new instance of Player
     * */
-    public Player(String username, String password) {
+    public Player(String username, String password, IBoardFactory boardFactory, int rows, int columns) {
         this.Username = username;
         this.password = password;
         this.wins = 0;
-        this.ownBoard = new Board(10, 10);
-        this.attackBoard = new Board(10, 10);
+        this.ownBoard = boardFactory.createBoard(rows, columns);
+        this.attackBoard = boardFactory.createBoard(rows, columns);
+    }
+    /*Overloaded constructor for backward compatibility
+    * Uses the array based board with the standard size
+    * */
+    public Player(String username, String password) {
+        this(username, password, new BoardFactory(), GameConfig.STANDARD_SIZE, GameConfig.STANDARD_SIZE);
     }
 
     public String getUsername() {
@@ -48,12 +60,12 @@ public abstract class Player implements IPlayer {
     }
     /*Method to get the boards of the player
     * */
-    public Board getOwnBoard() {
+    public IBoardOperations getOwnBoard() {
         return ownBoard;
     }
     /*Method to get the attack board of the player
     * */
-    public Board getAttackBoard() {
+    public IBoardOperations getAttackBoard() {
         return attackBoard;
     }
     /*Method that allows to reset the boards to their initial state
@@ -72,5 +84,5 @@ public abstract class Player implements IPlayer {
      * @param enemyBoard The board of the enemy player where the attack will be made.
      * @return An Attack object representing the chosen attack coordinates.
     * */
-    public abstract Attack makeAttack(Board enemyBoard);
+    public abstract Attack makeAttack(IBoardOperations enemyBoard);
 }
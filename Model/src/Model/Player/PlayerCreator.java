@@ -1,15 +1,50 @@
 package Model.Player;
 
+import Model.Board.BoardFactory;
+import Model.Board.IBoardFactory;
+import Model.Match.GameConfig;
+import Model.Player.Interfaces.IMachineStrategy;
 import Model.Player.Interfaces.IPlayerCreator;
 
+import java.util.function.Supplier;
+
 public class PlayerCreator implements IPlayerCreator{
+    private final IBoardFactory boardFactory;
+    private final GameConfig gameConfig;
+    private final Supplier<IMachineStrategy> strategyFactory;
+
+    /**Constructor with dependency injection
+     * @param gameConfig Configuration that gives the board size and implementation of the match
+     * @param strategyFactory Creates the attack strategy of every new machine player
+     */
+    public PlayerCreator(GameConfig gameConfig, Supplier<IMachineStrategy> strategyFactory) {
+        this.gameConfig = gameConfig;
+        this.boardFactory = new BoardFactory(gameConfig.getBoardType(), gameConfig.getPlacementRule());
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**Constructor using StandardMachineStrategy for the machine
+     * @param gameConfig Configuration that gives the board size and implementation of the match
+     */
+    public PlayerCreator(GameConfig gameConfig) {
+        this(gameConfig, StandardMachineStrategy::new);
+    }
+
+    /**Default constructor using the standard game configuration
+     */
+    public PlayerCreator() {
+        this(GameConfig.standard());
+    }
+
     @Override
     public Player createHumanPlayer(String name, String password) {
-        return new HumanPlayer(name, password);
+        return new HumanPlayer(name, password, new AttackCoordinatesValidator(), boardFactory,
+                gameConfig.getRows(), gameConfig.getColumns(), new PowerUpsManager(gameConfig.getWeapons()));
     }
     @Override
     public Player createMachinePlayer() {
-        return new Machine();
+        return new Machine(strategyFactory.get(), boardFactory,
+                gameConfig.getRows(), gameConfig.getColumns());
     }
 
 }
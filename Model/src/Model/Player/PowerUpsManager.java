@@ -1,84 +1,114 @@
 package Model.Player;
 
+import Attacks.Weapon;
+import Attacks.WeaponRegistry;
 import Model.Player.Interfaces.IPowerUps;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class PowerUpsManager implements IPowerUps {
-        private int crossBombs;
-        private int nukes;
-        private int torpedoes;
+        public static final String CROSS_BOMB = "cross"; // Ids of the standard weapons
+        public static final String NUKE = "nuke";
+        public static final String TORPEDO = "torpedo";
+
+        private final Map<String, Integer> initialCharges; // [weapon id] charges at the start of a game
+        private final Map<String, Integer> charges;
 
 
         public PowerUpsManager() {
-            this.crossBombs = 2;
-            this.nukes = 1;
-            this.torpedoes = 2;
+            this(WeaponRegistry.standard());
         }
 
         /**Constructor with custom ammunition counts
          */
         public PowerUpsManager(int crossBombs, int nukes, int torpedoes) {
-            this.crossBombs = crossBombs;
-            this.nukes = nukes;
-            this.torpedoes = torpedoes;
+            this.initialCharges = new LinkedHashMap<>();
+            initialCharges.put(CROSS_BOMB, crossBombs);
+            initialCharges.put(NUKE, nukes);
+            initialCharges.put(TORPEDO, torpedoes);
+            this.charges = new LinkedHashMap<>(initialCharges);
+        }
+
+        /**Constructor with the charges of every weapon of a registry
+         */
+        public PowerUpsManager(WeaponRegistry weapons) {
+            this.initialCharges = new LinkedHashMap<>();
+            for (Weapon weapon : weapons.getWeapons()) {
+                initialCharges.put(weapon.getId(), weapon.getCharges());
+            }
+            this.charges = new LinkedHashMap<>(initialCharges);
         }
 
         public boolean hasCrossBombs() {
-            return crossBombs > 0;
+            return hasCharges(CROSS_BOMB);
         }
 
         public boolean hasNukes() {
-            return nukes > 0;
+            return hasCharges(NUKE);
         }
 
         public boolean hasTorpedoes() {
-            return torpedoes > 0;
+            return hasCharges(TORPEDO);
         }
 
         public boolean useCrossBomb() {
-            if (crossBombs > 0) {
-                crossBombs--;
-                return true;
-            }
-            return false;
+            return useCharge(CROSS_BOMB);
         }
 
         public boolean useNuke() {
-            if (nukes > 0) {
-                nukes--;
-                return true;
-            }
-            return false;
+            return useCharge(NUKE);
         }
 
         public boolean useTorpedo() {
-            if (torpedoes > 0) {
-                torpedoes--;
-                return true;
-            }
-            return false;
+            return useCharge(TORPEDO);
         }
 
         public int getCrossBombs() {
-            return crossBombs;
+            return getCharges(CROSS_BOMB);
         }
 
         public int getNukes() {
-            return nukes;
+            return getCharges(NUKE);
         }
 
         public int getTorpedoes() {
-            return torpedoes;
+            return getCharges(TORPEDO);
+        }
+
+        public boolean hasCharges(String weaponId) {
+            return getCharges(weaponId) > 0;
         }
 
+        /**Uses a charge of a weapon
+         *
+         * @param weaponId Id of the weapon
+         * @return false if the weapon has no charges left (or is unknown)
+         */
+        public boolean useCharge(String weaponId) {
+            int left = getCharges(weaponId);
+            if (left > 0) {
+                charges.put(weaponId, left - 1);
+                return true;
+            }
+            return false;
+        }
+
+        /**Charges left of a weapon, 0 for an unknown weapon
+         */
+        public int getCharges(String weaponId) {
+            return charges.getOrDefault(weaponId, 0);
+        }
+
+        /**Restores the charges every weapon had at the start
+         */
         public void reset() {
-            this.crossBombs = 2;
-            this.nukes = 1;
-            this.torpedoes = 2;
+            charges.clear();
+            charges.putAll(initialCharges);
         }
 
         @Override
         public String toString() {
-            return String.format("PowerUps: Cruces=%d, Nukes=%d, Torpedos=%d",
-                    crossBombs, nukes, torpedoes);
+            return "PowerUps: " + charges;
         }
     }
@@ -0,0 +1,361 @@
+package Model.Player;
+
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Board.ShotResult;
+import Model.Boat.Boat;
+import Model.Player.Interfaces.IMachineStrategy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy that fires at the cell covered by the most legal placements of the ships still afloat
+ * A placement is legal while none of its cells is a known miss or a cell of a sunk ship.
+ * For every ship length the strategy keeps which placements are still legal and, for each cell,
+ * how many legal placements cover it. A miss or a sinking only visits the placements through
+ * the cells involved, so a decision never rebuilds the whole map:
+ * - hunt mode (no unresolved hit): density = sum of (ships afloat of a length) * (legal placements covering the cell)
+ * - target mode: only the legal placements through an unresolved hit are counted
+ * Ties are broken at random so the shots are not predictable
+ * Under the no-touch rule the cells around a sunk ship are certain water, they block placements like a miss
+ * The knowledge is read from the shot results and from the sunk boats, never from the enemy boats
+ * that are still afloat. It is rebuilt from the board when the board changes without a notification
+ */
+public class ProbabilityDensityStrategy implements IMachineStrategy {
+    private static final byte UNKNOWN = 0;
+    private static final byte MISS = 1;
+    private static final byte HIT = 2;
+    private static final byte SUNK = 3;
+    private static final byte WATER = 4; // Never shot, but no ship can be there
+
+    private RandomGenerator random;
+    private final TranspositionCache<int[]> cache; // Best cells by knowledge hash, may be null
+
+    // Knowledge of the board being attacked
+    private IBoardOperations board;
+    private long syncedHash;
+    private int rows;
+    private int columns;
+    private boolean noTouch;
+    private byte[] knowledge;
+    private int[] lengths; // Distinct ship lengths of the enemy fleet
+    private int[] afloat; // Ships afloat for each distinct length
+    private long fleetKey; // Mixed into the cache key, fleets of other games must not share entries
+    private PlacementTable[] tables; // [length index] placements and the placements through each cell
+    private boolean[][] blocked; // [length index][placement] the placement covers a miss or a sunk cell
+    private int[][] coverage; // [length index][cell] legal placements covering the cell
+    private int[] unresolvedHits; // Hit cells of boats not sunk yet
+    private int unresolvedCount;
+
+    // Scratch buffers reused between decisions
+    private long[] scores;
+    private int[] bestCells;
+
+    public ProbabilityDensityStrategy() {
+        this(null);
+    }
+
+    /**Constructor with a transposition cache
+     * The cache can be shared by several strategies (one per match in a tournament),
+     * positions already seen then cost one lookup
+     *
+     * @param cache Cache of the best cells by knowledge hash, null to disable it
+     */
+    public ProbabilityDensityStrategy(TranspositionCache<int[]> cache) {
+        this(new SplittableRandom(), cache);
+    }
+
+    /**Constructor with the generator of the random choices
+     *
+     * @param random Generator breaking the ties, used by one thread at a time like the strategy
+     * @param cache Cache of the best cells by knowledge hash, null to disable it
+     */
+    public ProbabilityDensityStrategy(RandomGenerator random, TranspositionCache<int[]> cache) {
+        this.random = random;
+        this.cache = cache;
+    }
+
+    @Override
+    public void reseed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Chooses the cell with the highest placement density
+     * The mode and the lists handled by Machine are not needed, the strategy keeps its own knowledge
+     * @param enemyBoard is the opponent's board
+     * @return an array with the chosen attack coordinates [row, column]
+     */
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            List<int[]> targetStack,
+            List<int[]> hitHistory
+    ) {
+        if (enemyBoard != board || enemyBoard.getKnowledgeHash() != syncedHash) {
+            rebuild(enemyBoard);
+        }
+
+        int[] candidates = null;
+        long key = syncedHash ^ fleetKey;
+        if (cache != null) {
+            candidates = cache.get(key);
+        }
+        if (candidates == null) {
+            candidates = findBestCells();
+            if (cache != null) {
+                cache.put(key, candidates);
+            }
+        }
+        int cell = candidates[random.nextInt(candidates.length)];
+        return new int[]{cell / columns, cell % columns};
+    }
+
+    /**
+     * Queue version used by Machine, the queues are not needed either
+     */
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            TargetQueue targetStack,
+            TargetQueue hitHistory
+    ) {
+        return chooseAttackCoordinates(enemyBoard, isTargetMode, List.of(), List.of());
+    }
+
+    /**
+     * Updates the knowledge with the result of the last shot
+     * Only the placements through the shot cell (or the cells of the sunk boat) are visited
+     */
+    @Override
+    public void notifyShotResult(int row, int column, int shotResult) {
+        if (board == null || ShotResult.isAlreadyShot(shotResult)) {
+            return;
+        }
+        int cell = row * columns + column;
+        if (knowledge[cell] == UNKNOWN) {
+            if (ShotResult.isMiss(shotResult)) {
+                knowledge[cell] = MISS;
+                blockCell(cell);
+            } else {
+                knowledge[cell] = HIT;
+                unresolvedHits[unresolvedCount++] = cell;
+            }
+        }
+        if (ShotResult.isSunk(shotResult)) {
+            Boat boat = board.getBoatById(ShotResult.shipId(shotResult));
+            if (boat != null) {
+                markSunk(boat);
+            }
+        }
+        syncedHash = board.getKnowledgeHash();
+    }
+
+    /**
+     * Rebuilds the knowledge from the shots visible on the board and its sunk boats
+     * Used for a new board or when shots happened without a notification
+     */
+    private void rebuild(IBoardOperations enemyBoard) {
+        board = enemyBoard;
+        rows = enemyBoard.getRows();
+        columns = enemyBoard.getColumns();
+        noTouch = enemyBoard.getPlacementRule() == PlacementRule.NO_TOUCH;
+        int cells = rows * columns;
+        knowledge = new byte[cells];
+        unresolvedHits = new int[cells];
+        unresolvedCount = 0;
+        scores = new long[cells];
+        bestCells = new int[cells];
+
+        List<Boat> fleet = enemyBoard.getBoatList();
+        lengths = fleet.stream().mapToInt(Boat::getLength).filter(l -> l > 0).distinct().sorted().toArray();
+        afloat = new int[lengths.length];
+        fleetKey = 0;
+        for (Boat boat : fleet) {
+            int index = Arrays.binarySearch(lengths, boat.getLength());
+            if (index >= 0) {
+                afloat[index]++;
+                fleetKey = fleetKey * 31 + boat.getLength();
+            }
+        }
+        fleetKey = ((fleetKey * 31 + rows) * 31 + columns) * 31 + (noTouch ? 1 : 0);
+        fleetKey *= 0x9E3779B97F4A7C15L;
+
+        tables = new PlacementTable[lengths.length];
+        blocked = new boolean[lengths.length][];
+        coverage = new int[lengths.length][cells];
+        for (int li = 0; li < lengths.length; li++) {
+            tables[li] = PlacementTable.of(rows, columns, lengths[li]);
+            blocked[li] = new boolean[tables[li].getCount()];
+            for (int cell = 0; cell < cells; cell++) {
+                coverage[li][cell] = tables[li].getCoverage(cell);
+            }
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            int state = enemyBoard.getCellState(cell / columns, cell % columns);
+            if (state == 2) {
+                knowledge[cell] = MISS;
+                blockCell(cell);
+            } else if (state == 3) {
+                knowledge[cell] = HIT;
+            }
+        }
+        for (Boat boat : fleet) {
+            if (boat.isSunk()) {
+                markSunk(boat);
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (knowledge[cell] == HIT) {
+                unresolvedHits[unresolvedCount++] = cell;
+            }
+        }
+        syncedHash = enemyBoard.getKnowledgeHash();
+    }
+
+    /**Marks the cells of a sunk boat, they block every other placement
+     * Under the no-touch rule the unknown cells of its halo become water
+     */
+    private void markSunk(Boat boat) {
+        int index = Arrays.binarySearch(lengths, boat.getLength());
+        if (index >= 0 && afloat[index] > 0) {
+            afloat[index]--;
+        }
+        for (int[] pos : boat.getPositions()) {
+            int cell = pos[0] * columns + pos[1];
+            if (knowledge[cell] != SUNK) {
+                knowledge[cell] = SUNK;
+                blockCell(cell);
+                removeUnresolved(cell);
+            }
+        }
+        if (noTouch && index >= 0) {
+            PlacementTable table = tables[index];
+            int placement = table.indexOf(boat);
+            if (placement < 0) {
+                return;
+            }
+            for (int entry = table.getHaloCellStart(placement); entry < table.getHaloCellStart(placement + 1); entry++) {
+                int cell = table.getHaloCell(entry);
+                if (knowledge[cell] == UNKNOWN) {
+                    knowledge[cell] = WATER;
+                    blockCell(cell);
+                }
+            }
+        }
+    }
+
+    private void removeUnresolved(int cell) {
+        for (int i = 0; i < unresolvedCount; i++) {
+            if (unresolvedHits[i] == cell) {
+                unresolvedHits[i] = unresolvedHits[--unresolvedCount];
+                return;
+            }
+        }
+    }
+
+    /**Makes illegal every placement through a cell and removes it from the coverage of its cells
+     */
+    private void blockCell(int cell) {
+        for (int li = 0; li < lengths.length; li++) {
+            int length = lengths[li];
+            PlacementTable table = tables[li];
+            boolean[] blockedPlacements = blocked[li];
+            int[] cover = coverage[li];
+            for (int entry = table.getCellStart(cell); entry < table.getCellStart(cell + 1); entry++) {
+                int placement = table.getCellPlacement(entry);
+                if (!blockedPlacements[placement]) {
+                    blockedPlacements[placement] = true;
+                    int step = table.getStep(placement);
+                    for (int i = 0, covered = table.getStartCell(placement); i < length; i++, covered += step) {
+                        cover[covered]--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**Scores the unknown cells for the current mode and returns the cells with the best score
+     */
+    private int[] findBestCells() {
+        int cells = rows * columns;
+        Arrays.fill(scores, 0L);
+        boolean targeting = unresolvedCount > 0 && scoreTargets();
+        if (!targeting) {
+            for (int li = 0; li < lengths.length; li++) {
+                if (afloat[li] == 0) {
+                    continue;
+                }
+                int[] cover = coverage[li];
+                for (int cell = 0; cell < cells; cell++) {
+                    scores[cell] += (long) afloat[li] * cover[cell];
+                }
+            }
+        }
+
+        long best = 0;
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (knowledge[cell] != UNKNOWN) {
+                continue;
+            }
+            long score = scores[cell];
+            if (score > best) {
+                best = score;
+                count = 0;
+            }
+            if (score == best) {
+                bestCells[count++] = cell;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No valid attacks available!");
+        }
+        return Arrays.copyOf(bestCells, count);
+    }
+
+    /**Adds to the scores the legal placements through every unresolved hit
+     * A placement through several hits is counted once per hit, which favours lines of hits
+     * @return true if at least one unknown cell got a score
+     */
+    private boolean scoreTargets() {
+        boolean scored = false;
+        for (int h = 0; h < unresolvedCount; h++) {
+            int hit = unresolvedHits[h];
+            for (int li = 0; li < lengths.length; li++) {
+                int weight = afloat[li];
+                int length = lengths[li];
+                if (weight == 0) {
+                    continue;
+                }
+                PlacementTable table = tables[li];
+                boolean[] blockedPlacements = blocked[li];
+                for (int entry = table.getCellStart(hit); entry < table.getCellStart(hit + 1); entry++) {
+                    int placement = table.getCellPlacement(entry);
+                    if (!blockedPlacements[placement]) {
+                        int step = table.getStep(placement);
+                        for (int i = 0, cell = table.getStartCell(placement); i < length; i++, cell += step) {
+                            scored |= addTargetScore(cell, weight);
+                        }
+                    }
+                }
+            }
+        }
+        return scored;
+    }
+
+    private boolean addTargetScore(int cell, int weight) {
+        if (knowledge[cell] != UNKNOWN) {
+            return false;
+        }
+        scores[cell] += weight;
+        return true;
+    }
+}
@@ -1,17 +1,46 @@
 package Model.Player;
 
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Board.ShotResult;
+import Model.Boat.Boat;
 import Model.Player.Interfaces.IMachineStrategy;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class StandardMachineStrategy implements IMachineStrategy {
-        private final Random random;
+        private static final int RANDOM_PROBES = 32;
+
+        private RandomGenerator random;
+
+        // Scan positions (cell index = row * columns + column) kept between turns.
+        // While the board only gains shots, cells before a cursor never need to be checked twice.
+        // An undo or a reset changes the knowledge hash behind our back, the cursors then restart
+        private IBoardOperations scannedBoard;
+        private long syncedHash;
+        private int huntCursor;
+        private int fallbackCursor;
+        // Cells around the sunk ships when ships may not touch, no ship can be there
+        private long[] water;
 
         public StandardMachineStrategy() {
-            this.random = new Random();
+            this(new SplittableRandom());
+        }
+
+        /**
+         * Constructor with the generator of the random choices
+         * @param random is the generator, used by one thread at a time like the strategy
+         */
+        public StandardMachineStrategy(RandomGenerator random) {
+            this.random = random;
+        }
+
+        @Override
+        public void reseed(long seed) {
+            this.random = new SplittableRandom(seed);
         }
         /**
          * Chooses attack coordinates based on the current mode (hunt or target)
@@ -19,17 +48,18 @@ public class StandardMachineStrategy implements IMachineStrategy {
          * Target mode focuses on adjacent cells and linear continuations
          * @param enemyBoard is the opponent's board
          * @param isTargetMode indicates if we are in target mode
-         * @param targetStack is the stack of target coordinates to consider
+         * @param targetStack is the queue of target cells to consider
          * @param hitHistory is the history of successful hits
          * @return an array with the chosen attack coordinates [row, column]
          */
         @Override
         public int[] chooseAttackCoordinates(
-                Board enemyBoard,
+                IBoardOperations enemyBoard,
                 boolean isTargetMode,
-                List<int[]> targetStack,
-                List<int[]> hitHistory
+                TargetQueue targetStack,
+                TargetQueue hitHistory
         ) {
+            resetCursorsIfStale(enemyBoard);
             if (isTargetMode && !targetStack.isEmpty()) {
                 return targetModeAttack(enemyBoard, targetStack, hitHistory);
             } else {
@@ -37,16 +67,59 @@ public class StandardMachineStrategy implements IMachineStrategy {
             }
         }
 
+        /**
+         * List version kept for existing callers
+         * The lists are copied to target queues, and the targets consumed are removed from targetStack
+         */
+        @Override
+        public int[] chooseAttackCoordinates(
+                IBoardOperations enemyBoard,
+                boolean isTargetMode,
+                List<int[]> targetStack,
+                List<int[]> hitHistory
+        ) {
+            TargetQueue targets = new TargetQueue(enemyBoard.getRows(), enemyBoard.getColumns());
+            TargetQueue hits = new TargetQueue(enemyBoard.getRows(), enemyBoard.getColumns());
+            targets.setAll(targetStack);
+            hits.setAll(hitHistory);
+            int[] coordinates = chooseAttackCoordinates(enemyBoard, isTargetMode, targets, hits);
+            targetStack.clear();
+            targetStack.addAll(targets.toList());
+            return coordinates;
+        }
+
+        /**
+         * Under the no-touch rule, the cells around a sunk ship are marked as water and never shot
+         */
+        @Override
+        public void notifyShotResult(int row, int column, int shotResult) {
+            if (scannedBoard == null) {
+                return;
+            }
+            if (water != null && ShotResult.isSunk(shotResult)) {
+                Boat boat = scannedBoard.getBoatById(ShotResult.shipId(shotResult));
+                if (boat != null) {
+                    PlacementTable.addHalo(water, scannedBoard.getRows(), scannedBoard.getColumns(), boat);
+                }
+            }
+            syncedHash = scannedBoard.getKnowledgeHash();
+        }
+
         /**
          * Hunt mode is based on the use of a checkerboard pattern for efficient coverage
          * This pattern ensures we hit every ship of length 2 or more
+         * The scan continues from the last checked cell, so a whole game costs O(rows * columns)
+         * instead of that amount on every turn
          */
-        private int[] huntModeAttack(Board enemyBoard) {
-            for (int i = 0; i < 10; i++) {
-                for (int j = 0; j < 10; j++) {
-                    if ((i + j) % 2 == 0 && enemyBoard.validShoot(i, j)) {
-                        return new int[]{i, j};
-                    }
+        private int[] huntModeAttack(IBoardOperations enemyBoard) {
+            resetCursorsIfStale(enemyBoard);
+            int columns = enemyBoard.getColumns();
+            int cells = enemyBoard.getRows() * columns;
+            for (; huntCursor < cells; huntCursor++) {
+                int i = huntCursor / columns;
+                int j = huntCursor % columns;
+                if ((i + j) % 2 == 0 && worthShooting(enemyBoard, i, j)) {
+                    return new int[]{i, j};
                 }
             }
             return getAnyValidPosition(enemyBoard);
@@ -59,22 +132,24 @@ public class StandardMachineStrategy implements IMachineStrategy {
          * If the stack is exhausted, we fallback to hunt mode
          */
         private int[] targetModeAttack(
-                Board enemyBoard,
-                List<int[]> targetStack,
-                List<int[]> hitHistory
+                IBoardOperations enemyBoard,
+                TargetQueue targetStack,
+                TargetQueue hitHistory
         ) {
             if (hitHistory.size() >= 2) {
                 int[] linearTarget = getLinearContinuation(enemyBoard, hitHistory);
                 if (linearTarget != null) {
-                    removeFromList(targetStack, linearTarget);
+                    targetStack.remove(linearTarget[0], linearTarget[1]);
                     return linearTarget;
                 }
             }
 
             while (!targetStack.isEmpty()) {
-                int[] target = targetStack.remove(0);
-                if (enemyBoard.validShoot(target[0], target[1])) {
-                    return target;
+                int target = targetStack.pollFirst();
+                int row = targetStack.rowOf(target);
+                int column = targetStack.columnOf(target);
+                if (worthShooting(enemyBoard, row, column)) {
+                    return new int[]{row, column};
                 }
             }
 
@@ -85,14 +160,18 @@ public class StandardMachineStrategy implements IMachineStrategy {
          * Finds linear continuation of aligned hits
          * If last 2 hits are aligned, continues in that direction
          */
-        private int[] getLinearContinuation(Board enemyBoard, List<int[]> hitHistory) {
+        private int[] getLinearContinuation(IBoardOperations enemyBoard, TargetQueue hitHistory) {
             if (hitHistory.size() < 2) return null;
 
-            int[] lastHit = hitHistory.get(hitHistory.size() - 1);
-            int[] secondLastHit = hitHistory.get(hitHistory.size() - 2);
+            int last = hitHistory.get(hitHistory.size() - 1);
+            int secondLast = hitHistory.get(hitHistory.size() - 2);
+            int lastRow = hitHistory.rowOf(last);
+            int lastCol = hitHistory.columnOf(last);
+            int secondLastRow = hitHistory.rowOf(secondLast);
+            int secondLastCol = hitHistory.columnOf(secondLast);
 
-            int deltaRow = lastHit[0] - secondLastHit[0];
-            int deltaCol = lastHit[1] - secondLastHit[1];
+            int deltaRow = lastRow - secondLastRow;
+            int deltaCol = lastCol - secondLastCol;
 
             //Check if hits are aligned (not diagonal, not same cell)
             if ((deltaRow != 0 && deltaCol != 0) || (deltaRow == 0 && deltaCol == 0)) {
@@ -100,18 +179,18 @@ public class StandardMachineStrategy implements IMachineStrategy {
             }
 
             //After the verifying, it tries to continue in the same direction
-            int nextRow = lastHit[0] + deltaRow;
-            int nextCol = lastHit[1] + deltaCol;
+            int nextRow = lastRow + deltaRow;
+            int nextCol = lastCol + deltaCol;
 
-            if (isValidCoordinate(nextRow, nextCol) && enemyBoard.validShoot(nextRow, nextCol)) {
+            if (isValidCoordinate(nextRow, nextCol, enemyBoard) && worthShooting(enemyBoard, nextRow, nextCol)) {
                 return new int[]{nextRow, nextCol};
             }
 
             //Tries opposite direction
-            int prevRow = secondLastHit[0] - deltaRow;
-            int prevCol = secondLastHit[1] - deltaCol;
+            int prevRow = secondLastRow - deltaRow;
+            int prevCol = secondLastCol - deltaCol;
 
-            if (isValidCoordinate(prevRow, prevCol) && enemyBoard.validShoot(prevRow, prevCol)) {
+            if (isValidCoordinate(prevRow, prevCol, enemyBoard) && worthShooting(enemyBoard, prevRow, prevCol)) {
                 return new int[]{prevRow, prevCol};
             }
 
@@ -120,38 +199,84 @@ public class StandardMachineStrategy implements IMachineStrategy {
 
         /**
          * Gets any valid attack position if there is no better option
+         * Tries a few random cells first and then continues a linear scan,
+         * so no list of every valid position is built
          */
-        private int[] getAnyValidPosition(Board enemyBoard) {
-            List<int[]> validPositions = new ArrayList<>();
+        private int[] getAnyValidPosition(IBoardOperations enemyBoard) {
+            int columns = enemyBoard.getColumns();
+            int cells = enemyBoard.getRows() * columns;
 
-            for (int i = 0; i < 10; i++) {
-                for (int j = 0; j < 10; j++) {
-                    if (enemyBoard.validShoot(i, j)) {
-                        validPositions.add(new int[]{i, j});
-                    }
+            for (int attempt = 0; attempt < RANDOM_PROBES; attempt++) {
+                int cell = random.nextInt(cells);
+                if (worthShooting(enemyBoard, cell / columns, cell % columns)) {
+                    return new int[]{cell / columns, cell % columns};
                 }
             }
 
-            if (validPositions.isEmpty()) {
-                throw new IllegalStateException("No valid attacks available!");
+            for (; fallbackCursor < cells; fallbackCursor++) {
+                if (worthShooting(enemyBoard, fallbackCursor / columns, fallbackCursor % columns)) {
+                    return new int[]{fallbackCursor / columns, fallbackCursor % columns};
+                }
+            }
+            // Only water is left, which can't happen while a ship is afloat
+            for (int cell = 0; cell < cells; cell++) {
+                if (enemyBoard.validShoot(cell / columns, cell % columns)) {
+                    return new int[]{cell / columns, cell % columns};
+                }
             }
 
-            return validPositions.get(random.nextInt(validPositions.size()));
+            throw new IllegalStateException("No valid attacks available!");
+        }
+
+        /**
+         * Restarts the scan cursors when the strategy is used against another board, or when the
+         * board changed without a shot being notified (undo, initialize). The water is rebuilt
+         * from the ships sunk on the board at that point
+         * @param enemyBoard is the board about to be scanned
+         */
+        private void resetCursorsIfStale(IBoardOperations enemyBoard) {
+            if (scannedBoard == enemyBoard && enemyBoard.getKnowledgeHash() == syncedHash) {
+                return;
+            }
+            scannedBoard = enemyBoard;
+            syncedHash = enemyBoard.getKnowledgeHash();
+            huntCursor = 0;
+            fallbackCursor = 0;
+            water = null;
+            if (enemyBoard.getPlacementRule() == PlacementRule.NO_TOUCH) {
+                int rows = enemyBoard.getRows();
+                int columns = enemyBoard.getColumns();
+                water = new long[(rows * columns + 63) >>> 6];
+                for (Boat boat : enemyBoard.getBoatList()) {
+                    if (boat.isSunk()) {
+                        PlacementTable.addHalo(water, rows, columns, boat);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks that a cell can be shot and may still hide a ship
+         * @param enemyBoard is the board being attacked
+         * @param row is the row of the cell
+         * @param col is the column of the cell
+         * @return true if the cell is worth a shot
+         */
+        private boolean worthShooting(IBoardOperations enemyBoard, int row, int col) {
+            if (!enemyBoard.validShoot(row, col)) {
+                return false;
+            }
+            int cell = row * enemyBoard.getColumns() + col;
+            return water == null || (water[cell >>> 6] & (1L << cell)) == 0;
         }
         /**
          * Checks if the given coordinates are within the board bounds
          * @param row is the row to check
          * @param col is the column to check
+         * @param enemyBoard is the board that gives the bounds
          * @return true if the coordinates are valid, false otherwise
          */
-        private boolean isValidCoordinate(int row, int col) {
-            return row >= 0 && row < 10 && col >= 0 && col < 10;
-        }
-        /** Removes a specific coordinate from a list of coordinates
-         * @param list is the list from which we want to remove the coordinate
-         * @param target is the coordinate we want to remove
-         * */
-        private void removeFromList(List<int[]> list, int[] target) {
-            list.removeIf(item -> item[0] == target[0] && item[1] == target[1]);
+        private boolean isValidCoordinate(int row, int col, IBoardOperations enemyBoard) {
+            return row >= 0 && row < enemyBoard.getRows() && col >= 0 && col < enemyBoard.getColumns();
         }
 }
@@ -0,0 +1,265 @@
+package Model.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Queue of distinct board cells, stored as cell indices (row * columns + column)
+ * A ring buffer holds the order and an open-addressing hash set the membership, so adding, polling
+ * from either end and contains are O(1). Both start small and double when full, the memory follows
+ * the number of queued cells and not the size of the board (a few hits on a 10000x10000 board).
+ * A cell can be queued once at a time
+ * Not thread-safe, a queue belongs to one Machine
+ */
+public final class TargetQueue {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int rows;
+    private final int columns;
+    private int[] ring; // Power of two length
+    private int[] members; // Cell + 1 of every queued cell, 0 for a free slot, at most half full
+    private int head;
+    private int size;
+
+    /**Constructor
+     *
+     * @param rows    Number of rows of the board
+     * @param columns Number of columns of the board
+     */
+    public TargetQueue(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The board must have at least one row and one column");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.ring = new int[INITIAL_CAPACITY];
+        this.members = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**Adds a cell at the end of the queue
+     * @return false if the cell was already queued
+     */
+    public boolean addLast(int row, int column) {
+        int cell = cellOf(row, column);
+        if (contains(cell)) {
+            return false;
+        }
+        grow();
+        members[slotOf(cell)] = cell + 1;
+        ring[wrap(head + size)] = cell;
+        size++;
+        return true;
+    }
+
+    /**Adds a cell at the front of the queue
+     * @return false if the cell was already queued
+     */
+    public boolean addFirst(int row, int column) {
+        int cell = cellOf(row, column);
+        if (contains(cell)) {
+            return false;
+        }
+        grow();
+        members[slotOf(cell)] = cell + 1;
+        head = wrap(head - 1 + ring.length);
+        ring[head] = cell;
+        size++;
+        return true;
+    }
+
+    /**Removes the first cell of the queue
+     * @return its cell index, -1 if the queue is empty
+     */
+    public int pollFirst() {
+        if (size == 0) {
+            return -1;
+        }
+        int cell = ring[head];
+        head = wrap(head + 1);
+        size--;
+        removeMember(cell);
+        return cell;
+    }
+
+    /**Removes the last cell of the queue
+     * @return its cell index, -1 if the queue is empty
+     */
+    public int pollLast() {
+        if (size == 0) {
+            return -1;
+        }
+        size--;
+        int cell = ring[wrap(head + size)];
+        removeMember(cell);
+        return cell;
+    }
+
+    /**Cell index at a position, 0 being the first cell of the queue
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index " + index + " outside of a queue of " + size + " cells");
+        }
+        return ring[wrap(head + index)];
+    }
+
+    public boolean contains(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns && contains(row * columns + column);
+    }
+
+    /**Checks if a cell index is queued
+     */
+    public boolean contains(int cell) {
+        return members[slotOf(cell)] != 0;
+    }
+
+    /**Removes a cell wherever it is in the queue, keeping the order of the others
+     * O(1) to know it is absent, otherwise the cells after it are shifted
+     * @return false if the cell was not queued
+     */
+    public boolean remove(int row, int column) {
+        int cell = cellOf(row, column);
+        if (!contains(cell)) {
+            return false;
+        }
+        removeMember(cell);
+        int index = 0;
+        while (ring[wrap(head + index)] != cell) {
+            index++;
+        }
+        for (; index < size - 1; index++) {
+            ring[wrap(head + index)] = ring[wrap(head + index + 1)];
+        }
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(members, 0);
+            size = 0;
+        }
+        head = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**Row of a cell index
+     */
+    public int rowOf(int cell) {
+        return cell / columns;
+    }
+
+    /**Column of a cell index
+     */
+    public int columnOf(int cell) {
+        return cell % columns;
+    }
+
+    /**Copies the queue as [row, column] pairs, first cell first
+     * For the strategies and callers still working with lists
+     */
+    public List<int[]> toList() {
+        List<int[]> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int cell = get(i);
+            list.add(new int[]{rowOf(cell), columnOf(cell)});
+        }
+        return list;
+    }
+
+    /**Replaces the content of the queue with a list of [row, column] pairs
+     * Cells outside of the board and repeated cells are ignored
+     */
+    public void setAll(List<int[]> cells) {
+        clear();
+        for (int[] cell : cells) {
+            if (cell[0] >= 0 && cell[0] < rows && cell[1] >= 0 && cell[1] < columns) {
+                addLast(cell[0], cell[1]);
+            }
+        }
+    }
+
+    private int cellOf(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + column + ") outside of the board");
+        }
+        return row * columns + column;
+    }
+
+    private int wrap(int index) {
+        return index & (ring.length - 1);
+    }
+
+    /**Doubles the ring when it is full and the set before it is more than half full
+     */
+    private void grow() {
+        if (size == ring.length) {
+            int[] larger = new int[ring.length * 2];
+            for (int i = 0; i < size; i++) {
+                larger[i] = ring[wrap(head + i)];
+            }
+            ring = larger;
+            head = 0;
+        }
+        if ((size + 1) * 2 > members.length) {
+            int[] old = members;
+            members = new int[old.length * 2];
+            for (int member : old) {
+                if (member != 0) {
+                    members[slotOf(member - 1)] = member;
+                }
+            }
+        }
+    }
+
+    /**Slot of a cell in the set, or the free slot where it would be inserted (linear probing)
+     */
+    private int slotOf(int cell) {
+        int mask = members.length - 1;
+        int slot = hash(cell) & mask;
+        while (members[slot] != 0 && members[slot] != cell + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**Removes a queued cell from the set, the cells probed after it are shifted back so no
+     * tombstone is left
+     */
+    private void removeMember(int cell) {
+        int mask = members.length - 1;
+        int free = slotOf(cell);
+        members[free] = 0;
+        for (int slot = (free + 1) & mask; members[slot] != 0; slot = (slot + 1) & mask) {
+            int home = hash(members[slot] - 1) & mask;
+            // The cell stays if its home slot is in (free, slot], cyclically
+            boolean stays = free <= slot ? free < home && home <= slot : free < home || home <= slot;
+            if (!stays) {
+                members[free] = members[slot];
+                members[slot] = 0;
+                free = slot;
+            }
+        }
+    }
+
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
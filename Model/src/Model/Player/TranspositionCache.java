@@ -0,0 +1,107 @@
+package Model.Player;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of per-position results keyed by a 64-bit board hash
+ * (usually IBoardOperations.getKnowledgeHash()), meant for strategies to memoize
+ * expensive computations such as probability maps. Positions that come back
+ * (the same early game shots in self-play) are then computed only once
+ * The table is direct mapped: a new entry replaces the one in its slot, so the
+ * memory never grows past the capacity. Entries are immutable, which makes the
+ * cache safe to share between threads without locking (a lost race only costs a
+ * recomputation)
+ *
+ * @param <V> Type of the cached results, they must not be modified once cached
+ */
+public class TranspositionCache<V> {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private final Entry<V>[] entries;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**Creates a cache with the default capacity
+     */
+    public TranspositionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**Creates a cache
+     *
+     * @param capacity Maximum number of entries, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TranspositionCache(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = (Entry<V>[]) new Entry<?>[size];
+        this.mask = size - 1;
+    }
+
+    /**Gets the result cached for a position
+     *
+     * @param hash Hash of the position
+     * @return The cached result, or null if the position is not cached
+     */
+    public V get(long hash) {
+        Entry<V> entry = entries[index(hash)];
+        if (entry != null && entry.hash == hash) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**Caches the result of a position, replacing the entry that used its slot
+     *
+     * @param hash Hash of the position
+     * @param value Result to cache
+     */
+    public void put(long hash, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cached values can not be null");
+        }
+        entries[index(hash)] = new Entry<>(hash, value);
+    }
+
+    public void clear() {
+        Arrays.fill(entries, null);
+        hits.reset();
+        misses.reset();
+    }
+
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static final class Entry<V> {
+        final long hash;
+        final V value;
+
+        Entry(long hash, V value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package Services;
 
 import Attacks.Attack;
+import Attacks.ShotVector;
 import Model.Match.Match;
 import Model.Player.Machine;
 import Model.Player.Player;
@@ -9,6 +10,7 @@ import Services.Interfaces.IAttackService;
 
 public class AttackExecutor implements IAttackExecutor {
     private final IAttackService attackService;
+    private final ShotVector shots = new ShotVector(); // Reused by every attack, the controller runs one at a time
 
     /**Constructor with dependency injection
      *
@@ -20,8 +22,8 @@ public class AttackExecutor implements IAttackExecutor {
 
     /**Executes a player's attack on the enemy
      * Process:
-     * 1. Apply attack to target board
-     * 2. Mark result on attacker's attack board
+     * 1. Apply attack to target board, recording the result of each cell it shot
+     * 2. Mirror exactly those results on attacker's attack board
      * 3. Return result with hit information
      *
      * @param match Current match context
@@ -33,20 +35,13 @@ public class AttackExecutor implements IAttackExecutor {
     @Override
     public AttackResult executeAttack(Match match, Attack attack, Player attacker, Player target) {
         // Execute attack through match (handles turn logic)
-        String result = match.executeAttack(attack, attacker, target);
+        shots.clear();
+        AttackResult result = new AttackResult(attack, match.executeAttack(attack, attacker, target, shots));
 
-        // Determine if it was a hit
-        boolean wasHit = result.contains("Hit") || result.contains("Sunk");
+        // Mark every cell the attack shot on attacker's tracking board
+        attackService.mirrorShots(attacker.getAttackBoard(), shots);
 
-        // Mark attack on attacker's tracking board
-        attackService.markAttackOnBoard(
-                attacker.getAttackBoard(),
-                attack.getRow(),
-                attack.getColumn(),
-                wasHit
-        );
-
-        return new AttackResult(result, wasHit, attack.getRow(), attack.getColumn());
+        return result;
     }
 
     /**Executes the machine's attack automatically
@@ -54,7 +49,8 @@ public class AttackExecutor implements IAttackExecutor {
      * 1. Machine chooses target
      * 2. Execute attack
      * 3. Notify machine of result (for AI learning)
-     * 4. Return result
+     * 4. Let the machine ponder its next attack if the turn passes to the player
+     * 5. Return result
      *
      * @param match Current match
      * @return Attack result
@@ -68,19 +64,22 @@ public class AttackExecutor implements IAttackExecutor {
         Attack attack = machine.makeAttack(player.getOwnBoard());
 
         // Execute attack
-        String result = match.executeAttack(attack, machine, player);
+        AttackResult result = new AttackResult(attack, match.executeAttack(attack, machine, player));
 
         // Notify machine for AI learning
         machine.notifyAttackResult(
                 attack.getRow(),
                 attack.getColumn(),
-                result,
+                result.getShotResult(),
                 player.getOwnBoard()
         );
 
-        boolean wasHit = result.contains("Hit") || result.contains("Sunk");
+        // Prepare the next attack while the player takes their turn
+        if (!match.isGameFinished() && match.isPlayerTurn()) {
+            machine.ponder(player.getOwnBoard());
+        }
 
-        return new AttackResult(result, wasHit, attack.getRow(), attack.getColumn());
+        return result;
     }
 
 }
@@ -1,54 +1,58 @@
 package Services;
 
+import Attacks.Attack;
+import Attacks.AttackOutcome;
+import Model.Board.ShotResult;
+
 public class AttackResult {
-    private final String message;
-    private final boolean wasHit;
-    private final int row;
-    private final int column;
+    private final Attack attack;
+    private final long outcome;
 
     /**Constructor for attack result
-     * @param message Descriptive message of the result
-     * @param wasHit Whether the attack hit a ship
-     * @param row Row coordinate of the attack
-     * @param column Column coordinate of the attack
+     * @param attack The attack that was executed
+     * @param outcome Packed AttackOutcome returned by the attack
      */
-    public AttackResult(String message, boolean wasHit, int row, int column) {
-        this.message = message;
-        this.wasHit = wasHit;
-        this.row = row;
-        this.column = column;
+    public AttackResult(Attack attack, long outcome) {
+        this.attack = attack;
+        this.outcome = outcome;
     }
 
-    /**
-     * Simplified constructor when coordinates are not needed
+    /**Descriptive message of the result
+     * The message is built on demand, so headless callers never pay for it
      */
-    public AttackResult(String message, boolean wasHit) {
-        this(message, wasHit, -1, -1);
+    public String getMessage() {
+        return attack.describe(outcome);
     }
 
-    public String getMessage() {
-        return message;
+    public long getOutcome() {
+        return outcome;
+    }
+
+    /**ShotResult of the chosen cell of the attack
+     */
+    public int getShotResult() {
+        return AttackOutcome.primaryResult(outcome);
     }
 
     public boolean wasHit() {
-        return wasHit;
+        return ShotResult.isHit(getShotResult());
     }
 
     public int getRow() {
-        return row;
+        return attack.getRow();
     }
 
     public int getColumn() {
-        return column;
+        return attack.getColumn();
     }
 
     public boolean isSunk() {
-        return message.contains("Sunk");
+        return ShotResult.isSunk(getShotResult());
     }
 
     @Override
     public String toString() {
         return String.format("AttackResult[message='%s', hit=%b, position=(%d,%d)]",
-                message, wasHit, row, column);
+                getMessage(), wasHit(), getRow(), getColumn());
     }
 }
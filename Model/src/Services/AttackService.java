@@ -1,7 +1,11 @@
 package Services;
 
 import Attacks.Attack;
-import Model.Board.Board;
+import Attacks.AttackPattern;
+import Attacks.ShotVector;
+import Model.Board.BoardDeltaBuffer;
+import Model.Board.IBoardOperations;
+import Model.Board.ShotResult;
 import Services.Interfaces.IAttackService;
 
 /**
@@ -12,88 +16,98 @@ import Services.Interfaces.IAttackService;
 public class AttackService implements IAttackService {
 
     @Override
-    public String executeAttack(Attack attack, Board targetBoard) {
+    public long executeAttack(Attack attack, IBoardOperations targetBoard) {
         return attack.apply(targetBoard);
     }
 
     @Override
-    public void markAttackOnBoard(Board attackBoard, int row, int column, boolean wasHit) {
+    public void markAttackOnBoard(IBoardOperations attackBoard, int row, int column, boolean wasHit) {
         if (row >= 0 && row < attackBoard.getRows() &&
                 column >= 0 && column < attackBoard.getColumns()) {
             attackBoard.markAttack(row, column, wasHit);
         }
     }
 
+    /**Marks on the attack board the cells of a pattern, as they are on the enemy board
+     * The cells outside the board are clipped by the compiled mask of the pattern
+     *
+     * @param attackBoard Tracking board of the attacker
+     * @param enemyBoard Board that was attacked
+     * @param pattern Shape of the attack
+     * @param row Chosen row of the attack
+     * @param column Chosen column of the attack
+     */
     @Override
-    public void markCrossAttackPattern(Board attackBoard, Board enemyBoard, int centerRow, int centerCol) {
-        int[][] crossPattern = {
-                {centerRow, centerCol},           // Center
-                {centerRow - 1, centerCol},       // Up
-                {centerRow + 1, centerCol},       // Down
-                {centerRow, centerCol - 1},       // Left
-                {centerRow, centerCol + 1}        // Right
-        };
-
-        for (int[] pos : crossPattern) {
-            int r = pos[0];
-            int c = pos[1];
+    public void markAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, AttackPattern pattern, int row, int column) {
+        AttackPattern.Mask mask = pattern.compile(attackBoard.getRows(), attackBoard.getColumns());
+        for (int k = 0; k < mask.size(); k++) {
+            if (mask.covers(k, row, column)) {
+                int r = row + mask.rowOffset(k);
+                int c = column + mask.columnOffset(k);
+                markAttackOnBoard(attackBoard, r, c, enemyBoard.getCellState(r, c) == 3); // 3 = hit
+            }
+        }
+    }
 
-            if (r >= 0 && r < attackBoard.getRows() &&
-                    c >= 0 && c < attackBoard.getColumns()) {
+    @Deprecated
+    @Override
+    public void markCrossAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int centerRow, int centerCol) {
+        markAttackPattern(attackBoard, enemyBoard, AttackPattern.CROSS, centerRow, centerCol);
+    }
 
-                int[][] enemyBoardState = enemyBoard.getBoardState();
-                boolean wasHit = (enemyBoardState[r][c] == 3); // 3 = hit
+    @Deprecated
+    @Override
+    public void markTorpedoAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int row, int column, boolean isHorizontal) {
+        markAttackPattern(attackBoard, enemyBoard, isHorizontal ? AttackPattern.ROW : AttackPattern.COLUMN, row, column);
+    }
 
-                markAttackOnBoard(attackBoard, r, c, wasHit);
-            }
-        }
+    @Deprecated
+    @Override
+    public void markNukeAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int centerRow, int centerCol) {
+        markAttackPattern(attackBoard, enemyBoard, AttackPattern.NUKE, centerRow, centerCol);
     }
 
+    /**Copies onto the attack board the shots recorded on the enemy board
+     * Only the changed cells are visited, whatever the shape of the attack. If the
+     * buffer lost changes, every shot cell of the enemy board is copied instead
+     *
+     * @param attackBoard Tracking board of the attacker
+     * @param enemyChanges Changes recorded on the enemy board during the attack
+     */
     @Override
-    public void markTorpedoAttackPattern(Board attackBoard, Board enemyBoard, int row, int column, boolean isHorizontal) {
-        if (isHorizontal) {
-            // Mark entire row
-            for (int c = 0; c < attackBoard.getColumns(); c++) {
-                int[][] enemyBoardState = enemyBoard.getBoardState();
-                boolean wasHit = (enemyBoardState[row][c] == 3);
-                markAttackOnBoard(attackBoard, row, c, wasHit);
+    public void mirrorChanges(IBoardOperations attackBoard, BoardDeltaBuffer enemyChanges) {
+        boolean complete = enemyChanges.drain((board, row, column, oldState, newState, shipId) -> {
+            if (newState == 2 || newState == 3) {
+                markAttackOnBoard(attackBoard, row, column, newState == 3);
             }
-        } else {
-            // Mark entire column
-            for (int r = 0; r < attackBoard.getRows(); r++) {
-                int[][] enemyBoardState = enemyBoard.getBoardState();
-                boolean wasHit = (enemyBoardState[r][column] == 3);
-                markAttackOnBoard(attackBoard, r, column, wasHit);
+        });
+        if (!complete) {
+            IBoardOperations enemyBoard = enemyChanges.getBoard();
+            for (int r = 0; r < enemyBoard.getRows(); r++) {
+                for (int c = 0; c < enemyBoard.getColumns(); c++) {
+                    int state = enemyBoard.getCellState(r, c);
+                    if (state == 2 || state == 3) {
+                        markAttackOnBoard(attackBoard, r, c, state == 3);
+                    }
+                }
             }
         }
     }
 
+    /**Marks on the attack board the cells an attack shot, with the results it got
+     * The results come from the attack itself, the enemy board is not read again. Cells that
+     * were already shot are skipped, they are marked since their first shot
+     *
+     * @param attackBoard Tracking board of the attacker
+     * @param shots Results recorded by Attack.apply
+     */
     @Override
-    public void markNukeAttackPattern(Board attackBoard, Board enemyBoard, int centerRow, int centerCol) {
-        int[][] nukePattern = {
-                {centerRow - 1, centerCol - 1}, // Top-left
-                {centerRow - 1, centerCol},     // Top-center
-                {centerRow - 1, centerCol + 1}, // Top-right
-                {centerRow, centerCol - 1},     // Middle-left
-                {centerRow, centerCol},         // Center
-                {centerRow, centerCol + 1},     // Middle-right
-                {centerRow + 1, centerCol - 1}, // Bottom-left
-                {centerRow + 1, centerCol},     // Bottom-center
-                {centerRow + 1, centerCol + 1}  // Bottom-right
-        };
-
-        for (int[] pos : nukePattern) {
-            int r = pos[0];
-            int c = pos[1];
-
-            if (r >= 0 && r < attackBoard.getRows() &&
-                    c >= 0 && c < attackBoard.getColumns()) {
-
-                int[][] enemyBoardState = enemyBoard.getBoardState();
-                boolean wasHit = (enemyBoardState[r][c] == 3);
-
-                markAttackOnBoard(attackBoard, r, c, wasHit);
+    public void mirrorShots(IBoardOperations attackBoard, ShotVector shots) {
+        for (int i = 0; i < shots.size(); i++) {
+            int result = shots.getResult(i);
+            if (!ShotResult.isAlreadyShot(result)) {
+                markAttackOnBoard(attackBoard, shots.getRow(i), shots.getColumn(i), ShotResult.isHit(result));
             }
         }
     }
-}
\ No newline at end of file
+}
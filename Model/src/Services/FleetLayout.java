@@ -0,0 +1,91 @@
+package Services;
+
+import Model.Board.IBoardOperations;
+import Model.Boat.Boat;
+
+import java.util.List;
+
+/**
+ * Positions of a deployed fleet, so the same layout can be deployed again on other boards
+ * The ships are identified by their index in the fleet array, the fleet the layout is
+ * applied to must have the same lengths in the same order (FleetManager.createFleet gives both)
+ */
+public final class FleetLayout {
+    private final int[] lengths;
+    private final int[] rows;
+    private final int[] columns;
+    private final boolean[] horizontal;
+
+    private FleetLayout(int[] lengths, int[] rows, int[] columns, boolean[] horizontal) {
+        this.lengths = lengths;
+        this.rows = rows;
+        this.columns = columns;
+        this.horizontal = horizontal;
+    }
+
+    /**Records the positions of a fleet already placed on a board
+     *
+     * @param fleet The placed fleet
+     * @return the layout of the fleet
+     * @throws IllegalArgumentException if a boat of the fleet is not placed
+     */
+    public static FleetLayout capture(Boat[] fleet) {
+        int[] lengths = new int[fleet.length];
+        int[] rows = new int[fleet.length];
+        int[] columns = new int[fleet.length];
+        boolean[] horizontal = new boolean[fleet.length];
+        for (int i = 0; i < fleet.length; i++) {
+            lengths[i] = fleet[i].getLength();
+            List<int[]> positions = fleet[i].getPositions();
+            if (positions.isEmpty()) {
+                throw new IllegalArgumentException("Boat " + i + " of the fleet is not placed");
+            }
+            rows[i] = positions.get(0)[0];
+            columns[i] = positions.get(0)[1];
+            horizontal[i] = positions.size() == 1 || positions.get(1)[0] == rows[i];
+        }
+        return new FleetLayout(lengths, rows, columns, horizontal);
+    }
+
+    /**Checks if the layout can be applied to a fleet: same lengths in the same order
+     */
+    public boolean matches(Boat[] fleet) {
+        if (fleet.length != lengths.length) {
+            return false;
+        }
+        for (int i = 0; i < fleet.length; i++) {
+            if (fleet[i].getLength() != lengths[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Places a fleet on a board at the recorded positions
+     * If a boat can't be placed, the boats already placed are removed again
+     *
+     * @param board The board, without boats
+     * @param fleet Fleet with the composition of the captured one
+     * @return true if every boat was placed
+     */
+    public boolean deploy(IBoardOperations board, Boat[] fleet) {
+        if (!matches(fleet)) {
+            return false;
+        }
+        for (int i = 0; i < fleet.length; i++) {
+            if (!board.placeShip(fleet[i], rows[i], columns[i], horizontal[i])) {
+                for (int j = 0; j < i; j++) {
+                    board.removeShip(fleet[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Number of ships of the layout
+     */
+    public int size() {
+        return rows.length;
+    }
+}
@@ -0,0 +1,210 @@
+package Services;
+
+import Model.Board.BoardFactory;
+import Model.Board.IBoardFactory;
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Boat.Boat;
+import Model.Match.GameConfig;
+import Services.Interfaces.IShipPlacementService;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded stock of ready-made fleet layouts for one board size and fleet composition
+ * A daemon thread places fleets on scratch boards with the placement service and fills the
+ * stock, then sleeps until half of it was taken. Taking a layout is lock-free and only the take
+ * that reaches the half wakes the filler, so a take costs a queue poll and deploying it one
+ * placeShip per boat: a new game no longer waits for the random placement (or the solver fallback).
+ * When the stock is empty the caller places the fleet itself, hits and misses are counted.
+ * The layouts come from the unseeded placement, seeded games must not use the pool.
+ * Thread-safe: any number of threads can take layouts while the filler runs
+ */
+public class FleetLayoutPool implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final int rows;
+    private final int columns;
+    private final PlacementRule placementRule;
+    private final Boat[] fleetTemplate;
+    private final IShipPlacementService placementService;
+    private final IBoardFactory boardFactory;
+    private final int capacity;
+    private final int lowWater; // The filler sleeps until the ready layouts drop to this
+    private final Queue<FleetLayout> layouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ready = new AtomicInteger();
+    private final Object fillerMonitor = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private Thread filler;
+
+    /**Constructor with dependency injection
+     * The pool is empty until start is called
+     *
+     * @param gameConfig       Board size, board implementation and placement rule of the layouts
+     * @param fleetTemplate    Fleet the layouts are for (FleetManager.createFleet), only its lengths are used
+     * @param placementService Service placing the fleets on the scratch boards
+     * @param capacity         Layouts kept ready
+     */
+    public FleetLayoutPool(GameConfig gameConfig, Boat[] fleetTemplate,
+                           IShipPlacementService placementService, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of a layout pool must be positive");
+        }
+        if (fleetTemplate == null || fleetTemplate.length == 0) {
+            throw new IllegalArgumentException("A layout pool needs a fleet");
+        }
+        this.rows = gameConfig.getRows();
+        this.columns = gameConfig.getColumns();
+        this.placementRule = gameConfig.getPlacementRule();
+        this.fleetTemplate = fleetTemplate.clone();
+        this.placementService = placementService;
+        this.boardFactory = new BoardFactory(gameConfig.getBoardType(), gameConfig.getPlacementRule());
+        this.capacity = capacity;
+        this.lowWater = capacity / 2;
+    }
+
+    /**Constructor with the default capacity
+     */
+    public FleetLayoutPool(GameConfig gameConfig, Boat[] fleetTemplate, IShipPlacementService placementService) {
+        this(gameConfig, fleetTemplate, placementService, DEFAULT_CAPACITY);
+    }
+
+    /**Starts the filler thread, does nothing if it is already running
+     */
+    public synchronized void start() {
+        if (filler != null) {
+            return;
+        }
+        filler = new Thread(this::fill, "fleet-layout-pool");
+        filler.setDaemon(true);
+        filler.setPriority(Thread.MIN_PRIORITY);
+        filler.start();
+    }
+
+    /**Stops the filler thread, the layouts already made can still be taken
+     */
+    @Override
+    public synchronized void close() {
+        if (filler != null) {
+            filler.interrupt();
+            filler = null;
+        }
+    }
+
+    /**Takes a ready layout
+     *
+     * @return the layout, or null if the pool is empty (counted as a miss)
+     */
+    public FleetLayout poll() {
+        FleetLayout layout = layouts.poll();
+        if (layout == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (ready.decrementAndGet() == lowWater) {
+            synchronized (fillerMonitor) {
+                fillerMonitor.notify();
+            }
+        }
+        return layout;
+    }
+
+    /**Deploys a ready layout on a board
+     * Boards and fleets the pool was not made for are refused without counting a miss
+     *
+     * @param board The board, without boats
+     * @param fleet The fleet to deploy
+     * @return true if a layout was taken and every boat placed, false if the caller must place the fleet
+     */
+    public boolean deploy(IBoardOperations board, Boat[] fleet) {
+        if (!accepts(board, fleet)) {
+            return false;
+        }
+        FleetLayout layout = poll();
+        return layout != null && layout.deploy(board, fleet);
+    }
+
+    /**Checks if the layouts of the pool fit a board and a fleet
+     */
+    public boolean accepts(IBoardOperations board, Boat[] fleet) {
+        if (board.getRows() != rows || board.getColumns() != columns || board.getPlacementRule() != placementRule
+                || fleet.length != fleetTemplate.length) {
+            return false;
+        }
+        for (int i = 0; i < fleet.length; i++) {
+            if (fleet[i].getLength() != fleetTemplate[i].getLength()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**Layouts taken from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**Requests that found the pool empty
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**Layouts ready right now
+     */
+    public int size() {
+        return ready.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void fill() {
+        SplittableRandom random = new SplittableRandom();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (ready.get() >= capacity) {
+                    synchronized (fillerMonitor) {
+                        while (ready.get() > lowWater) {
+                            fillerMonitor.wait();
+                        }
+                    }
+                }
+                FleetLayout layout = createLayout(random);
+                if (layout == null) {
+                    return; // The fleet does not fit the board, every deploy will be a miss
+                }
+                layouts.add(layout);
+                ready.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private FleetLayout createLayout(SplittableRandom random) {
+        IBoardOperations board = boardFactory.createBoard(rows, columns);
+        Boat[] fleet = new Boat[fleetTemplate.length];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = new Boat(fleetTemplate[i].getType(), fleetTemplate[i].getLength());
+        }
+        if (!placementService.placeFleetAutomatically(board, fleet, random)) {
+            return null;
+        }
+        return FleetLayout.capture(fleet);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FleetLayoutPool[%dx%d, ready=%d/%d, hits=%d, misses=%d]",
+                rows, columns, size(), getCapacity(), getHits(), getMisses());
+    }
+}
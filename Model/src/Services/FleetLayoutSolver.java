@@ -0,0 +1,379 @@
+package Services;
+
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Boat.Boat;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Backtracking solver that places a whole fleet on a board, or proves that it can't be placed
+ * The occupancy is a bitset (bit = row * columns + column). Ships are placed largest first,
+ * since they have the fewest placements. The placements of each length come from the shared
+ * PlacementTable, so a placement is checked with one AND per word it touches.
+ * Each length starts its scan at a random placement, so successive layouts differ.
+ * Ships of the same length are interchangeable: each one only tries placements after the one of
+ * the previous ship of that length, so the same set of positions is never explored twice.
+ * A branch is cut when the free cells that the shortest remaining ship could still cover
+ * (cells in a free run at least that long) are fewer than the cells of the remaining ships.
+ * Under the no-touch rule a placed ship takes its halo, the occupancy of each depth is saved
+ * before and restored on backtracking.
+ * The search stops after a number of nodes, the result tells which of the three cases happened
+ * The solver keeps no state between calls, one instance can be shared by several threads
+ */
+public class FleetLayoutSolver {
+    public static final long DEFAULT_MAX_NODES = 1_000_000;
+
+    /**
+     * Outcome of a search
+     */
+    public enum Status {
+        SOLVED,           // Every ship has a position
+        NO_LAYOUT,        // The whole search space was explored, the fleet does not fit
+        BUDGET_EXHAUSTED  // The node budget ran out before an answer
+    }
+
+    private final long maxNodes;
+
+    /**Constructor with the default node budget
+     */
+    public FleetLayoutSolver() {
+        this(DEFAULT_MAX_NODES);
+    }
+
+    /**Constructor
+     *
+     * @param maxNodes Placements tried before the search gives up
+     */
+    public FleetLayoutSolver(long maxNodes) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("The node budget must be positive");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**Finds positions for a fleet on a board, around the boats already on it
+     * The board is only read, the caller places the boats (see Layout.deploy). The layout follows
+     * the placement rule of the board
+     *
+     * @param board  The board to fill
+     * @param fleet  Boats to place, in any order
+     * @param random Generator of the scan start of each length
+     * @return the layout, in the order of the fleet, and the status of the search
+     */
+    public Layout solve(IBoardOperations board, Boat[] fleet, RandomGenerator random) {
+        int[] lengths = new int[fleet.length];
+        for (int i = 0; i < fleet.length; i++) {
+            lengths[i] = fleet[i].getLength();
+        }
+        return solve(board.getRows(), board.getColumns(), lengths, ShipPlacementService.occupancyOf(board), random,
+                board.getPlacementRule());
+    }
+
+    /**Finds positions for ships of given lengths that may touch
+     *
+     * @param rows     Number of rows of the board
+     * @param columns  Number of columns of the board
+     * @param lengths  Length of each ship
+     * @param occupied Cells already taken (bit row * columns + column), not modified
+     * @param random   Generator of the scan start of each length
+     * @return the layout, in the order of the lengths, and the status of the search
+     */
+    public Layout solve(int rows, int columns, int[] lengths, long[] occupied, RandomGenerator random) {
+        return solve(rows, columns, lengths, occupied, random, PlacementRule.TOUCH_ALLOWED);
+    }
+
+    /**Finds positions for ships of given lengths
+     *
+     * @param rows          Number of rows of the board
+     * @param columns       Number of columns of the board
+     * @param lengths       Length of each ship
+     * @param occupied      Cells no ship may cover (bit row * columns + column), not modified
+     * @param random        Generator of the scan start of each length
+     * @param placementRule Rule the layout follows, under NO_TOUCH occupied must hold the halos of the boats around
+     * @return the layout, in the order of the lengths, and the status of the search
+     */
+    public Layout solve(int rows, int columns, int[] lengths, long[] occupied, RandomGenerator random,
+                        PlacementRule placementRule) {
+        return new Search(rows, columns, lengths, occupied, random, maxNodes, placementRule == PlacementRule.NO_TOUCH).run();
+    }
+
+    /**
+     * Result of a search: status and, when solved, the position of each ship
+     */
+    public static final class Layout {
+        private final Status status;
+        private final int[] rows;
+        private final int[] columns;
+        private final boolean[] horizontal;
+        private final long nodes;
+
+        Layout(Status status, int[] rows, int[] columns, boolean[] horizontal, long nodes) {
+            this.status = status;
+            this.rows = rows;
+            this.columns = columns;
+            this.horizontal = horizontal;
+            this.nodes = nodes;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isSolved() {
+            return status == Status.SOLVED;
+        }
+
+        /**Placements tried by the search
+         */
+        public long getNodes() {
+            return nodes;
+        }
+
+        public int getRow(int ship) {
+            requireSolved();
+            return rows[ship];
+        }
+
+        public int getColumn(int ship) {
+            requireSolved();
+            return columns[ship];
+        }
+
+        public boolean isHorizontal(int ship) {
+            requireSolved();
+            return horizontal[ship];
+        }
+
+        /**Places the boats of the fleet at the positions found
+         * If the board refuses a boat, the boats already placed are removed again
+         *
+         * @param board The board the layout was solved for
+         * @param fleet The fleet the layout was solved for
+         * @return true if every boat was placed
+         */
+        public boolean deploy(IBoardOperations board, Boat[] fleet) {
+            requireSolved();
+            for (int i = 0; i < fleet.length; i++) {
+                if (!board.placeShip(fleet[i], rows[i], columns[i], horizontal[i])) {
+                    for (int j = 0; j < i; j++) {
+                        board.removeShip(fleet[j]);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void requireSolved() {
+            if (status != Status.SOLVED) {
+                throw new IllegalStateException("No layout: " + status);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Layout[" + status + ", nodes=" + nodes + "]";
+        }
+    }
+
+    /**
+     * State of one search, so the solver itself stays immutable
+     */
+    private static final class Search {
+        private final int rows;
+        private final int columns;
+        private final long[] occupied;
+        private final long maxNodes;
+        private final long[][] saved; // Occupancy before the ship of each depth, under the no-touch rule
+
+        private final int[] order; // Ship indices, longest first
+        private final int[] shipLength; // Length of the ship at each depth
+        private final boolean[] sameAsPrevious; // The ship at a depth has the length of the one before
+        private final int[] sameAfter; // Ships of the same length placed after the one at a depth
+        private final PlacementTable[] tables; // Placements of the ship at each depth
+        private final int[] placementCount;
+        private final int[] scanStart; // Random first placement of the length at each depth
+        private final int[] chosen; // Scan position chosen at each depth
+        private final int[] remainingCells; // Cells of the ships from a depth to the end
+        private int freeCells;
+        private long nodes;
+        private final long[] usable; // Scratch bitset of the cells still coverable
+
+        Search(int rows, int columns, int[] lengths, long[] occupied, RandomGenerator random, long maxNodes,
+               boolean noTouch) {
+            this.rows = rows;
+            this.columns = columns;
+            this.occupied = Arrays.copyOf(occupied, (rows * columns + 63) >>> 6);
+            this.maxNodes = maxNodes;
+            this.usable = new long[this.occupied.length];
+
+            int ships = lengths.length;
+            this.saved = noTouch ? new long[ships][this.occupied.length] : null;
+            Integer[] sorted = new Integer[ships];
+            for (int i = 0; i < ships; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (a, b) -> lengths[b] - lengths[a]);
+            order = new int[ships];
+            shipLength = new int[ships];
+            sameAsPrevious = new boolean[ships];
+            sameAfter = new int[ships];
+            tables = new PlacementTable[ships];
+            placementCount = new int[ships];
+            scanStart = new int[ships];
+            chosen = new int[ships];
+            remainingCells = new int[ships + 1];
+            for (int depth = 0; depth < ships; depth++) {
+                order[depth] = sorted[depth];
+                shipLength[depth] = lengths[order[depth]];
+                if (depth > 0 && shipLength[depth] == shipLength[depth - 1]) {
+                    tables[depth] = tables[depth - 1]; // One table per length, the ones of a large board are not shared
+                    placementCount[depth] = placementCount[depth - 1];
+                } else if (shipLength[depth] > 0) {
+                    tables[depth] = PlacementTable.of(rows, columns, shipLength[depth]);
+                    placementCount[depth] = tables[depth].getCount();
+                }
+                sameAsPrevious[depth] = depth > 0 && shipLength[depth] == shipLength[depth - 1];
+                if (placementCount[depth] > 0) {
+                    // Ships of one length share the scan start, the symmetry breaking relies on it
+                    scanStart[depth] = sameAsPrevious[depth] ? scanStart[depth - 1] : random.nextInt(placementCount[depth]);
+                }
+            }
+            for (int depth = ships - 1; depth >= 0; depth--) {
+                remainingCells[depth] = remainingCells[depth + 1] + shipLength[depth];
+                if (depth + 1 < ships && sameAsPrevious[depth + 1]) {
+                    sameAfter[depth] = sameAfter[depth + 1] + 1;
+                }
+            }
+            freeCells = countFree();
+        }
+
+        private int countFree() {
+            int free = rows * columns;
+            for (long word : occupied) {
+                free -= Long.bitCount(word);
+            }
+            return free;
+        }
+
+        Layout run() {
+            int ships = order.length;
+            for (int depth = 0; depth < ships; depth++) {
+                if (shipLength[depth] <= 0 || placementCount[depth] == 0) {
+                    return new Layout(Status.NO_LAYOUT, null, null, null, 0);
+                }
+            }
+            Status status;
+            if (remainingCells[0] > freeCells) {
+                status = Status.NO_LAYOUT;
+            } else {
+                int result = place(0);
+                status = result > 0 ? Status.SOLVED : result == 0 ? Status.NO_LAYOUT : Status.BUDGET_EXHAUSTED;
+            }
+            if (status != Status.SOLVED) {
+                return new Layout(status, null, null, null, nodes);
+            }
+
+            int[] shipRows = new int[ships];
+            int[] shipColumns = new int[ships];
+            boolean[] horizontal = new boolean[ships];
+            for (int depth = 0; depth < ships; depth++) {
+                int placement = placementAt(depth, chosen[depth]);
+                int ship = order[depth];
+                shipRows[ship] = tables[depth].getRow(placement);
+                shipColumns[ship] = tables[depth].getColumn(placement);
+                horizontal[ship] = tables[depth].isHorizontal(placement);
+            }
+            return new Layout(Status.SOLVED, shipRows, shipColumns, horizontal, nodes);
+        }
+
+        /**Places the ships from a depth on
+         * @return 1 if they were all placed, 0 if they can't be, -1 if the budget ran out
+         */
+        private int place(int depth) {
+            if (depth == order.length) {
+                return 1;
+            }
+            if (remainingCells[depth] > freeCells
+                    || remainingCells[depth] > coverableCells(shipLength[order.length - 1])) {
+                return 0;
+            }
+            int length = shipLength[depth];
+            PlacementTable table = tables[depth];
+            int first = sameAsPrevious[depth] ? chosen[depth - 1] + 1 : 0;
+            // Ships of this length still to place after this one need placements after it too
+            for (int position = first; position < placementCount[depth] - sameAfter[depth]; position++) {
+                int placement = placementAt(depth, position);
+                if (!table.fits(occupied, placement)) {
+                    continue;
+                }
+                if (++nodes > maxNodes) {
+                    return -1;
+                }
+                int free = freeCells;
+                if (saved == null) {
+                    table.toggle(occupied, placement);
+                    freeCells -= length;
+                } else {
+                    System.arraycopy(occupied, 0, saved[depth], 0, occupied.length);
+                    table.addHalo(occupied, placement);
+                    freeCells = countFree();
+                }
+                chosen[depth] = position;
+                int result = place(depth + 1);
+                if (result != 0) {
+                    return result; // Keeps the ships placed on success, nothing to undo on budget exhaustion
+                }
+                if (saved == null) {
+                    table.toggle(occupied, placement);
+                } else {
+                    System.arraycopy(saved[depth], 0, occupied, 0, occupied.length);
+                }
+                freeCells = free;
+            }
+            return 0;
+        }
+
+        /**Counts the free cells in a horizontal or vertical free run of at least a length
+         * No remaining ship can cover the other free cells
+         */
+        private int coverableCells(int minLength) {
+            Arrays.fill(usable, 0L);
+            for (int row = 0; row < rows; row++) {
+                markRuns(row * columns, 1, columns, minLength);
+            }
+            for (int column = 0; column < columns; column++) {
+                markRuns(column, columns, rows, minLength);
+            }
+            int count = 0;
+            for (long word : usable) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        private void markRuns(int start, int step, int count, int minLength) {
+            int run = 0;
+            for (int i = 0, cell = start; i <= count; i++, cell += step) {
+                if (i < count && (occupied[cell >>> 6] & (1L << cell)) == 0) {
+                    run++;
+                    continue;
+                }
+                if (run >= minLength) {
+                    for (int j = 1, free = cell - step; j <= run; j++, free -= step) {
+                        usable[free >>> 6] |= 1L << free;
+                    }
+                }
+                run = 0;
+            }
+        }
+
+        private int placementAt(int depth, int position) {
+            int placement = scanStart[depth] + position;
+            return placement >= placementCount[depth] ? placement - placementCount[depth] : placement;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package Services.Interfaces;
 import Attacks.Attack;
-import Model.Board.Board;
+import Attacks.AttackPattern;
+import Attacks.ShotVector;
+import Model.Board.BoardDeltaBuffer;
+import Model.Board.IBoardOperations;
 
 public interface IAttackService {
-    String executeAttack(Attack attack, Board targetBoard);
-    void markAttackOnBoard(Board attackBoard, int row, int column, boolean wasHit);
-    void markCrossAttackPattern(Board attackBoard, Board enemyBoard, int centerRow, int centerCol);
-    void markTorpedoAttackPattern(Board attackBoard, Board enemyBoard, int row, int column, boolean isHorizontal);
-    void markNukeAttackPattern(Board attackBoard, Board enemyBoard, int centerRow, int centerCol);
+    long executeAttack(Attack attack, IBoardOperations targetBoard);
+    void markAttackOnBoard(IBoardOperations attackBoard, int row, int column, boolean wasHit);
+    void markAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, AttackPattern pattern, int row, int column);
+    /**@deprecated use markAttackPattern with AttackPattern.CROSS
+     */
+    @Deprecated
+    void markCrossAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int centerRow, int centerCol);
+    /**@deprecated use markAttackPattern with AttackPattern.ROW or AttackPattern.COLUMN
+     */
+    @Deprecated
+    void markTorpedoAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int row, int column, boolean isHorizontal);
+    /**@deprecated use markAttackPattern with AttackPattern.NUKE
+     */
+    @Deprecated
+    void markNukeAttackPattern(IBoardOperations attackBoard, IBoardOperations enemyBoard, int centerRow, int centerCol);
+    void mirrorChanges(IBoardOperations attackBoard, BoardDeltaBuffer enemyChanges);
+    void mirrorShots(IBoardOperations attackBoard, ShotVector shots);
 }
@@ -1,16 +1,27 @@
 package Services.Interfaces;
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
 import Model.Boat.Boat;
 
+import java.util.random.RandomGenerator;
+
 public interface IShipPlacementService {
     /**
      * Place a single ship randomly on the board
      */
-        boolean placeShipRandomly(Board board, Boat boat);
+        boolean placeShipRandomly(IBoardOperations board, Boat boat);
+    /**
+     * Place a single ship randomly on the board, drawing from the given generator
+     */
+        boolean placeShipRandomly(IBoardOperations board, Boat boat, RandomGenerator random);
     /**
      * Place an entire fleet of ships automatically
      */
-        boolean placeFleetAutomatically(Board board, Boat[] fleet);
-        boolean isValidPlacement(Board board, Boat boat, int row, int column, boolean horizontal);
+        boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet);
+    /**
+     * Place an entire fleet of ships automatically, drawing from the given generator
+     * The same generator state gives the same layout, and a generator per thread avoids contention
+     */
+        boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet, RandomGenerator random);
+        boolean isValidPlacement(IBoardOperations board, Boat boat, int row, int column, boolean horizontal);
     }
 
@@ -1,10 +1,14 @@
 package Services;
 
 import Model.Boat.Boat;
-import Model.Board.Board;
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Board.SparseBoard;
 import Services.Interfaces.IShipPlacementService;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Ship Placement Service - Single Responsibility Principle
@@ -13,14 +17,32 @@ import java.util.Random;
  */
 public class ShipPlacementService implements IShipPlacementService {
 
-    private Random random;
+    private final RandomGenerator random;
+    private final FleetLayoutSolver solver;
     private static final int MAX_PLACEMENT_ATTEMPTS = 100;
     private static final int MAX_FLEET_ATTEMPTS = 10;
     /**
      * Constructor for creating random bound value
+     * java.util.Random is thread-safe, so the service can be shared when no generator is passed
     * */
     public ShipPlacementService() {
-        this.random = new Random();
+        this(new Random());
+    }
+    /**
+     * Constructor with the generator used when no generator is passed to a placement
+     * @param random is the default generator, it must be thread-safe if the service is shared
+    * */
+    public ShipPlacementService(RandomGenerator random) {
+        this(random, new FleetLayoutSolver());
+    }
+    /**
+     * Constructor with dependency injection
+     * @param random is the default generator, it must be thread-safe if the service is shared
+     * @param solver is the solver used when random placement gets stuck
+    * */
+    public ShipPlacementService(RandomGenerator random, FleetLayoutSolver solver) {
+        this.random = random;
+        this.solver = solver;
     }
     /** Method to place a ship randomly on the board
      * @param board is the board where we want to place the ship
@@ -28,16 +50,61 @@ public class ShipPlacementService implements IShipPlacementService {
      * @return true if the ship was placed successfully, false otherwise
     * */
     @Override
-    public boolean placeShipRandomly(Board board, Boat boat) {
+    public boolean placeShipRandomly(IBoardOperations board, Boat boat) {
+        return placeShipRandomly(board, boat, random);
+    }
+    /** Method to place a ship randomly on the board with a given generator
+     * @param board is the board where we want to place the ship
+     * @param boat is the boat that we want to place
+     * @param random is the generator of the positions
+     * @return true if the ship was placed successfully, false otherwise
+    * */
+    @Override
+    public boolean placeShipRandomly(IBoardOperations board, Boat boat, RandomGenerator random) {
+        return placeShipRandomly(board, boat, random, usesTables(board) ? occupancyOf(board) : null);
+    }
+    /** Method to check if placements on a board are drawn from the shared placement tables
+     * A sparse board or a board too large for shared tables would pay memory in proportion to
+     * its area for the tables and the occupancy bitset, so it gets a coordinate draw checked by
+     * the board itself
+     * @param board is the board where ships are placed
+     * @return true if the tables and an occupancy bitset are used
+    * */
+    static boolean usesTables(IBoardOperations board) {
+        return !(board instanceof SparseBoard) && PlacementTable.isShared(board.getRows(), board.getColumns());
+    }
+    /** Method to place a ship at a random legal placement, checked against an occupancy bitset
+     * The placement is drawn among the placements inside the board (shared PlacementTable),
+     * so only overlaps cost an attempt, and each check is one AND per word
+     * Under the no-touch rule the bitset holds the halos of the boats, see occupancyOf
+     * @param board is the board where we want to place the ship
+     * @param boat is the boat that we want to place
+     * @param random is the generator of the positions
+     * @param occupied is the occupancy of the board, updated when the ship is placed, null to draw
+     * coordinates checked by the board instead (see usesTables)
+     * @return true if the ship was placed successfully, false otherwise
+    * */
+    private boolean placeShipRandomly(IBoardOperations board, Boat boat, RandomGenerator random, long[] occupied) {
+        if (occupied == null) {
+            return placeShipAtRandomCell(board, boat, random);
+        }
+        PlacementTable table = PlacementTable.of(board.getRows(), board.getColumns(), boat.getLength());
+        if (table.getCount() == 0) {
+            return false;
+        }
         int attempts = 0;
 
         while (attempts < MAX_PLACEMENT_ATTEMPTS) {
-            int row = random.nextInt(board.getRows()); //With .nextInt we get a random number between 0 and the value passed as parameter (10 in this case but exclusive so 0-9)
-            int column = random.nextInt(board.getColumns());
-            boolean horizontal = random.nextBoolean();
-            if (isValidPlacement(board, boat, row, column, horizontal)) {
-                boolean placed = board.placeShip(boat, row, column, horizontal);
+            int placement = random.nextInt(table.getCount());
+            if (table.fits(occupied, placement)) {
+                boolean placed = board.placeShip(boat, table.getRow(placement), table.getColumn(placement),
+                        table.isHorizontal(placement));
                 if (placed) {
+                    if (board.getPlacementRule() == PlacementRule.NO_TOUCH) {
+                        table.addHalo(occupied, placement);
+                    } else {
+                        table.toggle(occupied, placement);
+                    }
                     return true;
                 }
             }
@@ -46,51 +113,108 @@ public class ShipPlacementService implements IShipPlacementService {
 
         return false;
     }
+    /** Method to place a ship at random coordinates, each one checked by the board
+     * @param board is the board where we want to place the ship
+     * @param boat is the boat that we want to place
+     * @param random is the generator of the positions
+     * @return true if the ship was placed successfully, false otherwise
+    * */
+    private boolean placeShipAtRandomCell(IBoardOperations board, Boat boat, RandomGenerator random) {
+        int attempts = 0;
+
+        while (attempts < MAX_PLACEMENT_ATTEMPTS) {
+            int row = random.nextInt(board.getRows());
+            int column = random.nextInt(board.getColumns());
+            boolean horizontal = random.nextBoolean();
+            if (board.canPlaceShip(boat, row, column, horizontal)
+                    && board.placeShip(boat, row, column, horizontal)) {
+                return true;
+            }
+            attempts++;
+        }
+
+        return false;
+    }
+    /** Method to read the cells of a board where no boat can be placed as a row-major bitset
+     * These are the cells with a boat, and under the no-touch rule the cells around them too
+     * (the halo of each boat), so a placement is checked with PlacementTable.fits either way
+     * Built from the boats of the board, hit cells included, not from a scan of every cell
+     * @param board is the board to read
+     * @return the bitset, bit row * columns + column is set for a cell taken
+    * */
+    static long[] occupancyOf(IBoardOperations board) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        long[] occupied = new long[(int) (((long) rows * columns + 63) >>> 6)];
+        boolean noTouch = board.getPlacementRule() == PlacementRule.NO_TOUCH;
+        boolean tabled = PlacementTable.isShared(rows, columns);
+        for (Boat boat : board.getBoatList()) {
+            if (!noTouch) {
+                for (int[] position : boat.getPositions()) {
+                    int cell = position[0] * columns + position[1];
+                    occupied[cell >>> 6] |= 1L << cell;
+                }
+            } else if (tabled) {
+                PlacementTable table = PlacementTable.of(rows, columns, boat.getLength());
+                int placement = table.indexOf(boat);
+                if (placement >= 0) {
+                    table.addHalo(occupied, placement);
+                }
+            } else {
+                PlacementTable.addHalo(occupied, rows, columns, boat);
+            }
+        }
+        return occupied;
+    }
     /** Method to place a fleet of ships automatically on the board
     * @param board is the board where we want to place the fleet
     * @param fleet is the array of boats that we want to place
     * @return true if all ships were placed successfully, false otherwise
     * */
     @Override
-    public boolean placeFleetAutomatically(Board board, Boat[] fleet) {
-        for (Boat boat : fleet) {
-            if (!placeShipRandomly(board, boat)) {
-                return false;
+    public boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet) {
+        return placeFleetAutomatically(board, fleet, random);
+    }
+    /** Method to place a fleet of ships automatically with a given generator
+    * Ships are placed at random first, which almost always works for a roomy board.
+    * If a ship finds no spot, the ships placed so far are removed and the backtracking solver
+    * places the whole fleet, so the placement only fails when no layout exists
+    * (or the fleet is too hard for the solver's node budget)
+    * @param board is the board where we want to place the fleet
+    * @param fleet is the array of boats that we want to place
+    * @param random is the generator of the positions, the same state gives the same layout
+    * @return true if all ships were placed successfully, false otherwise
+    * */
+    @Override
+    public boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet, RandomGenerator random) {
+        long[] occupied = usesTables(board) ? occupancyOf(board) : null;
+        for (int i = 0; i < fleet.length; i++) {
+            if (!placeShipRandomly(board, fleet[i], random, occupied)) {
+                for (int j = 0; j < i; j++) {
+                    board.removeShip(fleet[j]);
+                }
+                return placeFleetWithSolver(board, fleet, random);
             }
         }
         return true;
     }
+    /** Method to place a fleet with the backtracking solver
+    * @param board is the board where we want to place the fleet
+    * @param fleet is the array of boats that we want to place
+    * @param random is the generator of the positions
+    * @return true if a layout was found and placed, false if there is none
+    * */
+    private boolean placeFleetWithSolver(IBoardOperations board, Boat[] fleet, RandomGenerator random) {
+        FleetLayoutSolver.Layout layout = solver.solve(board, fleet, random);
+        return layout.isSolved() && layout.deploy(board, fleet);
+    }
 
+    /** Method to check a placement without placing the boat
+     * The board checks it with its own rule, with the halo masks under the no-touch rule
+     * @return true if the boat can be placed there
+    * */
     @Override
-    public boolean isValidPlacement(Board board, Boat boat, int row, int column, boolean horizontal) {
-        // Check bounds
-        if (horizontal && column + boat.getLength() > board.getColumns()) {
-            return false;
-        }
-
-        if (!horizontal && row + boat.getLength() > board.getRows()) {
-            return false;
-        }
-
-        // Check overlapping
-        int[][] boardState = board.getBoardState();
-        for (int i = 0; i < boat.getLength(); i++) {
-            int checkRow;
-            int checkCol;
-
-            if (horizontal) {
-                checkRow = row;
-                checkCol = column + i;
-            } else {
-                checkRow = row + i;
-                checkCol = column;
-            }
-
-            if (boardState[checkRow][checkCol] == 1) {
-                return false;
-            }
-        }
-
-        return true;
+    public boolean isValidPlacement(IBoardOperations board, Boat boat, int row, int column, boolean horizontal) {
+        return board.canPlaceShip(boat, row, column, horizontal);
     }
 }
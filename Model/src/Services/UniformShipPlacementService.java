@@ -0,0 +1,108 @@
+package Services;
+
+import Model.Board.IBoardOperations;
+import Model.Board.PlacementRule;
+import Model.Board.PlacementTable;
+import Model.Board.UniformLayoutSampler;
+import Model.Boat.Boat;
+import Services.Interfaces.IShipPlacementService;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ship placement service that deploys fleets with a uniformly random layout
+ * Random ship-by-ship placement favors some layouts (the big ships take the open areas and the
+ * small ones fill the gaps), which an opponent can learn. Fleets are drawn by UniformLayoutSampler
+ * instead, around the boats already on the board, so every layout is equally likely.
+ * Single ships, validation and the fleets the sampler gives up on are handled by the delegate.
+ * So are the fleets of no-touch boards: a halo takes about three times the cells of its ship and
+ * whole layouts are almost never accepted (none in 2 million attempts for the classic 10x10 fleet),
+ * and the fleets of boards too large for shared placement tables.
+ * A fleet that fills its board gives up after the sampler's pilot attempts, a few milliseconds,
+ * instead of spending every attempt before the delegate places it
+ */
+public class UniformShipPlacementService implements IShipPlacementService {
+    public static final long DEFAULT_MAX_ATTEMPTS = 200_000;
+
+    private final RandomGenerator random;
+    private final IShipPlacementService delegate;
+    private final long maxAttempts;
+
+    /**
+     * Constructor with a thread-safe default generator and the standard service as fallback
+     * */
+    public UniformShipPlacementService() {
+        this(new Random(), new ShipPlacementService(), DEFAULT_MAX_ATTEMPTS);
+    }
+    /**
+     * Constructor with dependency injection
+     * @param random is the default generator, it must be thread-safe if the service is shared
+     * @param delegate is the service for single ships and for the fleets with no uniform layout in time
+     * @param maxAttempts is the number of layout attempts before falling back to the delegate
+     * */
+    public UniformShipPlacementService(RandomGenerator random, IShipPlacementService delegate, long maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("The number of attempts must be positive");
+        }
+        this.random = random;
+        this.delegate = delegate;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public boolean placeShipRandomly(IBoardOperations board, Boat boat) {
+        return delegate.placeShipRandomly(board, boat);
+    }
+
+    @Override
+    public boolean placeShipRandomly(IBoardOperations board, Boat boat, RandomGenerator random) {
+        return delegate.placeShipRandomly(board, boat, random);
+    }
+
+    @Override
+    public boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet) {
+        return placeFleetAutomatically(board, fleet, random);
+    }
+    /** Method to place a fleet at a uniformly random layout
+    * Tight fleets are rarely completed by the sampler, after maxAttempts they are placed by the delegate
+    * @param board is the board where we want to place the fleet
+    * @param fleet is the array of boats that we want to place
+    * @param random is the generator of the layout, the same state gives the same layout
+    * @return true if all ships were placed successfully, false otherwise
+    * */
+    @Override
+    public boolean placeFleetAutomatically(IBoardOperations board, Boat[] fleet, RandomGenerator random) {
+        if (fleet.length == 0) {
+            return true;
+        }
+        if (board.getPlacementRule() == PlacementRule.NO_TOUCH || !PlacementTable.isShared(board.getRows(), board.getColumns())) {
+            return delegate.placeFleetAutomatically(board, fleet, random);
+        }
+        int[] lengths = new int[fleet.length];
+        for (int i = 0; i < fleet.length; i++) {
+            lengths[i] = fleet[i].getLength();
+        }
+        UniformLayoutSampler sampler = new UniformLayoutSampler(board.getRows(), board.getColumns(), lengths);
+        int[] placements = sampler.sample(ShipPlacementService.occupancyOf(board), random, maxAttempts);
+        if (placements == null) {
+            return delegate.placeFleetAutomatically(board, fleet, random);
+        }
+        for (int i = 0; i < fleet.length; i++) {
+            PlacementTable table = sampler.getTable(i);
+            int placement = placements[i];
+            if (!board.placeShip(fleet[i], table.getRow(placement), table.getColumn(placement), table.isHorizontal(placement))) {
+                for (int j = 0; j < i; j++) {
+                    board.removeShip(fleet[j]);
+                }
+                return delegate.placeFleetAutomatically(board, fleet, random);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isValidPlacement(IBoardOperations board, Boat boat, int row, int column, boolean horizontal) {
+        return delegate.isValidPlacement(board, boat, row, column, horizontal);
+    }
+}
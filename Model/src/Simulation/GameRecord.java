@@ -0,0 +1,76 @@
+package Simulation;
+
+/**
+ * Compact result of one simulated game, only primitive fields
+ * The first machine is the one passed first to the engine, whatever machine started
+ */
+public final class GameRecord {
+    public static final int FIRST = 0;
+    public static final int SECOND = 1;
+    public static final int NO_WINNER = -1;
+
+    private final int winner;
+    private final int firstShots;
+    private final int secondShots;
+    private final int turns;
+    private final long durationNanos;
+
+    /**Constructor
+     *
+     * @param winner        FIRST, SECOND or NO_WINNER
+     * @param firstShots    Shots fired by the first machine
+     * @param secondShots   Shots fired by the second machine
+     * @param turns         Number of turns, a turn lasting while the same machine keeps firing
+     * @param durationNanos Wall-clock duration of the game
+     */
+    public GameRecord(int winner, int firstShots, int secondShots, int turns, long durationNanos) {
+        this.winner = winner;
+        this.firstShots = firstShots;
+        this.secondShots = secondShots;
+        this.turns = turns;
+        this.durationNanos = durationNanos;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getFirstShots() {
+        return firstShots;
+    }
+
+    public int getSecondShots() {
+        return secondShots;
+    }
+
+    /**Shots fired by both machines
+     */
+    public int getShots() {
+        return firstShots + secondShots;
+    }
+
+    /**Shots fired by the winner, the shots it needed to sink the enemy fleet
+     * @return the shots of the winner, -1 if the game has no winner
+     */
+    public int getWinnerShots() {
+        if (winner == FIRST) {
+            return firstShots;
+        }
+        return winner == SECOND ? secondShots : -1;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameRecord[winner=%s, shots=%d/%d, turns=%d, %.3f ms]",
+                winner == FIRST ? "first" : winner == SECOND ? "second" : "none",
+                firstShots, secondShots, turns, durationNanos / 1e6);
+    }
+}
@@ -0,0 +1,94 @@
+package Simulation;
+
+/**
+ * Histogram of durations in nanoseconds with one bucket per power of two
+ * Bucket i counts the durations in [2^(i-1), 2^i), bucket 0 the zero durations.
+ * Recording is one increment, and histograms filled by different threads are merged at the end.
+ * Not thread-safe, each thread fills its own histogram
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sumNanos;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[BUCKETS - Long.numberOfLeadingZeros(nanos)]++;
+        total++;
+        sumNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**Adds the counts of another histogram to this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sumNanos += other.sumNanos;
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public double getMeanNanos() {
+        return total == 0 ? 0 : (double) sumNanos / total;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**Upper bound of the bucket holding a percentile, at most twice the exact value
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return the bound in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile " + percentile + " outside of [0, 100]");
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(maxNanos, i == 0 ? 0 : (1L << i) - 1);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**Number of durations in a bucket
+     */
+    public long getBucketCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public int getBucketTotal() {
+        return BUCKETS;
+    }
+
+    /**One line per non-empty bucket with its upper bound and its count
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                text.append(String.format("  < %,12d ns  %,d%n", i == 0 ? 1 : 1L << i, counts[i]));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package Simulation;
+
+/**
+ * Results of the games between two strategies, from the point of view of each of them
+ */
+public final class MatchupResult {
+    private final StrategyStats first;
+    private final StrategyStats second;
+
+    public MatchupResult(StrategyStats first, StrategyStats second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public StrategyStats getFirst() {
+        return first;
+    }
+
+    public StrategyStats getSecond() {
+        return second;
+    }
+
+    /**Adds the games of another part of the same matchup
+     */
+    public void merge(MatchupResult other) {
+        first.merge(other.first);
+        second.merge(other.second);
+    }
+
+    @Override
+    public String toString() {
+        return first.getName() + " vs " + second.getName() + System.lineSeparator()
+                + "  " + first + System.lineSeparator()
+                + "  " + second;
+    }
+}
@@ -0,0 +1,229 @@
+package Simulation;
+
+import Attacks.Attack;
+import Attacks.AttackOutcome;
+import Controller.FleetManager;
+import Controller.Interfaces.IFleetManager;
+import Model.Board.BoardFactory;
+import Model.Board.IBoardFactory;
+import Model.Board.IBoardOperations;
+import Model.Boat.Boat;
+import Model.Match.EventGameEndValidator;
+import Model.Match.GameConfig;
+import Model.Match.Match;
+import Model.Match.TurnManager;
+import Model.Player.Machine;
+import Model.Player.Interfaces.IMachineStrategy;
+import Services.FleetLayout;
+import Services.ShipPlacementService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless engine that plays two machines against each other, without Swing or database
+ * Each game builds a Match with two Machine players, deploys a fleet for each of them and lets
+ * them fire until one fleet is sunk. The first machine takes the player seat of the Match.
+ * A seed fully determines a game (for strategies whose choices don't depend on time):
+ * both layouts and both strategies draw from generators split from it.
+ * Unseeded games deploy with the unseeded deployFleet, so a FleetManager built with a
+ * FleetLayoutPool feeds them ready-made layouts.
+ * An engine keeps no state between games, one engine can be shared by several threads
+ * as long as the fleet manager can
+ */
+public class SimulationEngine {
+    private final GameConfig gameConfig;
+    private final IFleetManager fleetManager;
+    private final IBoardFactory boardFactory;
+
+    /**Constructor with dependency injection
+     *
+     * @param gameConfig   Board size, fleet and board implementation of every game
+     * @param fleetManager Creates and deploys the fleets
+     */
+    public SimulationEngine(GameConfig gameConfig, IFleetManager fleetManager) {
+        this.gameConfig = gameConfig;
+        this.fleetManager = fleetManager;
+        this.boardFactory = new BoardFactory(gameConfig.getBoardType(), gameConfig.getPlacementRule());
+    }
+
+    /**Constructor with the default fleet manager
+     *
+     * @param gameConfig Board size, fleet and board implementation of every game
+     */
+    public SimulationEngine(GameConfig gameConfig) {
+        this(gameConfig, new FleetManager(new ShipPlacementService()));
+    }
+
+    /**Default constructor using the standard game configuration
+     */
+    public SimulationEngine() {
+        this(GameConfig.standard());
+    }
+
+    /**Plays one game, the first machine starts
+     */
+    public GameRecord play(IMachineStrategy first, IMachineStrategy second) {
+        return play(first, second, true);
+    }
+
+    /**Plays one game to completion
+     * The strategies can be reused for several games, they are told about a new board
+     * by the board itself (see ProbabilityDensityStrategy)
+     *
+     * @param first       Strategy of the first machine
+     * @param second      Strategy of the second machine
+     * @param firstStarts true if the first machine fires first
+     * @return the record of the game
+     * @throws IllegalStateException if a fleet can't be deployed or the game does not end
+     */
+    public GameRecord play(IMachineStrategy first, IMachineStrategy second, boolean firstStarts) {
+        return play(first, second, firstStarts, null, null);
+    }
+
+    /**Plays one game determined by a seed
+     * The layouts and the seeds of both strategies are drawn from the seed, so the same seed
+     * replays the same game
+     *
+     * @param first       Strategy of the first machine
+     * @param second      Strategy of the second machine
+     * @param firstStarts true if the first machine fires first
+     * @param seed        Seed of the game
+     * @return the record of the game
+     * @throws IllegalStateException if a fleet can't be deployed or the game does not end
+     */
+    public GameRecord play(IMachineStrategy first, IMachineStrategy second, boolean firstStarts, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        FleetLayout firstLayout = randomLayout(random.split());
+        FleetLayout secondLayout = randomLayout(random.split());
+        first.reseed(random.nextLong());
+        second.reseed(random.nextLong());
+        return play(first, second, firstStarts, firstLayout, secondLayout);
+    }
+
+    /**Plays one game with the fleets deployed at given layouts
+     * Used to make two strategies face the same layouts (see TournamentRunner)
+     *
+     * @param first        Strategy of the first machine
+     * @param second       Strategy of the second machine
+     * @param firstStarts  true if the first machine fires first
+     * @param firstLayout  Layout of the first machine's fleet, null for a random one
+     * @param secondLayout Layout of the second machine's fleet, null for a random one
+     * @return the record of the game
+     * @throws IllegalStateException if a fleet can't be deployed or the game does not end
+     */
+    public GameRecord play(IMachineStrategy first, IMachineStrategy second, boolean firstStarts,
+                           FleetLayout firstLayout, FleetLayout secondLayout) {
+        long start = System.nanoTime();
+        int rows = gameConfig.getRows();
+        int columns = gameConfig.getColumns();
+        Machine firstMachine = new Machine("First", first, boardFactory, rows, columns);
+        Machine secondMachine = new Machine("Second", second, boardFactory, rows, columns);
+        deploy(firstMachine.getOwnBoard(), firstLayout);
+        deploy(secondMachine.getOwnBoard(), secondLayout);
+
+        Match match = new Match(firstMachine, secondMachine, new TurnManager(firstStarts), new EventGameEndValidator());
+
+        // Every shot is on a new cell for a valid strategy, more shots than cells means a broken one
+        int maxShots = 2 * rows * columns;
+        int[] shots = new int[2];
+        int turns = 0;
+        boolean previousFirst = !firstStarts;
+        while (!match.isGameFinished()) {
+            boolean firstTurn = match.isPlayerTurn();
+            Machine attacker = firstTurn ? firstMachine : secondMachine;
+            Machine target = firstTurn ? secondMachine : firstMachine;
+            if (firstTurn != previousFirst) {
+                turns++;
+                previousFirst = firstTurn;
+            }
+
+            IBoardOperations targetBoard = target.getOwnBoard();
+            Attack attack = attacker.makeAttack(targetBoard);
+            long outcome = match.executeAttack(attack, attacker, target);
+            attacker.notifyAttackResult(attack.getRow(), attack.getColumn(),
+                    AttackOutcome.primaryResult(outcome), targetBoard);
+
+            if (++shots[firstTurn ? 0 : 1] > maxShots) {
+                throw new IllegalStateException("The game did not end after " + maxShots + " shots of "
+                        + attacker.getUsername());
+            }
+        }
+
+        int winner = GameRecord.NO_WINNER;
+        if (match.getWinner() == firstMachine) {
+            winner = GameRecord.FIRST;
+        } else if (match.getWinner() == secondMachine) {
+            winner = GameRecord.SECOND;
+        }
+        return new GameRecord(winner, shots[0], shots[1], turns, System.nanoTime() - start);
+    }
+
+    /**Plays several games, the machines start in turn
+     * A strategy is created for each game by the factories. The seeds of the games are drawn
+     * from the seed of the configuration if it has one, so the whole series can be replayed
+     *
+     * @param firstFactory  Creates the strategy of the first machine
+     * @param secondFactory Creates the strategy of the second machine
+     * @param games         Number of games to play
+     * @return the records, in the order the games were played
+     */
+    public List<GameRecord> playGames(Supplier<IMachineStrategy> firstFactory,
+                                      Supplier<IMachineStrategy> secondFactory, int games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("The number of games can't be negative");
+        }
+        List<GameRecord> records = new ArrayList<>(games);
+        SplittableRandom seeds = gameConfig.hasSeed() ? new SplittableRandom(gameConfig.getSeed()) : new SplittableRandom();
+        for (int game = 0; game < games; game++) {
+            records.add(play(firstFactory.get(), secondFactory.get(), game % 2 == 0, seeds.nextLong()));
+        }
+        return records;
+    }
+
+    /**Deploys a random fleet on a scratch board and records its layout
+     */
+    public FleetLayout randomLayout() {
+        IBoardOperations board = boardFactory.createBoard(gameConfig.getRows(), gameConfig.getColumns());
+        Boat[] fleet = fleetManager.createFleet(gameConfig);
+        deploy(board, fleet);
+        return FleetLayout.capture(fleet);
+    }
+
+    /**Deploys a fleet drawn from a generator on a scratch board and records its layout
+     *
+     * @param random Generator of the positions, the same state gives the same layout
+     */
+    public FleetLayout randomLayout(RandomGenerator random) {
+        IBoardOperations board = boardFactory.createBoard(gameConfig.getRows(), gameConfig.getColumns());
+        Boat[] fleet = fleetManager.createFleet(gameConfig);
+        if (!fleetManager.deployFleet(board, fleet, random)) {
+            throw new IllegalStateException("The fleet could not be deployed on a "
+                    + gameConfig.getRows() + "x" + gameConfig.getColumns() + " board");
+        }
+        return FleetLayout.capture(fleet);
+    }
+
+    public GameConfig getGameConfig() {
+        return gameConfig;
+    }
+
+    private void deploy(IBoardOperations board, FleetLayout layout) {
+        Boat[] fleet = fleetManager.createFleet(gameConfig);
+        if (layout == null) {
+            deploy(board, fleet);
+        } else if (!layout.deploy(board, fleet)) {
+            throw new IllegalStateException("The layout does not fit the fleet of " + gameConfig);
+        }
+    }
+
+    private void deploy(IBoardOperations board, Boat[] fleet) {
+        if (!fleetManager.deployFleet(board, fleet)) {
+            throw new IllegalStateException("The fleet could not be deployed on a "
+                    + gameConfig.getRows() + "x" + gameConfig.getColumns() + " board");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Simulation;
+
+/**
+ * Results of one strategy over a set of games: wins, shots needed to win and decision latency
+ * The shots to win are kept as a count per number of shots, so the percentiles are exact and
+ * the statistics of several threads are merged without keeping the games
+ * Not thread-safe, each thread fills its own statistics
+ */
+public final class StrategyStats {
+    private static final double Z_95 = 1.959963984540054; // Normal quantile of a 95% interval
+
+    private final String name;
+    private final long[] shotsToWin; // [shots] games won with that many shots
+    private final LatencyHistogram latencies;
+    private long games;
+    private long wins;
+    private long totalWinningShots;
+
+    /**Constructor
+     *
+     * @param name     Name of the strategy
+     * @param maxShots Highest number of shots of a game
+     */
+    public StrategyStats(String name, int maxShots) {
+        this.name = name;
+        this.shotsToWin = new long[maxShots + 1];
+        this.latencies = new LatencyHistogram();
+    }
+
+    /**Records a game played by the strategy
+     *
+     * @param won   true if the strategy sank the enemy fleet first
+     * @param shots Shots fired by the strategy during the game
+     */
+    public void recordGame(boolean won, int shots) {
+        games++;
+        if (won) {
+            wins++;
+            totalWinningShots += shots;
+            shotsToWin[Math.min(shots, shotsToWin.length - 1)]++;
+        }
+    }
+
+    /**Adds the games of other statistics of the same strategy
+     */
+    public void merge(StrategyStats other) {
+        if (other.shotsToWin.length != shotsToWin.length) {
+            throw new IllegalArgumentException("Statistics of games on other boards can't be merged");
+        }
+        games += other.games;
+        wins += other.wins;
+        totalWinningShots += other.totalWinningShots;
+        for (int i = 0; i < shotsToWin.length; i++) {
+            shotsToWin[i] += other.shotsToWin[i];
+        }
+        latencies.merge(other.latencies);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**95% Wilson score interval of the win rate
+     * Unlike the normal approximation, it stays inside [0, 1] for rates close to 0 or 1
+     *
+     * @return [lower bound, upper bound]
+     */
+    public double[] getWinRateInterval() {
+        if (games == 0) {
+            return new double[]{0, 1};
+        }
+        double n = games;
+        double p = wins / n;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2 * n)) / denominator;
+        double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new double[]{Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+    }
+
+    /**Mean shots fired in the games won
+     */
+    public double getMeanShotsToWin() {
+        return wins == 0 ? 0 : (double) totalWinningShots / wins;
+    }
+
+    /**Shots fired in the games won, at a percentile
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return the number of shots, 0 if no game was won
+     */
+    public int getShotsToWinPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile " + percentile + " outside of [0, 100]");
+        }
+        if (wins == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * wins));
+        long seen = 0;
+        for (int shots = 0; shots < shotsToWin.length; shots++) {
+            seen += shotsToWin[shots];
+            if (seen >= rank) {
+                return shots;
+            }
+        }
+        return shotsToWin.length - 1;
+    }
+
+    /**Durations of the decisions of the strategy
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        double[] interval = getWinRateInterval();
+        return String.format("%-20s games=%,d win=%.2f%% [%.2f%%, %.2f%%] shots to win: mean=%.2f p50=%d p90=%d p99=%d"
+                        + " decision: mean=%.1f us p99<=%.1f us",
+                name, games, 100 * getWinRate(), 100 * interval[0], 100 * interval[1],
+                getMeanShotsToWin(), getShotsToWinPercentile(50), getShotsToWinPercentile(90),
+                getShotsToWinPercentile(99), latencies.getMeanNanos() / 1000,
+                latencies.getPercentileNanos(99) / 1000.0);
+    }
+}
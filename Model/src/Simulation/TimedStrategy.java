@@ -0,0 +1,57 @@
+package Simulation;
+
+import Model.Board.IBoardOperations;
+import Model.Player.Interfaces.IMachineStrategy;
+import Model.Player.TargetQueue;
+
+import java.util.List;
+
+/**
+ * Strategy decorator that records the duration of every decision in a histogram
+ * Used by one thread of the tournament, like the histogram it fills
+ */
+final class TimedStrategy implements IMachineStrategy {
+    private final IMachineStrategy strategy;
+    private final LatencyHistogram latencies;
+
+    TimedStrategy(IMachineStrategy strategy, LatencyHistogram latencies) {
+        this.strategy = strategy;
+        this.latencies = latencies;
+    }
+
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            List<int[]> targetStack,
+            List<int[]> hitHistory
+    ) {
+        long start = System.nanoTime();
+        int[] coordinates = strategy.chooseAttackCoordinates(enemyBoard, isTargetMode, targetStack, hitHistory);
+        latencies.record(System.nanoTime() - start);
+        return coordinates;
+    }
+
+    @Override
+    public int[] chooseAttackCoordinates(
+            IBoardOperations enemyBoard,
+            boolean isTargetMode,
+            TargetQueue targetStack,
+            TargetQueue hitHistory
+    ) {
+        long start = System.nanoTime();
+        int[] coordinates = strategy.chooseAttackCoordinates(enemyBoard, isTargetMode, targetStack, hitHistory);
+        latencies.record(System.nanoTime() - start);
+        return coordinates;
+    }
+
+    @Override
+    public void notifyShotResult(int row, int column, int shotResult) {
+        strategy.notifyShotResult(row, column, shotResult);
+    }
+
+    @Override
+    public void reseed(long seed) {
+        strategy.reseed(seed);
+    }
+}
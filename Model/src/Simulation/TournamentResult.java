@@ -0,0 +1,95 @@
+package Simulation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a tournament: each matchup and each strategy over all of its games
+ */
+public final class TournamentResult {
+    private final List<MatchupResult> matchups;
+    private final Map<String, StrategyStats> strategies;
+    private final long seed;
+    private final long durationNanos;
+
+    /**Constructor, the overall statistics of each strategy are merged from the matchups
+     *
+     * @param matchups      Results of every matchup played
+     * @param maxShots      Highest number of shots of a game
+     * @param seed          Seed the tournament can be replayed from
+     * @param durationNanos Wall-clock duration of the tournament
+     */
+    public TournamentResult(List<MatchupResult> matchups, int maxShots, long seed, long durationNanos) {
+        this.matchups = List.copyOf(matchups);
+        this.seed = seed;
+        this.durationNanos = durationNanos;
+        Map<String, StrategyStats> overall = new LinkedHashMap<>();
+        for (MatchupResult matchup : matchups) {
+            for (StrategyStats stats : new StrategyStats[]{matchup.getFirst(), matchup.getSecond()}) {
+                overall.computeIfAbsent(stats.getName(), name -> new StrategyStats(name, maxShots)).merge(stats);
+            }
+        }
+        this.strategies = Collections.unmodifiableMap(overall);
+    }
+
+    public List<MatchupResult> getMatchups() {
+        return matchups;
+    }
+
+    /**Statistics of every strategy over all of its games, in registration order
+     */
+    public Map<String, StrategyStats> getStrategies() {
+        return strategies;
+    }
+
+    public StrategyStats getStrategy(String name) {
+        return strategies.get(name);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**Number of games played, each game counts once
+     */
+    public long getGames() {
+        long games = 0;
+        for (MatchupResult matchup : matchups) {
+            games += matchup.getFirst().getGames();
+        }
+        return games;
+    }
+
+    /**Report with the matchups, the overall results and the latency histogram of each strategy
+     */
+    public String format() {
+        String newLine = System.lineSeparator();
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%,d games in %.2f s (%,.0f games/s), seed %d%n", getGames(), durationNanos / 1e9,
+                getGames() / Math.max(1e-9, durationNanos / 1e9), seed));
+        text.append(newLine).append("Matchups").append(newLine);
+        for (MatchupResult matchup : matchups) {
+            text.append(matchup).append(newLine);
+        }
+        text.append(newLine).append("Overall").append(newLine);
+        for (StrategyStats stats : strategies.values()) {
+            text.append("  ").append(stats).append(newLine);
+        }
+        for (StrategyStats stats : strategies.values()) {
+            text.append(newLine).append("Decision latency of ").append(stats.getName()).append(newLine);
+            text.append(stats.getLatencies().format());
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,185 @@
+package Simulation;
+
+import Model.Player.Interfaces.IMachineStrategy;
+import Services.FleetLayout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays registered strategies against each other on every core and aggregates the results
+ * Games are played in pairs that share two fleet layouts: in the second game the strategies
+ * swap seats, so each of them attacks the same layout, defends the same layout and starts once.
+ * The difference between two strategies then comes from the strategies, not from the layouts.
+ * Pair i gets its own seed derived from the tournament seed, and the same seed in every matchup:
+ * the layouts and the strategy seeds of its games are drawn from it, so a tournament is replayed
+ * from its seed whatever thread plays which pair.
+ * The pairs of a matchup are split in ranges by a work-stealing ForkJoin task, each range creates
+ * its own strategies and statistics so nothing is shared between threads until the merge
+ */
+public class TournamentRunner {
+    private static final int PAIRS_PER_TASK = 32; // Below this a range of pairs is played by one thread
+
+    private final SimulationEngine engine;
+    private final ForkJoinPool pool;
+    private final Map<String, Supplier<IMachineStrategy>> strategies;
+
+    /**Constructor with dependency injection
+     *
+     * @param engine Engine playing the games, shared by the threads
+     * @param pool   Pool running the games
+     */
+    public TournamentRunner(SimulationEngine engine, ForkJoinPool pool) {
+        this.engine = engine;
+        this.pool = pool;
+        this.strategies = new LinkedHashMap<>();
+    }
+
+    /**Constructor using the common pool
+     */
+    public TournamentRunner(SimulationEngine engine) {
+        this(engine, ForkJoinPool.commonPool());
+    }
+
+    /**Default constructor using the standard game configuration and the common pool
+     */
+    public TournamentRunner() {
+        this(new SimulationEngine());
+    }
+
+    /**Registers a strategy for the tournament
+     * Strategies are not thread-safe, the factory creates one for each thread
+     *
+     * @param name    Name of the strategy in the results
+     * @param factory Creates instances of the strategy
+     */
+    public void register(String name, Supplier<IMachineStrategy> factory) {
+        if (strategies.containsKey(name)) {
+            throw new IllegalArgumentException("Strategy " + name + " already registered");
+        }
+        strategies.put(name, factory);
+    }
+
+    /**Plays every registered strategy against every other one
+     * The seed is the one of the engine configuration, or a new one if it has none
+     *
+     * @param pairsPerMatchup Pairs of games of each matchup, each pair is two games
+     * @return the results of the matchups and of each strategy
+     */
+    public TournamentResult runRoundRobin(int pairsPerMatchup) {
+        if (strategies.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least two strategies");
+        }
+        long start = System.nanoTime();
+        long seed = tournamentSeed();
+        List<String> names = new ArrayList<>(strategies.keySet());
+        List<MatchupResult> matchups = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            for (int j = i + 1; j < names.size(); j++) {
+                matchups.add(playMatchup(names.get(i), names.get(j), pairsPerMatchup, seed));
+            }
+        }
+        return new TournamentResult(matchups, maxShots(), seed, System.nanoTime() - start);
+    }
+
+    /**Plays two registered strategies against each other
+     *
+     * @param first  Name of the first strategy
+     * @param second Name of the second strategy
+     * @param pairs  Pairs of games, each pair is two games
+     * @return the results of the matchup
+     */
+    public TournamentResult runMatchup(String first, String second, int pairs) {
+        long start = System.nanoTime();
+        long seed = tournamentSeed();
+        MatchupResult matchup = playMatchup(first, second, pairs, seed);
+        return new TournamentResult(List.of(matchup), maxShots(), seed, System.nanoTime() - start);
+    }
+
+    private MatchupResult playMatchup(String first, String second, int pairs, long seed) {
+        if (!strategies.containsKey(first) || !strategies.containsKey(second)) {
+            throw new IllegalArgumentException("Unknown strategy " + (strategies.containsKey(first) ? second : first));
+        }
+        if (pairs <= 0) {
+            throw new IllegalArgumentException("A matchup needs at least one pair of games");
+        }
+        return pool.invoke(new PairRange(first, second, 0, pairs, seed));
+    }
+
+    private long tournamentSeed() {
+        return engine.getGameConfig().hasSeed() ? engine.getGameConfig().getSeed() : new SplittableRandom().nextLong();
+    }
+
+    private int maxShots() {
+        return 2 * engine.getGameConfig().getRows() * engine.getGameConfig().getColumns();
+    }
+
+    /**
+     * Range of pairs of a matchup, split in halves until it is small enough for one thread
+     */
+    private final class PairRange extends RecursiveTask<MatchupResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final String first;
+        private final String second;
+        private final int from;
+        private final int to;
+        private final long seed;
+
+        PairRange(String first, String second, int from, int to, long seed) {
+            this.first = first;
+            this.second = second;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected MatchupResult compute() {
+            if (to - from <= PAIRS_PER_TASK) {
+                return playPairs();
+            }
+            int middle = (from + to) >>> 1;
+            PairRange left = new PairRange(first, second, from, middle, seed);
+            left.fork();
+            MatchupResult result = new PairRange(first, second, middle, to, seed).compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private MatchupResult playPairs() {
+            StrategyStats firstStats = new StrategyStats(first, maxShots());
+            StrategyStats secondStats = new StrategyStats(second, maxShots());
+            IMachineStrategy firstStrategy = new TimedStrategy(strategies.get(first).get(), firstStats.getLatencies());
+            IMachineStrategy secondStrategy = new TimedStrategy(strategies.get(second).get(), secondStats.getLatencies());
+
+            for (int pair = from; pair < to; pair++) {
+                SplittableRandom random = new SplittableRandom(seed + pair * 0x9E3779B97F4A7C15L);
+                FleetLayout firstLayout = engine.randomLayout(random.split());
+                FleetLayout secondLayout = engine.randomLayout(random.split());
+                long firstSeed = random.nextLong();
+                long secondSeed = random.nextLong();
+
+                firstStrategy.reseed(firstSeed);
+                secondStrategy.reseed(secondSeed);
+                GameRecord game = engine.play(firstStrategy, secondStrategy, true, firstLayout, secondLayout);
+                firstStats.recordGame(game.getWinner() == GameRecord.FIRST, game.getFirstShots());
+                secondStats.recordGame(game.getWinner() == GameRecord.SECOND, game.getSecondShots());
+
+                // Seats swapped: the second strategy starts and attacks the layout the first one attacked
+                firstStrategy.reseed(firstSeed);
+                secondStrategy.reseed(secondSeed);
+                game = engine.play(secondStrategy, firstStrategy, true, firstLayout, secondLayout);
+                secondStats.recordGame(game.getWinner() == GameRecord.FIRST, game.getFirstShots());
+                firstStats.recordGame(game.getWinner() == GameRecord.SECOND, game.getSecondShots());
+            }
+            return new MatchupResult(firstStats, secondStats);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package View.Components;
 
+import Attacks.Weapon;
+import Attacks.WeaponRegistry;
+
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * ActionPanel Component - Single Responsibility
@@ -12,20 +19,28 @@ public class ActionPanel extends JPanel {
 
     private JLabel statusLabel;
     private JButton attackButton;
-    private JButton crossBombButton;
-    private JButton torpedoHButton;
-    private JButton torpedoVButton;
-    private JButton nukeButton;
     private JButton resetButton;
+    private final List<Weapon> weapons;
+    private final List<JButton> weaponButtons = new ArrayList<>(); // One per variant of every weapon
+    private final List<Weapon> buttonWeapons = new ArrayList<>(); // [button] weapon of the button
 
-    // Attack type enum for callbacks
+    // Attack type enum for callbacks, the weapons have their own listener
     public enum AttackType {
-        BASIC, CROSS_BOMB, TORPEDO_H, TORPEDO_V, NUKE, RESET
+        BASIC, RESET
     }
 
     private Consumer<AttackType> onAttackListener;
+    private BiConsumer<Weapon, Integer> onWeaponListener;
 
     public ActionPanel() {
+        this(WeaponRegistry.standard().getWeapons());
+    }
+
+    /**Constructor with the weapons of the game
+     * @param weapons Weapons with a button per variant, in this order
+     */
+    public ActionPanel(List<Weapon> weapons) {
+        this.weapons = weapons;
         setLayout(new BorderLayout(10, 10));
         setBackground(new Color(0, 131, 143));
         setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
@@ -39,35 +54,32 @@ public class ActionPanel extends JPanel {
         statusLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         statusLabel.setForeground(Color.WHITE);
 
-        // Buttons grid
-        JPanel buttonsPanel = new JPanel(new GridLayout(2, 3, 10, 10));
-        buttonsPanel.setOpaque(false);
-
         // Create all buttons
         attackButton = createButton("ATTACK", new Color(255, 87, 34),
                 () -> notifyAttack(AttackType.BASIC));
 
-        crossBombButton = createButton("CROSS", new Color(156, 39, 176),
-                () -> notifyAttack(AttackType.CROSS_BOMB));
-
-        nukeButton = createButton("NUKE", new Color(244, 67, 54),
-                () -> notifyAttack(AttackType.NUKE));
-
-        torpedoHButton = createButton("TORPEDO →", new Color(33, 150, 243),
-                () -> notifyAttack(AttackType.TORPEDO_H));
-
-        torpedoVButton = createButton("TORPEDO ↓", new Color(3, 169, 244),
-                () -> notifyAttack(AttackType.TORPEDO_V));
+        for (Weapon weapon : weapons) {
+            for (int variant = 0; variant < weapon.getVariantCount(); variant++) {
+                int chosenVariant = variant;
+                weaponButtons.add(createButton(weapon.getButtonLabel(variant), new Color(weapon.getColor()),
+                        () -> notifyWeapon(weapon, chosenVariant)));
+                buttonWeapons.add(weapon);
+            }
+        }
 
         resetButton = createButton("NEW GAME", new Color(76, 175, 80),
                 () -> notifyAttack(AttackType.RESET));
 
+        // Buttons grid, three per row
+        int buttons = weaponButtons.size() + 2;
+        JPanel buttonsPanel = new JPanel(new GridLayout((buttons + 2) / 3, 3, 10, 10));
+        buttonsPanel.setOpaque(false);
+
         // Add buttons to grid
         buttonsPanel.add(attackButton);
-        buttonsPanel.add(crossBombButton);
-        buttonsPanel.add(nukeButton);
-        buttonsPanel.add(torpedoHButton);
-        buttonsPanel.add(torpedoVButton);
+        for (JButton weaponButton : weaponButtons) {
+            buttonsPanel.add(weaponButton);
+        }
         buttonsPanel.add(resetButton);
 
         // Add to panel
@@ -95,6 +107,12 @@ public class ActionPanel extends JPanel {
         }
     }
 
+    private void notifyWeapon(Weapon weapon, int variant) {
+        if (onWeaponListener != null) {
+            onWeaponListener.accept(weapon, variant);
+        }
+    }
+
     /**
      * Set callback for attack actions
      */
@@ -102,6 +120,13 @@ public class ActionPanel extends JPanel {
         this.onAttackListener = listener;
     }
 
+    /**
+     * Set callback for weapon attacks, with the weapon and the variant of the button
+     */
+    public void setOnWeaponListener(BiConsumer<Weapon, Integer> listener) {
+        this.onWeaponListener = listener;
+    }
+
     /**
      * Update status message
      */
@@ -111,15 +136,13 @@ public class ActionPanel extends JPanel {
 
     /**
      * Enable/disable all attack buttons
+     * @param hasCharges Tells, from the id of a weapon, whether its buttons are enabled
      */
-    public void setAttackButtonsEnabled(boolean basic, boolean cross,
-                                        boolean torpedoH, boolean torpedoV,
-                                        boolean nuke) {
+    public void setAttackButtonsEnabled(boolean basic, Predicate<String> hasCharges) {
         attackButton.setEnabled(basic);
-        crossBombButton.setEnabled(cross);
-        torpedoHButton.setEnabled(torpedoH);
-        torpedoVButton.setEnabled(torpedoV);
-        nukeButton.setEnabled(nuke);
+        for (int i = 0; i < weaponButtons.size(); i++) {
+            weaponButtons.get(i).setEnabled(hasCharges.test(buttonWeapons.get(i).getId()));
+        }
     }
 
     /**
@@ -127,10 +150,9 @@ public class ActionPanel extends JPanel {
      */
     public void disableAllAttackButtons() {
         attackButton.setEnabled(false);
-        crossBombButton.setEnabled(false);
-        torpedoHButton.setEnabled(false);
-        torpedoVButton.setEnabled(false);
-        nukeButton.setEnabled(false);
+        for (JButton weaponButton : weaponButtons) {
+            weaponButton.setEnabled(false);
+        }
     }
 
     /**
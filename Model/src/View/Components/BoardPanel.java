@@ -1,4 +1,5 @@
 package View.Components;
+import Model.Board.IBoardSnapshot;
 import Model.Boat.Boat;
 import javax.swing.*;
 import java.awt.*;
@@ -13,8 +14,9 @@ import java.util.function.BiConsumer;
  */
 public class BoardPanel extends JPanel {
 
-    private static final int CELL_SIZE = 45;
-    private static final int GRID_SIZE = 10;
+    private static final int MAX_CELL_SIZE = 45;
+    private static final int MIN_CELL_SIZE = 4;
+    private static final int MAX_BOARD_PIXELS = MAX_CELL_SIZE * 10; // Classic 10x10 board size
     private static final Color WATER_COLOR = new Color(174, 190, 239);
     private static final Color GRID_LINE_COLOR = new Color(100, 177, 210);
     private static final Color SHIP_HIT_COLOR = new Color(230, 80, 80);
@@ -22,7 +24,10 @@ public class BoardPanel extends JPanel {
     private static final Color SELECTED_COLOR = new Color(255, 234, 7, 255);
 
     private boolean isPlayerBoard;
-    private int[][] boardState;
+    private final int rows;
+    private final int columns;
+    private final int cellSize; // Shrinks for big boards so the panel keeps a usable size
+    private final int[][] boardState;
     private Boat[][] boatGrid; // To get boat types for coloring
     private Point hoveredCell = null;
     private Point selectedCell = null;
@@ -30,14 +35,18 @@ public class BoardPanel extends JPanel {
     // Callback for when a cell is clicked
     private BiConsumer<Integer, Integer> onCellClickListener;
 
-    public BoardPanel(boolean isPlayerBoard) {
+    public BoardPanel(boolean isPlayerBoard, int rows, int columns) {
         this.isPlayerBoard = isPlayerBoard;
-        this.boardState = new int[GRID_SIZE][GRID_SIZE];
-        this.boatGrid = new Boat[GRID_SIZE][GRID_SIZE];
+        this.rows = rows;
+        this.columns = columns;
+        this.cellSize = Math.max(MIN_CELL_SIZE,
+                Math.min(MAX_CELL_SIZE, MAX_BOARD_PIXELS / Math.max(rows, columns)));
+        this.boardState = new int[rows][columns];
+        this.boatGrid = new Boat[rows][columns];
 
         setPreferredSize(new Dimension(
-                CELL_SIZE * GRID_SIZE + 2,
-                CELL_SIZE * GRID_SIZE + 2
+                cellSize * columns + 2,
+                cellSize * rows + 2
         ));
         setBackground(WATER_COLOR);
 
@@ -71,8 +80,8 @@ public class BoardPanel extends JPanel {
     }
 
     private void handleClick(int x, int y) {
-        int col = x / CELL_SIZE;
-        int row = y / CELL_SIZE;
+        int col = x / cellSize;
+        int row = y / cellSize;
 
         if (isValidCell(row, col)) {
             selectedCell = new Point(col, row);
@@ -88,8 +97,8 @@ public class BoardPanel extends JPanel {
     }
 
     private void handleHover(int x, int y) {
-        int col = x / CELL_SIZE;
-        int row = y / CELL_SIZE;
+        int col = x / cellSize;
+        int row = y / cellSize;
 
         if (isValidCell(row, col)) {
             hoveredCell = new Point(col, row);
@@ -102,18 +111,19 @@ public class BoardPanel extends JPanel {
     }
 
     private boolean isValidCell(int row, int col) {
-        return row >= 0 && row < GRID_SIZE && col >= 0 && col < GRID_SIZE;
+        return row >= 0 && row < rows && col >= 0 && col < columns;
     }
 
     /**
      * Update board state and force repaint
      */
-    public void updateBoard(int[][] newState, Boat[][] newBoatGrid) {
-        // Deep copy the state
-        for (int i = 0; i < GRID_SIZE; i++) {
-            System.arraycopy(newState[i], 0, this.boardState[i], 0, GRID_SIZE);
+    public void updateBoard(IBoardSnapshot newState, Boat[][] newBoatGrid) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                this.boardState[i][j] = newState.getCellState(i, j);
+            }
             if (newBoatGrid != null) {
-                System.arraycopy(newBoatGrid[i], 0, this.boatGrid[i], 0, GRID_SIZE);
+                System.arraycopy(newBoatGrid[i], 0, this.boatGrid[i], 0, columns);
             }
         }
 
@@ -124,6 +134,19 @@ public class BoardPanel extends JPanel {
         });
     }
 
+    /**
+     * Update a single cell and repaint only that cell
+     * Used to apply the changes drained from a BoardDeltaBuffer
+     */
+    public void applyCellChange(int row, int col, int newState, Boat boat) {
+        if (!isValidCell(row, col)) {
+            return;
+        }
+        boardState[row][col] = newState;
+        boatGrid[row][col] = boat;
+        repaint(col * cellSize, row * cellSize, cellSize, cellSize);
+    }
+
     /**
      * Clear cell selection
      */
@@ -156,26 +179,26 @@ public class BoardPanel extends JPanel {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                 RenderingHints.VALUE_ANTIALIAS_ON);
 
-        for (int row = 0; row < GRID_SIZE; row++) {
-            for (int col = 0; col < GRID_SIZE; col++) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
                 drawCell(g2d, row, col);
             }
         }
     }
 
     private void drawCell(Graphics2D g2d, int row, int col) {
-        int x = col * CELL_SIZE;
-        int y = row * CELL_SIZE;
+        int x = col * cellSize;
+        int y = row * cellSize;
 
         // Cell background
         Color cellColor = getCellBackgroundColor(row, col);
         g2d.setColor(cellColor);
-        g2d.fill(new RoundRectangle2D.Double(x, y, CELL_SIZE - 2, CELL_SIZE - 2, 5, 5));
+        g2d.fill(new RoundRectangle2D.Double(x, y, cellSize - 2, cellSize - 2, 5, 5));
 
         // Cell border
         g2d.setColor(GRID_LINE_COLOR);
         g2d.setStroke(new BasicStroke(1));
-        g2d.draw(new RoundRectangle2D.Double(x, y, CELL_SIZE - 2, CELL_SIZE - 2, 5, 5));
+        g2d.draw(new RoundRectangle2D.Double(x, y, cellSize - 2, cellSize - 2, 5, 5));
 
         // Cell content (ship, hit, miss)
         drawCellContent(g2d, x, y, row, col);
@@ -196,9 +219,9 @@ public class BoardPanel extends JPanel {
     }
 
     private void drawCellContent(Graphics2D g2d, int x, int y, int row, int col) {
-        int centerX = x + CELL_SIZE / 2;
-        int centerY = y + CELL_SIZE / 2;
-        int radius = CELL_SIZE / 2 - 5;
+        int centerX = x + cellSize / 2;
+        int centerY = y + cellSize / 2;
+        int radius = cellSize / 2 - 5;
 
         int state = boardState[row][col];
 
@@ -244,7 +267,7 @@ public class BoardPanel extends JPanel {
 
     private void drawMiss(Graphics2D g2d, int centerX, int centerY) {
         g2d.setColor(MISS_COLOR);
-        int missRadius = CELL_SIZE / 4;
+        int missRadius = cellSize / 4;
         g2d.fill(new Ellipse2D.Double(
                 centerX - missRadius, centerY - missRadius,
                 missRadius * 2, missRadius * 2
@@ -272,13 +295,13 @@ public class BoardPanel extends JPanel {
     private void drawSelectionIndicator(Graphics2D g2d, int x, int y) {
         g2d.setColor(SELECTED_COLOR);
         g2d.setStroke(new BasicStroke(3));
-        int centerX = x + CELL_SIZE / 2;
-        int centerY = y + CELL_SIZE / 2;
+        int centerX = x + cellSize / 2;
+        int centerY = y + cellSize / 2;
         g2d.draw(new Ellipse2D.Double(
-                centerX - CELL_SIZE / 3,
-                centerY - CELL_SIZE / 3,
-                CELL_SIZE * 2 / 3,
-                CELL_SIZE * 2 / 3
+                centerX - cellSize / 3,
+                centerY - cellSize / 3,
+                cellSize * 2 / 3,
+                cellSize * 2 / 3
         ));
     }
 
@@ -2,6 +2,7 @@ package View.Components;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
 
 /**
  * InfoPanel Component - Single Responsibility
@@ -68,6 +69,21 @@ public class InfoPanel extends JPanel {
         ));
     }
 
+    /**
+     * Update power-ups display with the charges left of every weapon
+     * @param charges [weapon label] charges, in display order
+     */
+    public void updatePowerUps(Map<String, Integer> charges) {
+        StringBuilder text = new StringBuilder("<html>");
+        for (Map.Entry<String, Integer> entry : charges.entrySet()) {
+            if (text.length() > "<html>".length()) {
+                text.append("<br>");
+            }
+            text.append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        powerUpsLabel.setText(text.append("</html>").toString());
+    }
+
     /**
      * Add message to log
      */
@@ -1,13 +1,22 @@
 package View;
 
+import Attacks.Weapon;
 import Controller.Interfaces.*;
 import Database.PlayerDAO;
+import Model.Board.BoardDeltaBuffer;
+import Model.Board.IBoardOperations;
+import Model.Board.IBoardSnapshot;
 import Model.Boat.Boat;
 import Model.Player.HumanPlayer;
 import View.Components.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * GameView - Main Frame (ACTUALIZADO con integración de base de datos)
@@ -39,6 +48,17 @@ public class GameView extends JFrame implements IGameView {
     private JLabel enemyShipsLabel;
 
 
+    // Changes of the boards since the last repaint, recreated when a new game changes the boards
+    private static final int MAX_PENDING_CHANGES = 4096;
+    private BoardDeltaBuffer playerBoardChanges;
+    private BoardDeltaBuffer enemyBoardChanges;
+
+    // Machine turn computed off the EDT. Every turn gets a generation number and a result
+    // is only applied if no reset or close happened meanwhile
+    private static final int MACHINE_TURN_MILLIS = 800; // Minimum time shown for a machine turn
+    private SwingWorker<String, Void> machineTurnWorker;
+    private int machineTurnGeneration;
+
     private int selectedRow = -1;
     private int selectedCol = -1;
 
@@ -86,6 +106,17 @@ public class GameView extends JFrame implements IGameView {
     private void initComponents() {
         setTitle("Navy Battle - " + playerName);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelMachineTurn();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                cancelMachineTurn();
+            }
+        });
         setLayout(new BorderLayout(10, 10));
         setResizable(false);
         getContentPane().setBackground(new Color(224, 247, 250));
@@ -94,7 +125,7 @@ public class GameView extends JFrame implements IGameView {
         headerPanel = new HeaderPanel();
         headerPanel.setTitle("Navy Battle - " + playerName);
         infoPanel = new InfoPanel();
-        actionPanel = new ActionPanel();
+        actionPanel = new ActionPanel(gameLifecycle.getGameConfig().getWeapons().getWeapons());
         JPanel boardsPanel = createBoardsPanel();
 
         // Add to frame
@@ -140,7 +171,11 @@ public class GameView extends JFrame implements IGameView {
 
         // Board container with rounded border
         JPanel boardContainer = createRoundedPanel();
-        BoardPanel board = new BoardPanel(isPlayerBoard);
+        BoardPanel board = new BoardPanel(
+                isPlayerBoard,
+                gameLifecycle.getGameConfig().getRows(),
+                gameLifecycle.getGameConfig().getColumns()
+        );
 
         if (isPlayerBoard) {
             playerBoard = board;
@@ -150,7 +185,7 @@ public class GameView extends JFrame implements IGameView {
         boardContainer.add(board);
 
         // Ships counter
-        JLabel shipsLabel = new JLabel("Ships: 10");
+        JLabel shipsLabel = new JLabel("Ships: " + gameLifecycle.getGameConfig().getTotalShips());
         shipsLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         shipsLabel.setForeground(new Color(0, 96, 100));
         shipsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -197,6 +232,7 @@ public class GameView extends JFrame implements IGameView {
 
         // Attack action buttons
         actionPanel.setOnAttackListener(this::handleAttackAction);
+        actionPanel.setOnWeaponListener(this::executeWeaponAttack);
 
         // Enable reset button always
         actionPanel.enableResetButton();
@@ -222,10 +258,6 @@ public class GameView extends JFrame implements IGameView {
     private void handleAttackAction(ActionPanel.AttackType attackType) {
         switch (attackType) {
             case BASIC -> executeBasicAttack();
-            case CROSS_BOMB -> executeCrossBombAttack();
-            case TORPEDO_H -> executeTorpedoAttack(true);
-            case TORPEDO_V -> executeTorpedoAttack(false);
-            case NUKE -> executeNukeAttack();
             case RESET -> resetView();
         }
     }
@@ -238,40 +270,17 @@ public class GameView extends JFrame implements IGameView {
         finishAttackSequence();
     }
 
-    private void executeCrossBombAttack() {
-        if (!isValidSelection()) return;
-
-        String result = attackController.playerCrossBombAttack(selectedRow, selectedCol);
-        infoPanel.addLog( "CROSS BOMB (" + selectedRow + "," + selectedCol + "): " + result);
-        finishAttackSequence();
-    }
-
-    private void executeTorpedoAttack(boolean horizontal) {
+    private void executeWeaponAttack(Weapon weapon, int variant) {
         if (!isValidSelection()) return;
 
-        String result = attackController.playerTorpedoAttack(
-                selectedRow, selectedCol, horizontal
+        String result = attackController.playerWeaponAttack(
+                weapon.getId(), variant, selectedRow, selectedCol
         );
-        String direction;
-        if (horizontal) {
-            direction = "→";
-        } else {
-            direction = "↓";
-        }
-
-        infoPanel.addLog("TORPEDO " + direction + " (" + selectedRow + "," +
+        infoPanel.addLog(weapon.getButtonLabel(variant) + " (" + selectedRow + "," +
                 selectedCol + "): " + result);
         finishAttackSequence();
     }
 
-    private void executeNukeAttack() {
-        if (!isValidSelection()) return;
-
-        String result = attackController.playerNukeAttack(selectedRow, selectedCol);
-        infoPanel.addLog("NUKE (" + selectedRow + "," + selectedCol + "): " + result);
-        finishAttackSequence();
-    }
-
     /**
      * Validates that a cell is selected
      */
@@ -308,6 +317,8 @@ public class GameView extends JFrame implements IGameView {
 
     /**
      * Execute machine's turn with animation
+     * The attack is computed by a SwingWorker so the EDT stays responsive, and the
+     * result is shown after max(animation time, compute time)
      */
     private void executeMachineTurn() {
         headerPanel.setTurnMessage("Machine's turn...");
@@ -315,24 +326,74 @@ public class GameView extends JFrame implements IGameView {
         actionPanel.disableAllAttackButtons();
         enemyBoard.setInteractive(false);
 
-        // Delay for visual effect
-        Timer timer = new Timer(800, e -> {
-            String result = attackController.machineAttack();
-            infoPanel.addLog("Machine: " + result);
-            updateAllComponents();
-
-            if (gameLifecycle.isGameFinished()) {
-                handleGameEnd();
-            } else if (!turnController.isPlayerTurn()) {
-                // Machine hit - attacks again
-                executeMachineTurn();
-            } else {
-                // Player's turn now
-                enablePlayerTurn();
+        int generation = ++machineTurnGeneration;
+        long startedAt = System.nanoTime();
+        machineTurnWorker = new SwingWorker<>() {
+            @Override
+            protected String doInBackground() {
+                return attackController.machineAttack();
             }
-        });
-        timer.setRepeats(false);
-        timer.start();
+
+            @Override
+            protected void done() {
+                if (isCancelled() || generation != machineTurnGeneration) {
+                    return;
+                }
+                String result;
+                try {
+                    result = get();
+                } catch (Exception e) {
+                    result = "Machine attack error: " + e.getMessage();
+                }
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                String machineResult = result;
+                if (elapsed >= MACHINE_TURN_MILLIS) {
+                    finishMachineTurn(generation, machineResult);
+                } else {
+                    // Delay for visual effect, only for the part the computation did not use
+                    Timer timer = new Timer((int) (MACHINE_TURN_MILLIS - elapsed),
+                            e -> finishMachineTurn(generation, machineResult));
+                    timer.setRepeats(false);
+                    timer.start();
+                }
+            }
+        };
+        machineTurnWorker.execute();
+    }
+
+    /**
+     * Show the result of a machine attack, on the EDT
+     * Ignored if the game was reset or the window closed since the turn started
+     */
+    private void finishMachineTurn(int generation, String result) {
+        if (generation != machineTurnGeneration) {
+            return;
+        }
+        machineTurnWorker = null;
+        infoPanel.addLog("Machine: " + result);
+        updateAllComponents();
+
+        if (gameLifecycle.isGameFinished()) {
+            handleGameEnd();
+        } else if (!turnController.isPlayerTurn()) {
+            // Machine hit - attacks again
+            executeMachineTurn();
+        } else {
+            // Player's turn now
+            enablePlayerTurn();
+        }
+    }
+
+    /**
+     * Cancel the machine turn in progress, if any
+     * A running computation is interrupted and its result discarded
+     */
+    private void cancelMachineTurn() {
+        machineTurnGeneration++;
+        if (machineTurnWorker != null) {
+            machineTurnWorker.cancel(true);
+            machineTurnWorker = null;
+        }
     }
 
     /**
@@ -356,15 +417,39 @@ public class GameView extends JFrame implements IGameView {
 
     @Override
     public void updateBoards() {
-        int[][] playerBoardState = boardController.getPlayerOwnBoardState();
-        int[][] enemyBoardState = boardController.getPlayerAttackBoardState();
+        IBoardOperations ownBoard = gameLifecycle.getCurrentMatch().getPlayer().getOwnBoard();
+        IBoardOperations attackBoard = gameLifecycle.getCurrentMatch().getPlayer().getAttackBoard();
 
-        Boat[][] playerBoatGrid = extractBoatGrid(
-                gameLifecycle.getCurrentMatch().getPlayer().getOwnBoard()
-        );
+        playerBoardChanges = refreshBoard(playerBoard, playerBoardChanges, ownBoard, true);
+        enemyBoardChanges = refreshBoard(enemyBoard, enemyBoardChanges, attackBoard, false);
+    }
 
-        playerBoard.updateBoard(playerBoardState, playerBoatGrid);
-        enemyBoard.updateBoard(enemyBoardState, null);
+    /**
+     * Apply to a panel the changes of its board since the last update
+     * The whole board is only reread when the board was replaced, reset or
+     * changed more than the buffer can hold
+     *
+     * @return buffer recording the next changes of the board
+     */
+    private BoardDeltaBuffer refreshBoard(BoardPanel panel, BoardDeltaBuffer changes,
+                                          IBoardOperations board, boolean showBoats) {
+        if (changes != null && changes.getBoard() == board) {
+            boolean complete = changes.drain((source, row, column, oldState, newState, shipId) ->
+                    panel.applyCellChange(row, column, newState, showBoats ? source.getBoatById(shipId) : null));
+            if (complete) {
+                return changes;
+            }
+        } else {
+            if (changes != null) {
+                changes.close();
+            }
+            changes = new BoardDeltaBuffer(board, MAX_PENDING_CHANGES);
+        }
+        IBoardSnapshot state = showBoats
+                ? boardController.getPlayerOwnBoardSnapshot()
+                : boardController.getPlayerAttackBoardSnapshot();
+        panel.updateBoard(state, showBoats ? extractBoatGrid(board) : null);
+        return changes;
     }
 
     @Override
@@ -385,11 +470,11 @@ public class GameView extends JFrame implements IGameView {
         if (gameLifecycle.getCurrentMatch() != null) {
             HumanPlayer human = (HumanPlayer) gameLifecycle.getCurrentMatch().getPlayer();
 
-            infoPanel.updatePowerUps(
-                    human.getPowerUps().getCrossBombs(),
-                    human.getPowerUps().getTorpedoes(),
-                    human.getPowerUps().getNukes()
-            );
+            Map<String, Integer> charges = new LinkedHashMap<>();
+            for (Weapon weapon : gameLifecycle.getGameConfig().getWeapons().getWeapons()) {
+                charges.put(weapon.getLabel(), human.getPowerUps().getCharges(weapon.getId()));
+            }
+            infoPanel.updatePowerUps(charges);
         }
     }
 
@@ -454,6 +539,7 @@ public class GameView extends JFrame implements IGameView {
      * Disposes current game view and opens login view
      */
     private void backToLogin() {
+        cancelMachineTurn();
         dispose();
         SwingUtilities.invokeLater(() -> {
             LoginView loginView = new LoginView();
@@ -475,6 +561,7 @@ public class GameView extends JFrame implements IGameView {
      * */
     @Override
     public void resetView() {
+        cancelMachineTurn();
         gameLifecycle.resetGame();
         gameLifecycle.startNewGame(playerName, "default");
 
@@ -510,13 +597,7 @@ public class GameView extends JFrame implements IGameView {
         if (cellSelected && gameLifecycle.getCurrentMatch() != null) {
             HumanPlayer human = (HumanPlayer) gameLifecycle.getCurrentMatch().getPlayer();
 
-            actionPanel.setAttackButtonsEnabled(
-                    true,
-                    human.getPowerUps().hasCrossBombs(),
-                    human.getPowerUps().hasTorpedoes(),
-                    human.getPowerUps().hasTorpedoes(),
-                    human.getPowerUps().hasNukes()
-            );
+            actionPanel.setAttackButtonsEnabled(true, human.getPowerUps()::hasCharges);
         } else {
             actionPanel.disableAllAttackButtons();
         }
@@ -525,10 +606,10 @@ public class GameView extends JFrame implements IGameView {
     /**
      * Extract boat grid from board for rendering
      */
-    private Boat[][] extractBoatGrid(Model.Board.Board board) {
-        Boat[][] grid = new Boat[10][10];
-        for (int i = 0; i < 10; i++) {
-            for (int j = 0; j < 10; j++) {
+    private Boat[][] extractBoatGrid(Model.Board.IBoardOperations board) {
+        Boat[][] grid = new Boat[board.getRows()][board.getColumns()];
+        for (int i = 0; i < board.getRows(); i++) {
+            for (int j = 0; j < board.getColumns(); j++) {
                 grid[i][j] = board.getBoatAt(i, j);
             }
         }
@@ -1,8 +1,11 @@
 package View;
 
+import Attacks.WeaponRegistry;
 import Controller.FleetManager;
 import Controller.GameController;
 import Controller.Interfaces.*;
+import Model.Boat.Boat;
+import Model.Match.GameConfig;
 import Model.Player.Interfaces.IPlayerCreator;
 import Model.Player.PlayerCreator;
 import Services.*;
@@ -10,6 +13,9 @@ import Services.Interfaces.IAttackExecutor;
 import Services.Interfaces.IAttackService;
 import Services.Interfaces.IShipPlacementService;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * GameViewFactory - Factory for creating GameView with all dependencies
  * ACTUALIZADO para recibir el nombre del jugador desde el login
@@ -18,34 +24,53 @@ import Services.Interfaces.IShipPlacementService;
  * Follows DIP: Creates dependencies based on interfaces
  */
 public class GameViewFactory {
+    // One layout pool per board and fleet, shared by the views so its filler thread is created once
+    private static final Map<String, FleetLayoutPool> LAYOUT_POOLS = new ConcurrentHashMap<>();
 
     /**
      * Creates a fully configured GameView with all dependencies
      * CON NOMBRE DE JUGADOR (para integración con login)
      *
+     * Weapons come from the definitions file (see WeaponRegistry.getDefault)
+     *
      * @param playerName Nombre del jugador desde el login
      * @return Configured GameView ready to display
      */
     public static GameView createGameView(String playerName) {
+        return createGameView(playerName, GameConfig.standard().withWeapons(WeaponRegistry.getDefault()));
+    }
+
+    /**
+     * Creates a fully configured GameView for a custom game configuration
+     *
+     * @param playerName Nombre del jugador desde el login
+     * @param gameConfig Board size, fleet composition and board implementation
+     * @return Configured GameView ready to display
+     */
+    public static GameView createGameView(String playerName, GameConfig gameConfig) {
         // Create all dependencies from bottom up
 
-        // Services layer
-        IShipPlacementService placementService = new ShipPlacementService();
+        // Weapon masks are compiled once for the board size, before the first shot
+        gameConfig.getWeapons().compile(gameConfig.getRows(), gameConfig.getColumns());
+
+        // Services layer (fleets are deployed at uniformly random layouts, which can't be learned)
+        IShipPlacementService placementService = new UniformShipPlacementService();
         IAttackService attackService = new AttackService();
         IAttackExecutor attackExecutor = new AttackExecutor(attackService);
 
-        // Player creation
-        IPlayerCreator playerCreator = new PlayerCreator();
+        // Player creation (board size and implementation come from the configuration)
+        IPlayerCreator playerCreator = new PlayerCreator(gameConfig);
 
-        // Fleet management
-        IFleetManager fleetManager = new FleetManager(placementService);
+        // Fleet management, with layouts prepared in the background so a new game starts at once
+        IFleetManager fleetManager = new FleetManager(placementService, layoutPoolFor(gameConfig));
 
         // Main game controller with all dependencies
         GameController gameController = new GameController(
                 playerCreator,
                 fleetManager,
                 attackExecutor,
-                attackService
+                attackService,
+                gameConfig
         );
 
         // Create view with controller interfaces (DIP) and player name
@@ -58,6 +83,26 @@ public class GameViewFactory {
         );
     }
 
+    /**
+     * Gets the layout pool of a configuration, creating and starting it on first use
+     * The seed is not part of the key, seeded games don't take layouts from the pool
+     *
+     * @param gameConfig Board size, fleet composition and board implementation
+     * @return the shared pool
+     */
+    private static FleetLayoutPool layoutPoolFor(GameConfig gameConfig) {
+        String key = gameConfig.getRows() + "x" + gameConfig.getColumns() + ":" + gameConfig.getAircrafters()
+                + "," + gameConfig.getCruises() + "," + gameConfig.getDestructors() + ","
+                + gameConfig.getSubmarines() + ":" + gameConfig.getBoardType() + ":" + gameConfig.getPlacementRule();
+        return LAYOUT_POOLS.computeIfAbsent(key, k -> {
+            IShipPlacementService placementService = new UniformShipPlacementService();
+            Boat[] fleetTemplate = new FleetManager(placementService).createFleet(gameConfig);
+            FleetLayoutPool pool = new FleetLayoutPool(gameConfig, fleetTemplate, placementService);
+            pool.start();
+            return pool;
+        });
+    }
+
     /**
      * Creates a fully configured GameView with default player name
      * MANTENER PARA COMPATIBILIDAD CON CÓDIGO ANTIGUO